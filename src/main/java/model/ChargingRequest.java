@@ -0,0 +1,161 @@
+// ChargingRequest - Represents a vehicle's request to charge within a time window
+
+package model;
+
+public class ChargingRequest {
+
+    private final int vehicleId;       // Identifier of the requesting vehicle
+    private final long arrivalMinute;  // Earliest time charging may start (in minutes)
+    private final long deadlineMinute; // Time by which charging must be finished (in minutes)
+    private final double energyNeeded; // Energy to deliver in kilowatt-hours (kWh)
+
+    /**
+     * Constructor to create a charging request with whole-hour times.
+     * 
+     * @param vehicleId Identifier of the requesting vehicle
+     * @param arrivalTime Earliest time charging may start
+     * @param deadline Time by which charging must be finished (must be greater than arrivalTime)
+     * @param energyNeeded Energy to deliver in kWh (must be positive)
+     * @throws IllegalArgumentException if the window is empty or the energy is not positive
+     */
+    public ChargingRequest(int vehicleId, int arrivalTime, int deadline, double energyNeeded) {
+        this(vehicleId, EpochMinutes.fromHours(arrivalTime), EpochMinutes.fromHours(deadline), energyNeeded);
+    }
+
+    /**
+     * Private constructor for minute-resolution requests; see {@link #ofMinutes(int, long, long, double)}.
+     */
+    private ChargingRequest(int vehicleId, long arrivalMinute, long deadlineMinute, double energyNeeded) {
+        if (arrivalMinute >= deadlineMinute) {
+            throw new IllegalArgumentException("Arrival time must be less than deadline");
+        }
+        if (!(energyNeeded > 0)) {
+            throw new IllegalArgumentException("Energy needed must be positive");
+        }
+        this.vehicleId = vehicleId;
+        this.arrivalMinute = arrivalMinute;
+        this.deadlineMinute = deadlineMinute;
+        this.energyNeeded = energyNeeded;
+    }
+
+    /**
+     * Creates a charging request with minute resolution, e.g. from epoch minutes.
+     * 
+     * @param vehicleId Identifier of the requesting vehicle
+     * @param arrivalMinute Earliest minute charging may start
+     * @param deadlineMinute Minute by which charging must be finished (must be greater than arrivalMinute)
+     * @param energyNeeded Energy to deliver in kWh (must be positive)
+     * @return A new charging request
+     * @throws IllegalArgumentException if the window is empty or the energy is not positive
+     */
+    public static ChargingRequest ofMinutes(int vehicleId, long arrivalMinute, long deadlineMinute, double energyNeeded) {
+        return new ChargingRequest(vehicleId, arrivalMinute, deadlineMinute, energyNeeded);
+    }
+
+    /**
+     * Gets the identifier of the requesting vehicle.
+     * 
+     * @return The vehicle ID
+     */
+    public int getVehicleId() {
+        return vehicleId;
+    }
+
+    /**
+     * Gets the earliest time charging may start.
+     * For an arrival inside an hour, this is the next hour boundary.
+     * 
+     * @return Arrival time in hours
+     */
+    public int getArrivalTime() {
+        return EpochMinutes.ceilHour(arrivalMinute);
+    }
+
+    /**
+     * Gets the time by which charging must be finished.
+     * For a deadline inside an hour, this is the hour boundary before it,
+     * so hour-based schedulers never book past the real deadline.
+     * 
+     * @return Deadline in hours
+     */
+    public int getDeadline() {
+        return EpochMinutes.floorHour(deadlineMinute);
+    }
+
+    /**
+     * Checks whether the hour view [getArrivalTime(), getDeadline()) still contains a whole hour.
+     * A minute window inside a single hour, such as 10:15 - 11:45, rounds inward to an empty
+     * hour window, so only minute-based scheduling can place such a request.
+     * 
+     * @return true if the deadline hour lies after the arrival hour
+     */
+    public boolean hasHourWindow() {
+        return getArrivalTime() < getDeadline();
+    }
+
+    /**
+     * Gets the earliest time charging may start with minute resolution.
+     * 
+     * @return Arrival time in minutes
+     */
+    public long getArrivalMinute() {
+        return arrivalMinute;
+    }
+
+    /**
+     * Gets the time by which charging must be finished with minute resolution.
+     * 
+     * @return Deadline in minutes
+     */
+    public long getDeadlineMinute() {
+        return deadlineMinute;
+    }
+
+    /**
+     * Gets the energy to deliver.
+     * 
+     * @return Energy needed in kWh
+     */
+    public double getEnergyNeeded() {
+        return energyNeeded;
+    }
+
+    /**
+     * Calculates the whole number of hours needed to deliver the energy at the given capacity.
+     * 
+     * @param capacity Charging capacity in kW
+     * @return Charging duration in hours (at least 1), or Integer.MAX_VALUE if the capacity is not positive
+     */
+    public int getChargingHours(int capacity) {
+        if (capacity <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.max(1, Math.ceil(energyNeeded / capacity));
+    }
+
+    /**
+     * Calculates the whole number of minutes needed to deliver the energy at the given capacity.
+     * 
+     * @param capacity Charging capacity in kW
+     * @return Charging duration in minutes (at least 1), or Long.MAX_VALUE if the capacity is not positive
+     */
+    public long getChargingMinutes(int capacity) {
+        if (capacity <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return (long) Math.max(1, Math.ceil(energyNeeded * EpochMinutes.PER_HOUR / capacity));
+    }
+
+    /**
+     * Provides a string representation of the charging request.
+     * 
+     * @return Formatted string containing request details
+     */
+    @Override
+    public String toString() {
+        if (arrivalMinute % EpochMinutes.PER_HOUR == 0 && deadlineMinute % EpochMinutes.PER_HOUR == 0) {
+            return "Vehicle " + vehicleId + " [" + getArrivalTime() + ", " + getDeadline() + ") " + energyNeeded + " kWh";
+        }
+        return "Vehicle " + vehicleId + " [" + arrivalMinute + "m, " + deadlineMinute + "m) " + energyNeeded + " kWh";
+    }
+}
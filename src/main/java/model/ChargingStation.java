@@ -2,8 +2,22 @@
 
 package model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.IntConsumer;
 
+import service.availability.FreeIntervalEngine;
+import service.availability.GapIndex;
+import service.availability.OccupancyGrid;
+import service.availability.SlotIntervalTree;
+import service.availability.SlotSet;
+import service.availability.SlotSource;
+import service.cache.EfficiencyCache;
 import service.strategy.ChargingStrategy;
 
 public abstract class ChargingStation {
@@ -14,18 +28,34 @@ public abstract class ChargingStation {
     // Maximum charging capacity in kilowatts (kW)
     protected final int capacity;  
     
-    // List of time slots when the station is not available for charging
-    protected final List<OccupiedTimeSlot> forbiddenTimeSlots;
+    // List of time slots when the station is not available for charging; replaced, never mutated, by reservations
+    protected volatile List<OccupiedTimeSlot> forbiddenTimeSlots;
     
     // Charging strategy applied to the station (e.g., fast charging, cost-effective charging)
     protected ChargingStrategy strategy;  
 
+    // Incremented by every setStrategy, so an efficiency cache never serves results of an earlier setting
+    private volatile int strategyGeneration;
+
+    // Repeating forbidden windows (e.g. daily maintenance), expanded lazily per query; null if none
+    private volatile SlotSource recurringSlots;
+
+    // Told the station ID after the slots or recurring windows change, e.g. by a registry indexing them; null if none
+    private volatile IntConsumer changeListener;
+
+    // Indexes over the current forbidden slots, each built lazily on first query
+    private volatile SlotIndexes indexes;
+
+    // Shared memo of strategy results for all stations, or null to always calculate
+    private static volatile EfficiencyCache efficiencyCache;
+
     /**
      * Constructor to initialize the charging station with essential parameters.
      * 
      * @param stationId Unique identifier for the station
      * @param capacity Charging capacity in kW
-     * @param forbiddenTimeSlots Time slots when charging is not allowed
+     * @param forbiddenTimeSlots Time slots when charging is not allowed; a {@link SlotSet#asList()} view
+     *                           is used as the normalized form without sorting or merging again
      * @param strategy Charging strategy to be used
      */
     protected ChargingStation(int stationId, int capacity, List<OccupiedTimeSlot> forbiddenTimeSlots, ChargingStrategy strategy) {
@@ -40,8 +70,52 @@ public abstract class ChargingStation {
      * 
      * @param strategy New charging strategy to be applied
      */
-    public void setStrategy(ChargingStrategy strategy) {
+    public synchronized void setStrategy(ChargingStrategy strategy) {
         this.strategy = strategy;
+        strategyGeneration++;
+    }
+
+    /**
+     * Gets the number of strategy changes so far, so cached strategy results can be told apart
+     * from results of an earlier setting, even when the same strategy instance is set again.
+     * 
+     * @return Strategy generation of the station
+     */
+    public int getStrategyGeneration() {
+        return strategyGeneration;
+    }
+
+    /**
+     * Installs a cache shared by all stations for the results of their strategies.
+     * 
+     * @param cache The efficiency cache, or null to disable caching
+     */
+    public static void setEfficiencyCache(EfficiencyCache cache) {
+        efficiencyCache = cache;
+    }
+
+    /**
+     * Retrieves the installed efficiency cache.
+     * 
+     * @return The shared efficiency cache, or null if caching is disabled
+     */
+    public static EfficiencyCache getEfficiencyCache() {
+        return efficiencyCache;
+    }
+
+    /**
+     * Calculates the efficiency of the current strategy for this station, served from the
+     * efficiency cache when one is installed.
+     * 
+     * @param chargingHours Number of hours the station is used for charging
+     * @return Efficiency as calculated by the strategy
+     */
+    protected double calculateEfficiency(double chargingHours) {
+        EfficiencyCache cache = efficiencyCache;
+        if (cache != null) {
+            return cache.getEfficiency(this, chargingHours);
+        }
+        return getStrategy().calculateEfficiency(this, chargingHours);
     }
 
     /**
@@ -53,6 +127,19 @@ public abstract class ChargingStation {
      */
     public abstract int getChargingEfficiency(double chargingHours);
 
+    /**
+     * Rates a session placed at [start, end), for schedulers comparing candidate windows; stations
+     * whose efficiency depends on when they charge (e.g. under a solar forecast) override it.
+     * The default ignores the window and returns the unrounded strategy efficiency for its length.
+     * 
+     * @param start Inclusive start of the session in hours (may be fractional)
+     * @param end Exclusive end of the session in hours
+     * @return Efficiency of the session
+     */
+    public double getSessionEfficiency(double start, double end) {
+        return calculateEfficiency(end - start);
+    }
+
     /**
      * Retrieves the charging capacity of the station.
      * 
@@ -80,6 +167,421 @@ public abstract class ChargingStation {
         return forbiddenTimeSlots;
     }
 
+    /**
+     * Adds a reservation to the station's forbidden time slots.
+     * The slot list is copied on write, so readers holding the previous list are unaffected,
+     * and the cached availability indexes are rebuilt on their next use.
+     * 
+     * @param slot The reserved time slot
+     */
+    public synchronized void addReservation(OccupiedTimeSlot slot) {
+        List<OccupiedTimeSlot> slots = new ArrayList<>(forbiddenTimeSlots);
+        slots.add(slot);
+        replaceSlots(slots);
+    }
+
+    /**
+     * Adds several reservations at once, e.g. when replaying a reservation log. The slot list is copied
+     * and replaced once for the whole batch, and slots equal to one the station already has are skipped,
+     * so replaying records that a snapshot already contains does not duplicate them.
+     * 
+     * @param reservations The reserved time slots
+     * @return Number of slots added
+     */
+    public synchronized int addReservations(Collection<OccupiedTimeSlot> reservations) {
+        Set<OccupiedTimeSlot> present = new HashSet<>(forbiddenTimeSlots);
+        List<OccupiedTimeSlot> slots = new ArrayList<>(forbiddenTimeSlots.size() + reservations.size());
+        slots.addAll(forbiddenTimeSlots);
+        for (OccupiedTimeSlot slot : reservations) {
+            if (present.add(slot)) {
+                slots.add(slot);
+            }
+        }
+        int added = slots.size() - forbiddenTimeSlots.size();
+        if (added > 0) {
+            replaceSlots(slots);
+        }
+        return added;
+    }
+
+    /**
+     * Removes a reservation previously added with {@link #addReservation(OccupiedTimeSlot)}.
+     * 
+     * @param slot The exact slot instance that was reserved
+     * @return true if the slot was found and removed
+     */
+    public synchronized boolean removeReservation(OccupiedTimeSlot slot) {
+        List<OccupiedTimeSlot> slots = new ArrayList<>(forbiddenTimeSlots);
+        for (int i = slots.size() - 1; i >= 0; i--) {
+            if (slots.get(i) == slot) {
+                slots.remove(i);
+                replaceSlots(slots);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reserves [begin, end) if it does not conflict with any forbidden slot.
+     * The check and the insert are atomic with respect to other reservations on this station.
+     * 
+     * @param begin Inclusive start of the reservation
+     * @param end Exclusive end of the reservation
+     * @return The reserved slot, or null if the window conflicts with an existing slot
+     */
+    public synchronized OccupiedTimeSlot reserve(int begin, int end) {
+        if (hasConflict(begin, end)) {
+            return null;
+        }
+        OccupiedTimeSlot slot = new OccupiedTimeSlot(begin, end);
+        addReservation(slot);
+        return slot;
+    }
+
+    private void replaceSlots(List<OccupiedTimeSlot> slots) {
+        forbiddenTimeSlots = Collections.unmodifiableList(slots);
+        notifyChanged();
+    }
+
+    /**
+     * Registers the listener told about changes to the forbidden slots or recurring windows,
+     * so indexes kept outside the station (e.g. a fleet-wide availability index) can follow them.
+     * A station has at most one listener; registering another replaces it.
+     * 
+     * @param listener Receives the station ID after each change, or null to stop notifications
+     */
+    public void setChangeListener(IntConsumer listener) {
+        this.changeListener = listener;
+    }
+
+    private void notifyChanged() {
+        IntConsumer listener = changeListener;
+        if (listener != null) {
+            listener.accept(stationId);
+        }
+    }
+
+    /**
+     * Retrieves the index holder for the current slot list, starting a new one if the list was replaced.
+     * A holder published by a racing reader for an older list is detected and replaced on the next call.
+     */
+    private SlotIndexes indexes() {
+        List<OccupiedTimeSlot> slots = getForbiddenTimeSlots();
+        SlotIndexes current = indexes;
+        if (current == null || current.source != slots) {
+            current = new SlotIndexes(slots);
+            indexes = current;
+        }
+        return current;
+    }
+
+    /**
+     * Retrieves the availability engine for this station.
+     * The forbidden slots are sorted and merged once, on first use, keeping their minute bounds.
+     * 
+     * @return The availability engine built from the forbidden time slots
+     */
+    public FreeIntervalEngine getAvailability() {
+        return availabilityOf(indexes());
+    }
+
+    private static FreeIntervalEngine availabilityOf(SlotIndexes current) {
+        FreeIntervalEngine engine = current.availability;
+        if (engine == null) {
+            engine = FreeIntervalEngine.of(current.source);
+            current.availability = engine;
+        }
+        return engine;
+    }
+
+    /**
+     * Retrieves the forbidden slots as a packed set of hours with overlapping and adjacent slots merged.
+     * Slots with minute bounds are widened to the hours they touch (see {@link SlotSet#covering}); use
+     * {@link #getAvailability()} for minute-exact queries. The set is built once per version of the slot list.
+     * 
+     * @return The normalized forbidden slots
+     */
+    public SlotSet getSlotSet() {
+        return slotSetOf(indexes());
+    }
+
+    private static SlotSet slotSetOf(SlotIndexes current) {
+        SlotSet set = current.slotSet;
+        if (set == null) {
+            set = SlotSet.covering(current.source);
+            current.slotSet = set;
+        }
+        return set;
+    }
+
+    /**
+     * Sets repeating forbidden windows on top of the explicit slot list.
+     * The windows are never expanded into slots; free-interval, conflict and earliest-fit queries
+     * step through them over the queried window only.
+     * 
+     * @param slots Recurring windows such as a {@link service.availability.RecurringSlotRule}, or null for none
+     */
+    public void setRecurringSlots(SlotSource slots) {
+        this.recurringSlots = slots;
+        notifyChanged();
+    }
+
+    /**
+     * Retrieves the repeating forbidden windows of the station.
+     * 
+     * @return The recurring windows, or null if none are set
+     */
+    public SlotSource getRecurringSlots() {
+        return recurringSlots;
+    }
+
+    /**
+     * Computes the free intervals inside [begin, end), honoring both the explicit and the recurring slots.
+     * 
+     * @param begin Inclusive start of the requested window
+     * @param end Exclusive end of the requested window
+     * @return Flat array of free interval bounds {begin0, end0, begin1, end1, ...}, ordered by time
+     * @throws IllegalArgumentException if begin is greater than or equal to end
+     */
+    public int[] freeIntervals(int begin, int end) {
+        int[] free = getAvailability().freeIntervals(begin, end);
+        SlotSource rules = getRecurringSlots();
+        if (rules == null || free.length == 0) {
+            return free;
+        }
+        int[] result = new int[free.length];
+        int size = 0;
+        for (int i = 0; i < free.length; i += 2) {
+            int limit = free[i + 1];
+            int cursor = rules.nextFree(free[i]);
+            while (cursor < limit) {
+                int busy = Math.min(rules.nextBusy(cursor), limit);
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, size * 2);
+                }
+                result[size++] = cursor;
+                result[size++] = busy;
+                cursor = busy == limit ? limit : rules.nextFree(busy);
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Retrieves the intervals inside [begin, end) during which the station is free.
+     * 
+     * @param begin Inclusive start of the requested window
+     * @param end Exclusive end of the requested window
+     * @return List of free intervals, ordered by time
+     */
+    public List<Interval> getFreeIntervals(int begin, int end) {
+        if (getRecurringSlots() == null) {
+            return getAvailability().getFreeIntervals(begin, end);
+        }
+        int[] bounds = freeIntervals(begin, end);
+        List<Interval> intervals = new ArrayList<>(bounds.length / 2);
+        for (int i = 0; i < bounds.length; i += 2) {
+            intervals.add(new Interval(bounds[i], bounds[i + 1]));
+        }
+        return intervals;
+    }
+
+    /**
+     * Retrieves the gap index used for earliest-fit queries.
+     * 
+     * @return The gap index built from the merged forbidden slots
+     */
+    public GapIndex getGapIndex() {
+        SlotIndexes current = indexes();
+        GapIndex index = current.gapIndex;
+        if (index == null) {
+            index = new GapIndex(availabilityOf(current));
+            current.gapIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Finds the earliest time at or after the given time at which the station is free
+     * for the requested duration.
+     * 
+     * @param after Earliest acceptable start time
+     * @param duration Required charging duration
+     * @return Earliest feasible start time
+     * @throws IllegalArgumentException if the recurring slots never leave the duration free
+     */
+    public int findEarliestStart(int after, int duration) {
+        SlotSource rules = getRecurringSlots();
+        if (rules == null) {
+            return getGapIndex().findEarliestStart(after, duration);
+        }
+        if (!rules.admits(duration)) {
+            throw new IllegalArgumentException("Recurring slots never leave " + duration + " free hours");
+        }
+        GapIndex gaps = getGapIndex();
+        int start = after;
+        while (true) {
+            start = gaps.findEarliestStart(start, duration);
+            int free = rules.nextFree(start);
+            if (free == start) {
+                int busy = rules.nextBusy(start);
+                if ((long) busy - start >= duration) {
+                    return start;
+                }
+                free = rules.nextFree(busy);
+            }
+            // Both sources only move forward, so this ends at the first window free in both
+            start = free;
+        }
+    }
+
+    /**
+     * Computes the free intervals inside [begin, end) with minute resolution,
+     * honoring both the explicit and the recurring slots.
+     * 
+     * @param begin Inclusive start minute of the requested window
+     * @param end Exclusive end minute of the requested window
+     * @return Flat array of free interval bounds in minutes, ordered by time
+     * @throws IllegalArgumentException if begin is greater than or equal to end
+     */
+    public long[] freeMinutes(long begin, long end) {
+        long[] free = getAvailability().freeMinutes(begin, end);
+        SlotSource rules = getRecurringSlots();
+        if (rules == null || free.length == 0) {
+            return free;
+        }
+        long[] result = new long[free.length];
+        int size = 0;
+        for (int i = 0; i < free.length; i += 2) {
+            long limit = free[i + 1];
+            long cursor = rules.nextFreeMinute(free[i]);
+            while (cursor < limit) {
+                long busy = Math.min(rules.nextBusyMinute(cursor), limit);
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, size * 2);
+                }
+                result[size++] = cursor;
+                result[size++] = busy;
+                cursor = busy == limit ? limit : rules.nextFreeMinute(busy);
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Finds the earliest minute at or after the given minute at which the station is free
+     * for the requested duration.
+     * 
+     * @param after Earliest acceptable start minute
+     * @param duration Required charging duration in minutes
+     * @return Earliest feasible start minute
+     * @throws IllegalArgumentException if the duration is not positive or the recurring slots never leave it free
+     */
+    public long findEarliestStartMinute(long after, long duration) {
+        FreeIntervalEngine engine = getAvailability();
+        SlotSource rules = getRecurringSlots();
+        if (rules == null) {
+            return engine.findEarliestStartMinute(after, duration);
+        }
+        if (!rules.admits((int) Math.min(Integer.MAX_VALUE, -Math.floorDiv(-duration, EpochMinutes.PER_HOUR)))) {
+            throw new IllegalArgumentException("Recurring slots never leave " + duration + " free minutes");
+        }
+        long start = after;
+        while (true) {
+            start = engine.findEarliestStartMinute(start, duration);
+            long free = rules.nextFreeMinute(start);
+            if (free == start) {
+                long busy = rules.nextBusyMinute(start);
+                if (busy - start >= duration) {
+                    return start;
+                }
+                free = rules.nextFreeMinute(busy);
+            }
+            start = free;
+        }
+    }
+
+    /**
+     * Checks with minute resolution whether a booking for [begin, end) would conflict
+     * with a forbidden slot or recurring window.
+     * 
+     * @param begin Inclusive start minute of the requested window
+     * @param end Exclusive end minute of the requested window
+     * @return true if any forbidden time overlaps the window
+     */
+    public boolean hasConflictMinutes(long begin, long end) {
+        SlotSource rules = getRecurringSlots();
+        return !getAvailability().isFreeMinutes(begin, end) || rules != null && rules.nextBusyMinute(begin) < end;
+    }
+
+    /**
+     * Reserves [begin, end) with minute resolution if it does not conflict with any forbidden time.
+     * The check and the insert are atomic with respect to other reservations on this station.
+     * 
+     * @param begin Inclusive start minute of the reservation
+     * @param end Exclusive end minute of the reservation
+     * @return The reserved slot, or null if the window conflicts with forbidden time
+     */
+    public synchronized OccupiedTimeSlot reserveMinutes(long begin, long end) {
+        if (hasConflictMinutes(begin, end)) {
+            return null;
+        }
+        OccupiedTimeSlot slot = OccupiedTimeSlot.ofMinutes(begin, end);
+        addReservation(slot);
+        return slot;
+    }
+
+    /**
+     * Retrieves the interval tree indexing this station's forbidden slots.
+     * 
+     * @return The interval tree built from the forbidden time slots
+     */
+    public SlotIntervalTree getSlotIndex() {
+        SlotIndexes current = indexes();
+        SlotIntervalTree index = current.slotIndex;
+        if (index == null) {
+            index = new SlotIntervalTree(current.source);
+            current.slotIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Checks whether a booking for [begin, end) would conflict with a forbidden slot or recurring window.
+     * 
+     * @param begin Inclusive start of the requested window
+     * @param end Exclusive end of the requested window
+     * @return true if any forbidden slot overlaps the window
+     */
+    public boolean hasConflict(int begin, int end) {
+        SlotSource rules = getRecurringSlots();
+        return getSlotIndex().conflicts(begin, end) || rules != null && rules.overlaps(begin, end);
+    }
+
+    /**
+     * Retrieves every explicit forbidden slot that overlaps [begin, end).
+     * 
+     * @param begin Inclusive start of the requested window
+     * @param end Exclusive end of the requested window
+     * @return Conflicting slots ordered by start time
+     */
+    public List<OccupiedTimeSlot> getConflictingSlots(int begin, int end) {
+        return getSlotIndex().getConflicts(begin, end);
+    }
+
+    /**
+     * Builds a bitset occupancy grid over minutes for this station's forbidden slots.
+     * 
+     * @param origin Minute at which the first bucket starts
+     * @param granularity Number of minutes per bucket, e.g. 60 for hour buckets
+     * @param buckets Number of buckets in the horizon
+     * @return A new occupancy grid with the forbidden slots marked busy
+     */
+    public OccupancyGrid toOccupancyGrid(int origin, int granularity, int buckets) {
+        return OccupancyGrid.fromSlots(getForbiddenTimeSlots(), origin, granularity, buckets);
+    }
+
     /**
      * Retrieves the current charging strategy applied to the station.
      * 
@@ -96,7 +598,47 @@ public abstract class ChargingStation {
      */
     @Override
     public String toString() {
-        return String.format("Station ID: %d, Capacity: %d kW, Forbidden Slots: %s, Strategy: %s",
-                stationId, capacity, forbiddenTimeSlots, strategy.getClass().getSimpleName());
+        return appendTo(new StringBuilder(96)).toString();
+    }
+
+    /**
+     * Appends the same text as {@link #toString()} to a builder without intermediate strings,
+     * so a caller can format many stations into one reused builder.
+     * 
+     * @param builder Builder to append to
+     * @return The same builder
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        builder.append("Station ID: ").append(stationId)
+                .append(", Capacity: ").append(capacity)
+                .append(" kW, Forbidden Slots: [");
+        List<OccupiedTimeSlot> slots = getForbiddenTimeSlots();
+        for (int i = 0; i < slots.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            OccupiedTimeSlot slot = slots.get(i);
+            if (slot.isWholeHours()) {
+                builder.append('(').append(slot.getStartTime()).append(" - ").append(slot.getEndTime()).append(')');
+            } else {
+                builder.append(slot);
+            }
+        }
+        return builder.append("], Strategy: ").append(getStrategy().getClass().getSimpleName());
+    }
+
+    /**
+     * Indexes built from one version of the forbidden slot list.
+     */
+    private static final class SlotIndexes {
+        private final List<OccupiedTimeSlot> source;     // Slot list the indexes are built from
+        private SlotSet slotSet;                         // Sorted, merged slots
+        private FreeIntervalEngine availability;         // Merged free/busy blocks
+        private SlotIntervalTree slotIndex;              // Overlap queries
+        private GapIndex gapIndex;                       // Earliest-fit queries
+
+        private SlotIndexes(List<OccupiedTimeSlot> source) {
+            this.source = source;
+        }
     }
 }
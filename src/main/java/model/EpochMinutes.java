@@ -0,0 +1,60 @@
+// EpochMinutes - Conversions between minute-resolution times and the hour-based time model
+
+package model;
+
+import java.time.Instant;
+
+public final class EpochMinutes {
+
+    // Minutes per hour of the hour-based time model
+    public static final int PER_HOUR = 60;
+
+    /**
+     * Private constructor; this class only holds static conversions.
+     */
+    private EpochMinutes() {
+    }
+
+    /**
+     * Converts an hour of the hour-based model to minutes on the same time line.
+     * Hour 0 and minute 0 are the same instant, so epoch hours map to epoch minutes.
+     * 
+     * @param hour Time in hours
+     * @return The same time in minutes
+     */
+    public static long fromHours(int hour) {
+        return (long) hour * PER_HOUR;
+    }
+
+    /**
+     * Converts an instant to whole minutes since the Unix epoch, rounding down.
+     * 
+     * @param instant Instant to convert
+     * @return Epoch minute containing the instant
+     */
+    public static long of(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), 60);
+    }
+
+    /**
+     * Gets the hour that contains a minute.
+     * 
+     * @param minute Time in minutes
+     * @return The hour starting at or before the minute
+     * @throws ArithmeticException if the hour does not fit an int
+     */
+    public static int floorHour(long minute) {
+        return Math.toIntExact(Math.floorDiv(minute, PER_HOUR));
+    }
+
+    /**
+     * Gets the first hour boundary at or after a minute.
+     * 
+     * @param minute Time in minutes
+     * @return The hour starting at or after the minute
+     * @throws ArithmeticException if the hour does not fit an int
+     */
+    public static int ceilHour(long minute) {
+        return Math.toIntExact(-Math.floorDiv(-minute, PER_HOUR));
+    }
+}
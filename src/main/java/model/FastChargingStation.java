@@ -28,6 +28,6 @@ public class FastChargingStation extends ChargingStation {
      */
     @Override
     public int getChargingEfficiency(double chargingHours) {
-        return (int) strategy.calculateEfficiency(this, chargingHours);
+        return (int) calculateEfficiency(chargingHours);
     }
 }
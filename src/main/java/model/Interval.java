@@ -0,0 +1,78 @@
+// Interval - Represents a half-open time interval [begin, end) returned by availability queries
+
+package model;
+
+public final class Interval {
+
+    private final int begin;  // Inclusive start of the interval
+    private final int end;    // Exclusive end of the interval
+
+    /**
+     * Constructor to create an interval with the given bounds.
+     * 
+     * @param begin Inclusive start of the interval
+     * @param end Exclusive end of the interval (must be greater than begin)
+     * @throws IllegalArgumentException if begin is greater than or equal to end
+     */
+    public Interval(int begin, int end) {
+        if (begin >= end) {
+            throw new IllegalArgumentException("Begin must be less than end");
+        }
+        this.begin = begin;
+        this.end = end;
+    }
+
+    /**
+     * Gets the inclusive start of the interval.
+     * 
+     * @return Start of the interval
+     */
+    public int getBegin() {
+        return begin;
+    }
+
+    /**
+     * Gets the exclusive end of the interval.
+     * 
+     * @return End of the interval
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Gets the length of the interval.
+     * 
+     * @return Number of time units covered by the interval
+     */
+    public int length() {
+        return end - begin;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Interval)) {
+            return false;
+        }
+        Interval interval = (Interval) other;
+        return begin == interval.begin && end == interval.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * begin + end;
+    }
+
+    /**
+     * Provides a string representation of the interval.
+     * 
+     * @return Formatted string in the form {begin=b, end=e}
+     */
+    @Override
+    public String toString() {
+        return "{begin=" + begin + ", end=" + end + "}";
+    }
+}
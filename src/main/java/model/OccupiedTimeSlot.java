@@ -4,49 +4,131 @@ package model;
 
 public class OccupiedTimeSlot {
 
-    private final int startTime;  // Start time of the occupied slot (in hours)
-    private final int endTime;    // End time of the occupied slot (in hours)
+    private final long startMinute;  // Start time of the occupied slot (in minutes, e.g. epoch minutes)
+    private final long endMinute;    // End time of the occupied slot (in minutes, exclusive)
 
     /**
      * Constructor to create an occupied time slot with specified start and end times.
+     * Hours are stored as minutes on the same time line, so hour h starts at minute 60 * h.
      * 
      * @param startTime The start time of the occupied period (must be less than endTime)
      * @param endTime The end time of the occupied period
      * @throws IllegalArgumentException if startTime is greater than or equal to endTime
      */
     public OccupiedTimeSlot(int startTime, int endTime) {
-        if (startTime >= endTime) {
+        this(EpochMinutes.fromHours(startTime), EpochMinutes.fromHours(endTime));
+    }
+
+    /**
+     * Private constructor for minute-resolution slots; see {@link #ofMinutes(long, long)}.
+     */
+    private OccupiedTimeSlot(long startMinute, long endMinute) {
+        if (startMinute >= endMinute) {
             throw new IllegalArgumentException("Start time must be less than end time");
         }
-        this.startTime = startTime;
-        this.endTime = endTime;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+    }
+
+    /**
+     * Creates a slot with minute resolution, e.g. from epoch minutes for horizons spanning weeks.
+     * 
+     * @param startMinute Inclusive start time in minutes
+     * @param endMinute Exclusive end time in minutes (must be greater than startMinute)
+     * @return A new occupied time slot
+     * @throws IllegalArgumentException if startMinute is greater than or equal to endMinute
+     */
+    public static OccupiedTimeSlot ofMinutes(long startMinute, long endMinute) {
+        return new OccupiedTimeSlot(startMinute, endMinute);
     }
 
     /**
      * Gets the start time of the occupied time slot.
+     * For a slot that does not start on an hour, this is the hour containing its start,
+     * so hour-based indexes treat the whole hour as occupied.
      * 
      * @return Start time in hours
      */
     public int getStartTime() {
-        return startTime;
+        return EpochMinutes.floorHour(startMinute);
     }
 
     /**
      * Gets the end time of the occupied time slot.
+     * For a slot that does not end on an hour, this is the next hour boundary.
      * 
      * @return End time in hours
      */
     public int getEndTime() {
-        return endTime;
+        return EpochMinutes.ceilHour(endMinute);
+    }
+
+    /**
+     * Gets the start time of the occupied time slot with minute resolution.
+     * 
+     * @return Start time in minutes
+     */
+    public long getStartMinute() {
+        return startMinute;
+    }
+
+    /**
+     * Gets the end time of the occupied time slot with minute resolution.
+     * 
+     * @return End time in minutes
+     */
+    public long getEndMinute() {
+        return endMinute;
+    }
+
+    /**
+     * Checks whether the slot starts and ends on hour boundaries, so the hour view is exact.
+     * 
+     * @return true if no minutes are rounded away by getStartTime() and getEndTime()
+     */
+    public boolean isWholeHours() {
+        return startMinute % EpochMinutes.PER_HOUR == 0 && endMinute % EpochMinutes.PER_HOUR == 0;
+    }
+
+    /**
+     * Two slots are equal if they cover the same period.
+     * 
+     * @param other Object to compare with
+     * @return true if the other object is a slot with the same start and end times
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || other.getClass() != getClass()) {
+            return false;
+        }
+        OccupiedTimeSlot slot = (OccupiedTimeSlot) other;
+        return startMinute == slot.startMinute && endMinute == slot.endMinute;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(startMinute) + Long.hashCode(endMinute);
     }
 
     /**
      * Provides a string representation of the occupied time slot.
+     * Whole-hour slots print as hours; other slots print as hours:minutes.
      * 
      * @return Formatted string representing the time slot
      */
     @Override
     public String toString() {
-        return "(" + startTime + " - " + endTime + ")";
+        if (isWholeHours()) {
+            return "(" + getStartTime() + " - " + getEndTime() + ")";
+        }
+        return "(" + clock(startMinute) + " - " + clock(endMinute) + ")";
+    }
+
+    private static String clock(long minute) {
+        long minutes = Math.floorMod(minute, EpochMinutes.PER_HOUR);
+        return Math.floorDiv(minute, EpochMinutes.PER_HOUR) + (minutes < 10 ? ":0" : ":") + minutes;
     }
 }
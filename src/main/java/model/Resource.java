@@ -0,0 +1,67 @@
+// Resource - Represents an allocatable resource with a quality score and forbidden time slots
+
+package model;
+
+import java.util.List;
+
+public class Resource {
+
+    // Unique identifier of the resource within its pool
+    private final int resourceId;
+
+    // Quality score; higher-quality resources are allocated first
+    private final int quality;
+
+    // Time slots during which the resource cannot be allocated
+    private final List<OccupiedTimeSlot> forbiddenTimeSlots;
+
+    /**
+     * Constructor to create a resource.
+     * 
+     * @param resourceId Unique identifier of the resource
+     * @param quality Quality score of the resource
+     * @param forbiddenTimeSlots Time slots when the resource is unavailable
+     */
+    public Resource(int resourceId, int quality, List<OccupiedTimeSlot> forbiddenTimeSlots) {
+        this.resourceId = resourceId;
+        this.quality = quality;
+        this.forbiddenTimeSlots = forbiddenTimeSlots;
+    }
+
+    /**
+     * Gets the unique identifier of the resource.
+     * 
+     * @return The resource ID
+     */
+    public int getResourceId() {
+        return resourceId;
+    }
+
+    /**
+     * Gets the quality score of the resource.
+     * 
+     * @return The quality score
+     */
+    public int getQuality() {
+        return quality;
+    }
+
+    /**
+     * Gets the time slots during which the resource is unavailable.
+     * 
+     * @return List of forbidden time slots
+     */
+    public List<OccupiedTimeSlot> getForbiddenTimeSlots() {
+        return forbiddenTimeSlots;
+    }
+
+    /**
+     * Provides a string representation of the resource.
+     * 
+     * @return Formatted string containing resource details
+     */
+    @Override
+    public String toString() {
+        return "resourceId:" + resourceId + ", quality:" + quality + ", forbiddenTimeSlots=" + forbiddenTimeSlots;
+    }
+}
@@ -0,0 +1,57 @@
+// AllocationResult - Holds the per-resource allocations of the A and B resource pools.
+
+package service.allocation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import model.Interval;
+
+public class AllocationResult {
+
+    // Free intervals per A resource ID, ordered by descending quality
+    private final Map<Integer, List<Interval>> aResources;
+
+    // Free intervals per B resource ID, ordered by descending quality
+    private final Map<Integer, List<Interval>> bResources;
+
+    /**
+     * Constructor to create an allocation result.
+     * 
+     * @param aResources Allocations of the A pool
+     * @param bResources Allocations of the B pool
+     */
+    public AllocationResult(Map<Integer, List<Interval>> aResources, Map<Integer, List<Interval>> bResources) {
+        this.aResources = Collections.unmodifiableMap(aResources);
+        this.bResources = Collections.unmodifiableMap(bResources);
+    }
+
+    /**
+     * Gets the allocations of the A pool.
+     * 
+     * @return Map from A resource ID to its allocated intervals
+     */
+    public Map<Integer, List<Interval>> getAResources() {
+        return aResources;
+    }
+
+    /**
+     * Gets the allocations of the B pool.
+     * 
+     * @return Map from B resource ID to its allocated intervals
+     */
+    public Map<Integer, List<Interval>> getBResources() {
+        return bResources;
+    }
+
+    /**
+     * Provides a string representation of the result in the TestCases.txt layout.
+     * 
+     * @return Formatted string with both pools' allocations
+     */
+    @Override
+    public String toString() {
+        return "AResources: " + aResources + "\n\tBResources: " + bResources;
+    }
+}
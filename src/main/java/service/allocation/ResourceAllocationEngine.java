@@ -0,0 +1,54 @@
+// ResourceAllocationEngine - Allocates the free intervals of quality-ranked A and B resource pools.
+
+package service.allocation;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import model.Interval;
+import model.Resource;
+import service.availability.FreeIntervalEngine;
+
+public class ResourceAllocationEngine {
+
+    // Higher quality first; ties are broken by the lower resource ID for a deterministic order
+    private static final Comparator<Resource> BY_QUALITY = Comparator
+            .comparingInt(Resource::getQuality).reversed()
+            .thenComparingInt(Resource::getResourceId);
+
+    /**
+     * Allocates both resource pools over the requested interval.
+     * Each resource receives every part of the interval not covered by its forbidden slots,
+     * and resources are reported in descending quality order.
+     * 
+     * @param interval The requested interval [begin, end)
+     * @param aResources Resources of the A pool
+     * @param bResources Resources of the B pool
+     * @return The allocation of both pools
+     */
+    public AllocationResult allocate(Interval interval, List<Resource> aResources, List<Resource> bResources) {
+        return new AllocationResult(allocatePool(interval, aResources), allocatePool(interval, bResources));
+    }
+
+    /**
+     * Allocates one resource pool over the requested interval in O(n log n) for n resources.
+     * 
+     * @param interval The requested interval [begin, end)
+     * @param resources Resources of the pool
+     * @return Map from resource ID to its free intervals, ordered by descending quality
+     */
+    public Map<Integer, List<Interval>> allocatePool(Interval interval, List<Resource> resources) {
+        PriorityQueue<Resource> queue = new PriorityQueue<>(Math.max(resources.size(), 1), BY_QUALITY);
+        queue.addAll(resources);
+        Map<Integer, List<Interval>> allocations = new LinkedHashMap<>();
+        while (!queue.isEmpty()) {
+            Resource resource = queue.poll();
+            FreeIntervalEngine engine = FreeIntervalEngine.of(resource.getForbiddenTimeSlots());
+            allocations.put(resource.getResourceId(), engine.getFreeIntervals(interval.getBegin(), interval.getEnd()));
+        }
+        return allocations;
+    }
+}
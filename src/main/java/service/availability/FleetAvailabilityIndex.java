@@ -0,0 +1,468 @@
+// FleetAvailabilityIndex - Fleet-wide time index answering "which stations are free during [begin, end)".
+
+package service.availability;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import model.ChargingStation;
+
+public final class FleetAvailabilityIndex {
+
+    // Stations in index order; bit i of every bitset refers to stations[i]
+    private final ChargingStation[] stations;
+
+    // Number of 64-bit words needed for one station bitset
+    private final int words;
+
+    // Sorted, distinct block boundaries of all stations (compressed time coordinates)
+    private final int[] coordinates;
+
+    // Number of elementary segments [coordinates[j], coordinates[j + 1])
+    private final int segments;
+
+    // Per tree node: stations with a block covering the node's whole time range
+    private final long[] cover;
+
+    // Per tree node: stations with a block touching any part of the node's time range
+    private final long[] any;
+
+    // Index positions of the stations with recurring windows, which are checked per query
+    private final int[] ruleStations;
+
+    // Recurring windows of ruleStations[i], as set when the index was built
+    private final SlotSource[] rules;
+
+    // Station ID in the high and index position in the low 32 bits, sorted, for marking stations stale by ID
+    private final long[] idKeys;
+
+    // Bitset of positions whose slots or recurring windows changed after the build; these are checked
+    // on the station itself instead of through the tree
+    private final AtomicLongArray stale;
+
+    // Number of bits set in stale
+    private final AtomicInteger staleCount = new AtomicInteger();
+
+    /**
+     * Builds the index over the given stations.
+     * Each station's merged occupied blocks are inserted into a segment tree over the
+     * compressed time coordinates, so a query never scans individual slot lists. Blocks with
+     * minute bounds are widened to whole hours. Recurring windows repeat without end, so they
+     * cannot be put in the tree; the few stations that have them are checked directly per query.
+     * 
+     * @param stationList Stations to index, in the order results should be reported
+     */
+    public FleetAvailabilityIndex(List<ChargingStation> stationList) {
+        this.stations = stationList.toArray(new ChargingStation[0]);
+        this.words = (stations.length + 63) >>> 6;
+        this.coordinates = collectCoordinates(stations);
+        this.segments = Math.max(coordinates.length - 1, 0);
+        int nodes = segments == 0 ? 0 : 4 * segments;
+        this.cover = new long[nodes * words];
+        this.any = new long[nodes * words];
+        for (int s = 0; s < stations.length; s++) {
+            FreeIntervalEngine engine = stations[s].getAvailability();
+            for (int b = 0; b < engine.getBlockCount(); b++) {
+                int first = Arrays.binarySearch(coordinates, engine.getBlockStart(b));
+                int last = Arrays.binarySearch(coordinates, engine.getBlockEnd(b)) - 1;
+                insert(1, 0, segments - 1, first, last, s);
+            }
+        }
+        if (segments > 0) {
+            propagate(1, 0, segments - 1);
+        }
+        int ruleCount = 0;
+        int[] positions = new int[stations.length];
+        SlotSource[] sources = new SlotSource[stations.length];
+        for (int s = 0; s < stations.length; s++) {
+            SlotSource source = stations[s].getRecurringSlots();
+            if (source != null) {
+                positions[ruleCount] = s;
+                sources[ruleCount++] = source;
+            }
+        }
+        this.ruleStations = Arrays.copyOf(positions, ruleCount);
+        this.rules = Arrays.copyOf(sources, ruleCount);
+        this.idKeys = new long[stations.length];
+        for (int s = 0; s < stations.length; s++) {
+            idKeys[s] = ((long) stations[s].getStationId() << 32) | s;
+        }
+        Arrays.sort(idKeys);
+        this.stale = new AtomicLongArray(words);
+    }
+
+    /**
+     * Records that a station's slots or recurring windows changed after the index was built, e.g. by a
+     * reservation. The tree is left as it is; queries check the station itself from now on, so one change
+     * costs O(log N) instead of a rebuild. Rebuild once {@link #getStaleCount()} grows large.
+     * 
+     * @param stationId ID of the changed station
+     * @return true if the station is indexed
+     */
+    public boolean markStale(int stationId) {
+        int key = lowerBound(idKeys, (long) stationId << 32);
+        boolean found = false;
+        for (; key < idKeys.length && (int) (idKeys[key] >> 32) == stationId; key++) {
+            int station = (int) idKeys[key];
+            long bit = 1L << station;
+            if ((stale.getAndAccumulate(station >>> 6, bit, (word, mask) -> word | mask) & bit) == 0) {
+                staleCount.incrementAndGet();
+            }
+            found = true;
+        }
+        return found;
+    }
+
+    /**
+     * Gets the number of stations marked stale since the index was built.
+     * 
+     * @return Number of stations checked directly by every query
+     */
+    public int getStaleCount() {
+        return staleCount.get();
+    }
+
+    private boolean isStale(int station) {
+        return (stale.get(station >>> 6) & 1L << station) != 0;
+    }
+
+    private static int[] collectCoordinates(ChargingStation[] stations) {
+        int total = 0;
+        for (ChargingStation station : stations) {
+            total += 2 * station.getAvailability().getBlockCount();
+        }
+        int[] points = new int[total];
+        int size = 0;
+        for (ChargingStation station : stations) {
+            FreeIntervalEngine engine = station.getAvailability();
+            for (int b = 0; b < engine.getBlockCount(); b++) {
+                points[size++] = engine.getBlockStart(b);
+                points[size++] = engine.getBlockEnd(b);
+            }
+        }
+        Arrays.sort(points);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || points[distinct - 1] != points[i]) {
+                points[distinct++] = points[i];
+            }
+        }
+        return Arrays.copyOf(points, distinct);
+    }
+
+    private void insert(int node, int low, int high, int first, int last, int station) {
+        if (last < low || high < first) {
+            return;
+        }
+        if (first <= low && high <= last) {
+            setBit(cover, node, station);
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        insert(2 * node, low, mid, first, last, station);
+        insert(2 * node + 1, mid + 1, high, first, last, station);
+    }
+
+    private void propagate(int node, int low, int high) {
+        int offset = node * words;
+        System.arraycopy(cover, offset, any, offset, words);
+        if (low == high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        propagate(2 * node, low, mid);
+        propagate(2 * node + 1, mid + 1, high);
+        int left = 2 * node * words;
+        int right = (2 * node + 1) * words;
+        for (int w = 0; w < words; w++) {
+            any[offset + w] |= any[left + w] | any[right + w];
+        }
+    }
+
+    private void setBit(long[] bits, int node, int station) {
+        bits[node * words + (station >>> 6)] |= 1L << station;
+    }
+
+    /**
+     * Finds every indexed station that is free for the whole window [begin, end).
+     * The cost is O(log S * N / 64) word operations plus the size of the result,
+     * where S is the number of compressed time segments and N the number of stations,
+     * plus one direct check per station with recurring windows or marked stale.
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return Stations without any occupied block or recurring window overlapping the window, in index order
+     * @throws IllegalArgumentException if begin is greater than or equal to end
+     */
+    public List<ChargingStation> findFreeStations(int begin, int end) {
+        long[] busy = busyStations(begin, end);
+        List<ChargingStation> free = new ArrayList<>();
+        for (int w = 0; w < words; w++) {
+            long freeBits = ~busy[w];
+            while (freeBits != 0) {
+                int station = (w << 6) + Long.numberOfTrailingZeros(freeBits);
+                if (station >= stations.length) {
+                    break;
+                }
+                free.add(stations[station]);
+                freeBits &= freeBits - 1;
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Checks whether at least one indexed station is free for the whole window [begin, end).
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return true if some station has no occupied block or recurring window overlapping the window
+     */
+    public boolean anyStationFree(int begin, int end) {
+        return firstFreeStation(busyStations(begin, end)) >= 0;
+    }
+
+    /**
+     * Finds the globally earliest window of the given length starting at or after a time,
+     * on any indexed station. For stations without recurring windows, only compressed time coordinates
+     * are visited as candidate starts (a fit can only begin at the requested time or at the end of some
+     * block), and each candidate is checked for all of them at once with word-parallel bitset operations.
+     * Stations with recurring windows or marked stale are searched one by one and the earlier fit wins.
+     * 
+     * @param after Earliest acceptable start time
+     * @param duration Required length of the window (must be positive)
+     * @return The first station free for the earliest feasible window, or null if no indexed station
+     *         can ever be free that long
+     * @throws IllegalArgumentException if duration is not positive
+     */
+    public StationWindow findEarliestFit(int after, int duration) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        int bestStation = -1;
+        int bestStart = Integer.MAX_VALUE;
+        long[] direct = new long[words];
+        int directCount = 0;
+        for (int i = 0; i < ruleStations.length; i++) {
+            int station = ruleStations[i];
+            if (isStale(station)) {
+                continue;
+            }
+            direct[station >>> 6] |= 1L << station;
+            directCount++;
+            if (rules[i].admits(duration)) {
+                int start = earliestWithRule(stations[station].getGapIndex(), rules[i], after, duration);
+                if (start < bestStart || start == bestStart && station < bestStation) {
+                    bestStart = start;
+                    bestStation = station;
+                }
+            }
+        }
+        for (int station : stalePositions()) {
+            direct[station >>> 6] |= 1L << station;
+            directCount++;
+            SlotSource rule = stations[station].getRecurringSlots();
+            GapIndex gaps = stations[station].getGapIndex();
+            if (rule == null || rule.admits(duration)) {
+                int start = rule == null ? gaps.findEarliestStart(after, duration)
+                        : earliestWithRule(gaps, rule, after, duration);
+                if (start < bestStart || start == bestStart && station < bestStation) {
+                    bestStart = start;
+                    bestStation = station;
+                }
+            }
+        }
+        if (directCount < stations.length) {
+            int start = after;
+            int next = upperBound(coordinates, after);
+            // Past the last coordinate every station left to the tree is free, so this always ends
+            while (start <= bestStart) {
+                long[] busy = blockedStations(start, start + duration);
+                for (int w = 0; w < words; w++) {
+                    busy[w] |= direct[w];
+                }
+                int station = firstFreeStation(busy);
+                if (station >= 0) {
+                    if (start < bestStart || station < bestStation) {
+                        bestStart = start;
+                        bestStation = station;
+                    }
+                    break;
+                }
+                start = coordinates[next++];
+            }
+        }
+        return bestStation < 0 ? null : new StationWindow(stations[bestStation], bestStart, bestStart + duration);
+    }
+
+    /**
+     * Finds the earliest fit on one station by alternating between its gaps and the recurring windows
+     * the index was built with. The rule admits the duration, so both move forward until they agree.
+     */
+    private static int earliestWithRule(GapIndex gaps, SlotSource rule, int after, int duration) {
+        int start = after;
+        while (true) {
+            start = gaps.findEarliestStart(start, duration);
+            int free = rule.nextFree(start);
+            if (free == start) {
+                int busy = rule.nextBusy(start);
+                if ((long) busy - start >= duration) {
+                    return start;
+                }
+                free = rule.nextFree(busy);
+            }
+            start = free;
+        }
+    }
+
+    /**
+     * Finds the lowest station index whose bit is clear in the busy bitset, or -1.
+     */
+    private int firstFreeStation(long[] busy) {
+        for (int w = 0; w < words; w++) {
+            long freeBits = ~busy[w];
+            if (freeBits != 0) {
+                int station = (w << 6) + Long.numberOfTrailingZeros(freeBits);
+                return station < stations.length ? station : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of indexed stations.
+     * 
+     * @return Number of stations
+     */
+    public int size() {
+        return stations.length;
+    }
+
+    /**
+     * Computes the bitset of stations with an occupied block overlapping [begin, end).
+     */
+    private long[] blockedStations(int begin, int end) {
+        if (begin >= end) {
+            throw new IllegalArgumentException("Begin must be less than end");
+        }
+        long[] busy = new long[words];
+        if (segments == 0) {
+            return busy;
+        }
+        // First segment ending after begin and last segment starting before end
+        int first = upperBound(coordinates, begin) - 1;
+        first = Math.max(first, 0);
+        int last = lowerBound(coordinates, end) - 1;
+        last = Math.min(last, segments - 1);
+        if (first > last) {
+            return busy;
+        }
+        query(1, 0, segments - 1, first, last, busy);
+        return busy;
+    }
+
+    /**
+     * Computes the bitset of stations whose blocks or recurring windows overlap [begin, end).
+     */
+    private long[] busyStations(int begin, int end) {
+        long[] busy = blockedStations(begin, end);
+        for (int i = 0; i < ruleStations.length; i++) {
+            if (rules[i].overlaps(begin, end)) {
+                busy[ruleStations[i] >>> 6] |= 1L << ruleStations[i];
+            }
+        }
+        for (int station : stalePositions()) {
+            long bit = 1L << station;
+            if (stations[station].hasConflict(begin, end)) {
+                busy[station >>> 6] |= bit;
+            } else {
+                busy[station >>> 6] &= ~bit;
+            }
+        }
+        return busy;
+    }
+
+    /**
+     * Lists the positions currently marked stale, in index order.
+     */
+    private int[] stalePositions() {
+        if (staleCount.get() == 0) {
+            return new int[0];
+        }
+        int[] positions = new int[16];
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            long bits = stale.get(w);
+            while (bits != 0) {
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    private void query(int node, int low, int high, int first, int last, long[] busy) {
+        if (last < low || high < first) {
+            return;
+        }
+        int offset = node * words;
+        long[] source = first <= low && high <= last ? any : cover;
+        for (int w = 0; w < words; w++) {
+            busy[w] |= source[offset + w];
+        }
+        if (source == any) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        query(2 * node, low, mid, first, last, busy);
+        query(2 * node + 1, mid + 1, high, first, last, busy);
+    }
+
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
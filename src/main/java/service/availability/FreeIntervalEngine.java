@@ -0,0 +1,380 @@
+// FreeIntervalEngine - Sweep-line availability engine that answers free-interval queries for a single station.
+
+package service.availability;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.EpochMinutes;
+import model.Interval;
+import model.OccupiedTimeSlot;
+
+/**
+ * Occupied blocks are kept in minutes, so minute slots are never rounded when they are merged.
+ * Hour queries use the hour view: a block covers every hour it touches, and a free interval
+ * keeps only the whole hours inside it. For slots on hour boundaries both views agree exactly.
+ */
+public final class FreeIntervalEngine {
+
+    // Shared empty results to avoid allocating for fully occupied windows
+    private static final int[] NO_INTERVALS = new int[0];
+    private static final long[] NO_MINUTE_INTERVALS = new long[0];
+
+    // Start minutes of the merged, sorted and pairwise disjoint occupied blocks
+    private final long[] starts;
+
+    // End minutes of the merged occupied blocks (strictly increasing, aligned with starts)
+    private final long[] ends;
+
+    /**
+     * Private constructor; instances are created through the static factory methods.
+     * 
+     * @param starts Merged block start minutes
+     * @param ends Merged block end minutes
+     */
+    private FreeIntervalEngine(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Builds an engine from a list of occupied time slots, keeping their minute bounds.
+     * The slots are sorted and overlapping or adjacent slots are merged exactly once,
+     * so every later query works on a compact primitive representation.
+     * A list obtained from {@link SlotSet#asList()} is already merged and is not sorted again.
+     * 
+     * @param slots Occupied time slots of a station (may be null or empty)
+     * @return A new engine over the normalized slots
+     */
+    public static FreeIntervalEngine of(List<OccupiedTimeSlot> slots) {
+        SlotSet set = SlotSet.ownerOf(slots);
+        if (set != null) {
+            return of(set);
+        }
+        int count = slots == null ? 0 : slots.size();
+        long[] slotStarts = new long[count];
+        long[] slotEnds = new long[count];
+        for (int i = 0; i < count; i++) {
+            OccupiedTimeSlot slot = slots.get(i);
+            slotStarts[i] = slot.getStartMinute();
+            slotEnds[i] = slot.getEndMinute();
+        }
+        return merge(slotStarts, slotEnds);
+    }
+
+    /**
+     * Builds an engine from an already normalized slot set, skipping the sort and merge.
+     * 
+     * @param slots Merged occupied slots
+     * @return A new engine over the same blocks
+     */
+    public static FreeIntervalEngine of(SlotSet slots) {
+        long[] blockStarts = new long[slots.size()];
+        long[] blockEnds = new long[slots.size()];
+        for (int i = 0; i < blockStarts.length; i++) {
+            blockStarts[i] = EpochMinutes.fromHours(slots.getStart(i));
+            blockEnds[i] = EpochMinutes.fromHours(slots.getEnd(i));
+        }
+        return new FreeIntervalEngine(blockStarts, blockEnds);
+    }
+
+    /**
+     * Builds an engine from parallel arrays of start and end hours.
+     * The arrays are not modified.
+     * 
+     * @param slotStarts Start times of the occupied slots
+     * @param slotEnds End times of the occupied slots
+     * @return A new engine over the normalized slots
+     * @throws IllegalArgumentException if the arrays differ in length or contain an empty slot
+     */
+    public static FreeIntervalEngine of(int[] slotStarts, int[] slotEnds) {
+        if (slotStarts.length != slotEnds.length) {
+            throw new IllegalArgumentException("Start and end arrays must have the same length");
+        }
+        long[] minuteStarts = new long[slotStarts.length];
+        long[] minuteEnds = new long[slotEnds.length];
+        for (int i = 0; i < minuteStarts.length; i++) {
+            if (slotStarts[i] >= slotEnds[i]) {
+                throw new IllegalArgumentException("Start time must be less than end time");
+            }
+            minuteStarts[i] = EpochMinutes.fromHours(slotStarts[i]);
+            minuteEnds[i] = EpochMinutes.fromHours(slotEnds[i]);
+        }
+        return merge(minuteStarts, minuteEnds);
+    }
+
+    /**
+     * Sorts start and end minutes as two primitive arrays and sweeps them once,
+     * merging overlapping or touching slots without allocating per slot.
+     * 
+     * @param slotStarts Slot start minutes, sorted in place
+     * @param slotEnds Slot end minutes, sorted in place
+     * @return A new engine over the merged blocks
+     */
+    private static FreeIntervalEngine merge(long[] slotStarts, long[] slotEnds) {
+        Arrays.sort(slotStarts);
+        Arrays.sort(slotEnds);
+        int count = slotStarts.length;
+        long[] mergedStarts = new long[count];
+        long[] mergedEnds = new long[count];
+        int size = 0;
+        int depth = 0;
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            // A slot starting where another ends continues the same block
+            while (slotEnds[j] < slotStarts[i]) {
+                depth--;
+                if (depth == 0) {
+                    mergedEnds[size++] = slotEnds[j];
+                }
+                j++;
+            }
+            if (depth == 0) {
+                mergedStarts[size] = slotStarts[i];
+            }
+            depth++;
+        }
+        if (count > 0) {
+            mergedEnds[size++] = slotEnds[count - 1];
+        }
+        return new FreeIntervalEngine(Arrays.copyOf(mergedStarts, size), Arrays.copyOf(mergedEnds, size));
+    }
+
+    /**
+     * Computes the whole free hours inside the window [begin, end) in O(log n + k).
+     * The result is a flat array of pairs: {begin0, end0, begin1, end1, ...}.
+     * 
+     * @param begin Inclusive start of the requested window
+     * @param end Exclusive end of the requested window
+     * @return Flat array of free interval bounds, ordered by time
+     * @throws IllegalArgumentException if begin is greater than or equal to end
+     */
+    public int[] freeIntervals(int begin, int end) {
+        checkWindow(begin, end);
+        long minuteBegin = EpochMinutes.fromHours(begin);
+        long minuteEnd = EpochMinutes.fromHours(end);
+        int first = firstBlockEndingAfterMinute(minuteBegin);
+        int last = firstBlockStartingAtOrAfterMinute(minuteEnd);
+        int[] result = new int[2 * (Math.max(last - first, 0) + 1)];
+        int size = 0;
+        long cursor = minuteBegin;
+        for (int i = first; i < last; i++) {
+            if (starts[i] > cursor) {
+                size = addWholeHours(result, size, cursor, starts[i]);
+            }
+            cursor = Math.max(cursor, ends[i]);
+        }
+        if (cursor < minuteEnd) {
+            size = addWholeHours(result, size, cursor, minuteEnd);
+        }
+        if (size == 0) {
+            return NO_INTERVALS;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Appends the whole hours of the free minutes [from, to), if there are any.
+     */
+    private static int addWholeHours(int[] result, int size, long from, long to) {
+        int first = EpochMinutes.ceilHour(from);
+        int last = EpochMinutes.floorHour(to);
+        if (first < last) {
+            result[size++] = first;
+            result[size++] = last;
+        }
+        return size;
+    }
+
+    /**
+     * Computes the free intervals inside the minute window [begin, end) in O(log n + k).
+     * 
+     * @param begin Inclusive start minute of the requested window
+     * @param end Exclusive end minute of the requested window
+     * @return Flat array of free interval bounds in minutes, ordered by time
+     * @throws IllegalArgumentException if begin is greater than or equal to end
+     */
+    public long[] freeMinutes(long begin, long end) {
+        checkWindow(begin, end);
+        int first = firstBlockEndingAfterMinute(begin);
+        int last = firstBlockStartingAtOrAfterMinute(end);
+        long[] result = new long[2 * (Math.max(last - first, 0) + 1)];
+        int size = 0;
+        long cursor = begin;
+        for (int i = first; i < last; i++) {
+            if (starts[i] > cursor) {
+                result[size++] = cursor;
+                result[size++] = starts[i];
+            }
+            cursor = Math.max(cursor, ends[i]);
+        }
+        if (cursor < end) {
+            result[size++] = cursor;
+            result[size++] = end;
+        }
+        if (size == 0) {
+            return NO_MINUTE_INTERVALS;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Computes the free intervals inside the window [begin, end) as Interval objects.
+     * 
+     * @param begin Inclusive start of the requested window
+     * @param end Exclusive end of the requested window
+     * @return List of free intervals, ordered by time
+     */
+    public List<Interval> getFreeIntervals(int begin, int end) {
+        int[] bounds = freeIntervals(begin, end);
+        List<Interval> intervals = new ArrayList<>(bounds.length / 2);
+        for (int i = 0; i < bounds.length; i += 2) {
+            intervals.add(new Interval(bounds[i], bounds[i + 1]));
+        }
+        return intervals;
+    }
+
+    /**
+     * Checks whether the whole window [begin, end) is free in O(log n).
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return true if no occupied block overlaps the window
+     */
+    public boolean isFree(int begin, int end) {
+        checkWindow(begin, end);
+        return isFreeMinutes(EpochMinutes.fromHours(begin), EpochMinutes.fromHours(end));
+    }
+
+    /**
+     * Checks whether the whole minute window [begin, end) is free in O(log n).
+     * 
+     * @param begin Inclusive start minute of the window
+     * @param end Exclusive end minute of the window
+     * @return true if no occupied block overlaps the window
+     * @throws IllegalArgumentException if begin is greater than or equal to end
+     */
+    public boolean isFreeMinutes(long begin, long end) {
+        checkWindow(begin, end);
+        int first = firstBlockEndingAfterMinute(begin);
+        return first == starts.length || starts[first] >= end;
+    }
+
+    /**
+     * Finds the earliest minute at or after the given minute at which the engine is free for the duration.
+     * Hour queries should use {@link GapIndex}, which answers in O(log n).
+     * 
+     * @param after Earliest acceptable start minute
+     * @param duration Required duration in minutes
+     * @return Earliest feasible start minute
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public long findEarliestStartMinute(long after, long duration) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        long cursor = after;
+        for (int i = firstBlockEndingAfterMinute(after); i < starts.length; i++) {
+            if (starts[i] - cursor >= duration) {
+                return cursor;
+            }
+            cursor = Math.max(cursor, ends[i]);
+        }
+        return cursor;
+    }
+
+    /**
+     * Gets the number of merged occupied blocks.
+     * 
+     * @return Number of disjoint occupied blocks
+     */
+    public int getBlockCount() {
+        return starts.length;
+    }
+
+    /**
+     * Gets the start time of the given merged block in the hour view.
+     * Blocks that touch the same hour may overlap in this view.
+     * 
+     * @param index Block index (0-based, ordered by time)
+     * @return The hour containing the start of the block
+     */
+    public int getBlockStart(int index) {
+        return EpochMinutes.floorHour(starts[index]);
+    }
+
+    /**
+     * Gets the end time of the given merged block in the hour view.
+     * 
+     * @param index Block index (0-based, ordered by time)
+     * @return The first hour boundary at or after the end of the block
+     */
+    public int getBlockEnd(int index) {
+        return EpochMinutes.ceilHour(ends[index]);
+    }
+
+    /**
+     * Gets the start minute of the given merged block.
+     * 
+     * @param index Block index (0-based, ordered by time)
+     * @return Start minute of the block
+     */
+    public long getBlockStartMinute(int index) {
+        return starts[index];
+    }
+
+    /**
+     * Gets the end minute of the given merged block.
+     * 
+     * @param index Block index (0-based, ordered by time)
+     * @return End minute of the block
+     */
+    public long getBlockEndMinute(int index) {
+        return ends[index];
+    }
+
+    /**
+     * Finds the first merged block whose hour-view end lies strictly after the given time.
+     * 
+     * @param time Time to search from
+     * @return Block index, or the block count if no such block exists
+     */
+    int firstBlockEndingAfter(int time) {
+        return firstBlockEndingAfterMinute(EpochMinutes.fromHours(time));
+    }
+
+    private int firstBlockEndingAfterMinute(long minute) {
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] > minute) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private int firstBlockStartingAtOrAfterMinute(long minute) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] >= minute) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static void checkWindow(long begin, long end) {
+        if (begin >= end) {
+            throw new IllegalArgumentException("Begin must be less than end");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+// GapIndex - Max-gap segment tree answering "earliest free window of length d after time t" for one station.
+
+package service.availability;
+
+public final class GapIndex {
+
+    // Merged occupied blocks the gaps are derived from
+    private final FreeIntervalEngine blocks;
+
+    // Number of bounded gaps, i.e. gaps between two consecutive blocks
+    private final int gapCount;
+
+    // Segment tree over bounded gap lengths; leaf j holds the length of the gap before block j + 1
+    private final int[] maxGap;
+
+    /**
+     * Builds a gap index over the merged occupied blocks of a station.
+     * Blocks are read in the engine's hour view, so a block of minutes occupies every hour it touches.
+     * 
+     * @param blocks Availability engine holding the merged occupied blocks
+     */
+    public GapIndex(FreeIntervalEngine blocks) {
+        this.blocks = blocks;
+        this.gapCount = Math.max(blocks.getBlockCount() - 1, 0);
+        this.maxGap = new int[Math.max(4 * gapCount, 1)];
+        if (gapCount > 0) {
+            build(1, 0, gapCount - 1);
+        }
+    }
+
+    private int build(int node, int low, int high) {
+        if (low == high) {
+            maxGap[node] = blocks.getBlockStart(low + 1) - blocks.getBlockEnd(low);
+        } else {
+            int mid = (low + high) >>> 1;
+            maxGap[node] = Math.max(build(2 * node, low, mid), build(2 * node + 1, mid + 1, high));
+        }
+        return maxGap[node];
+    }
+
+    /**
+     * Finds the earliest start time s >= after such that [s, s + duration) is free, in O(log n).
+     * Time after the last block is unbounded, so a fit always exists.
+     * 
+     * @param after Earliest acceptable start time
+     * @param duration Required length of the free window (must be positive)
+     * @return Earliest feasible start time
+     * @throws IllegalArgumentException if duration is not positive
+     */
+    public int findEarliestStart(int after, int duration) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        int count = blocks.getBlockCount();
+        int block = blocks.firstBlockEndingAfter(after);
+        if (block == count) {
+            return after;
+        }
+        if (after < blocks.getBlockStart(block)) {
+            // after lies in the gap before this block
+            if ((long) blocks.getBlockStart(block) - after >= duration) {
+                return after;
+            }
+        }
+        // Candidate gaps now start at the end of block, block + 1, ...; gap j follows block j
+        int gap = firstGapAtLeast(1, 0, gapCount - 1, block, duration);
+        return gap < 0 ? blocks.getBlockEnd(count - 1) : blocks.getBlockEnd(gap);
+    }
+
+    /**
+     * Finds the first bounded gap index >= from whose length is at least duration, or -1.
+     */
+    private int firstGapAtLeast(int node, int low, int high, int from, int duration) {
+        if (gapCount == 0 || high < from || maxGap[node] < duration) {
+            return -1;
+        }
+        if (low == high) {
+            return low;
+        }
+        int mid = (low + high) >>> 1;
+        int left = firstGapAtLeast(2 * node, low, mid, from, duration);
+        return left >= 0 ? left : firstGapAtLeast(2 * node + 1, mid + 1, high, from, duration);
+    }
+}
@@ -0,0 +1,295 @@
+// OccupancyGrid - Bitset minute grid representing station occupancy at a fixed bucket granularity.
+
+package service.availability;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.OccupiedTimeSlot;
+
+public final class OccupancyGrid {
+
+    // Minute at which the first bucket starts
+    private final int origin;
+
+    // Number of minutes covered by one bucket (e.g. 5 for 5-minute buckets, 60 for hour buckets)
+    private final int granularity;
+
+    // Number of buckets in the horizon
+    private final int buckets;
+
+    // One bit per bucket; a set bit means the bucket is busy
+    private final long[] bits;
+
+    /**
+     * Constructor to create an empty (fully free) grid.
+     * 
+     * @param origin Minute at which the first bucket starts
+     * @param granularity Number of minutes per bucket (must be positive)
+     * @param buckets Number of buckets in the horizon (must be positive)
+     * @throws IllegalArgumentException if granularity or buckets is not positive
+     */
+    public OccupancyGrid(int origin, int granularity, int buckets) {
+        if (granularity <= 0 || buckets <= 0) {
+            throw new IllegalArgumentException("Granularity and bucket count must be positive");
+        }
+        this.origin = origin;
+        this.granularity = granularity;
+        this.buckets = buckets;
+        this.bits = new long[(buckets + 63) >>> 6];
+    }
+
+    /**
+     * Builds a grid from a list of occupied time slots, using their exact minute bounds.
+     * A bucket is marked busy if any slot overlaps part of it.
+     * 
+     * @param slots Occupied time slots to rasterize
+     * @param origin Minute at which the first bucket starts
+     * @param granularity Number of minutes per bucket
+     * @param buckets Number of buckets in the horizon
+     * @return A new grid with the slots marked busy
+     */
+    public static OccupancyGrid fromSlots(List<OccupiedTimeSlot> slots, int origin, int granularity, int buckets) {
+        OccupancyGrid grid = new OccupancyGrid(origin, granularity, buckets);
+        for (OccupiedTimeSlot slot : slots) {
+            grid.markBusy(slot.getStartMinute(), slot.getEndMinute());
+        }
+        return grid;
+    }
+
+    /**
+     * Marks every bucket overlapping the window [begin, end) as busy.
+     * Parts of the window outside the horizon are ignored.
+     * 
+     * @param begin Inclusive start minute of the window
+     * @param end Exclusive end minute of the window
+     */
+    public void markBusy(long begin, long end) {
+        long from = Math.max(Math.floorDiv(begin - origin, granularity), 0);
+        long to = Math.min(-Math.floorDiv(origin - end, granularity), buckets);
+        if (from < to) {
+            setRange((int) from, (int) to);
+        }
+    }
+
+    /**
+     * Marks the buckets [fromBucket, toBucket) as busy using whole-word writes.
+     * 
+     * @param fromBucket Inclusive first bucket
+     * @param toBucket Exclusive last bucket
+     */
+    public void setRange(int fromBucket, int toBucket) {
+        checkBucketRange(fromBucket, toBucket);
+        if (fromBucket == toBucket) {
+            return;
+        }
+        int firstWord = fromBucket >>> 6;
+        int lastWord = (toBucket - 1) >>> 6;
+        long firstMask = -1L << fromBucket;
+        long lastMask = -1L >>> -toBucket;
+        if (firstWord == lastWord) {
+            bits[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        bits[firstWord] |= firstMask;
+        Arrays.fill(bits, firstWord + 1, lastWord, -1L);
+        bits[lastWord] |= lastMask;
+    }
+
+    /**
+     * Checks whether a single bucket is busy.
+     * 
+     * @param bucket Bucket index
+     * @return true if the bucket is busy
+     */
+    public boolean isBusy(int bucket) {
+        checkBucketRange(bucket, bucket + 1);
+        return (bits[bucket >>> 6] & (1L << bucket)) != 0;
+    }
+
+    /**
+     * Checks whether all buckets in [fromBucket, toBucket) are free using whole-word tests.
+     * 
+     * @param fromBucket Inclusive first bucket
+     * @param toBucket Exclusive last bucket
+     * @return true if no bucket in the range is busy
+     */
+    public boolean isRangeFree(int fromBucket, int toBucket) {
+        checkBucketRange(fromBucket, toBucket);
+        return fromBucket == toBucket || nextBusyBucket(fromBucket) >= toBucket;
+    }
+
+    /**
+     * Finds the first run of at least {@code length} consecutive free buckets starting at or after a bucket.
+     * Busy and free stretches are skipped a word at a time.
+     * 
+     * @param length Number of consecutive free buckets required (must be positive)
+     * @param fromBucket First bucket at which the run may start
+     * @return Index of the first bucket of the run, or -1 if no such run fits in the horizon
+     */
+    public int findFreeRun(int length, int fromBucket) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Run length must be positive");
+        }
+        int start = nextFreeBucket(Math.max(fromBucket, 0));
+        while (start + length <= buckets) {
+            int busy = nextBusyBucket(start);
+            if (busy - start >= length) {
+                return start;
+            }
+            start = nextFreeBucket(busy);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a grid whose busy buckets are those busy in both grids.
+     * 
+     * @param other Grid with the same layout
+     * @return A new grid holding the intersection of busy buckets
+     */
+    public OccupancyGrid and(OccupancyGrid other) {
+        checkCompatible(other);
+        OccupancyGrid result = new OccupancyGrid(origin, granularity, buckets);
+        for (int w = 0; w < bits.length; w++) {
+            result.bits[w] = bits[w] & other.bits[w];
+        }
+        return result;
+    }
+
+    /**
+     * Returns a grid whose busy buckets are those busy in either grid.
+     * Its free buckets are exactly the buckets free in both grids.
+     * 
+     * @param other Grid with the same layout
+     * @return A new grid holding the union of busy buckets
+     */
+    public OccupancyGrid or(OccupancyGrid other) {
+        checkCompatible(other);
+        OccupancyGrid result = new OccupancyGrid(origin, granularity, buckets);
+        for (int w = 0; w < bits.length; w++) {
+            result.bits[w] = bits[w] | other.bits[w];
+        }
+        return result;
+    }
+
+    /**
+     * Returns a grid whose busy buckets are busy in this grid but free in the other.
+     * 
+     * @param other Grid with the same layout
+     * @return A new grid holding the difference of busy buckets
+     */
+    public OccupancyGrid andNot(OccupancyGrid other) {
+        checkCompatible(other);
+        OccupancyGrid result = new OccupancyGrid(origin, granularity, buckets);
+        for (int w = 0; w < bits.length; w++) {
+            result.bits[w] = bits[w] & ~other.bits[w];
+        }
+        return result;
+    }
+
+    /**
+     * Converts the busy buckets back into occupied time slots, one per maximal busy run.
+     * 
+     * @return Occupied minute slots aligned to bucket boundaries, ordered by time
+     */
+    public List<OccupiedTimeSlot> toSlots() {
+        List<OccupiedTimeSlot> slots = new ArrayList<>();
+        int start = nextBusyBucket(0);
+        while (start < buckets) {
+            int end = nextFreeBucket(start);
+            slots.add(OccupiedTimeSlot.ofMinutes(origin + (long) start * granularity, origin + (long) end * granularity));
+            start = nextBusyBucket(end);
+        }
+        return slots;
+    }
+
+    /**
+     * Counts the busy buckets in the grid.
+     * 
+     * @return Number of busy buckets
+     */
+    public int busyCount() {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the minute at which the first bucket starts.
+     * 
+     * @return Grid origin
+     */
+    public int getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Gets the number of minutes covered by one bucket.
+     * 
+     * @return Bucket granularity
+     */
+    public int getGranularity() {
+        return granularity;
+    }
+
+    /**
+     * Gets the number of buckets in the horizon.
+     * 
+     * @return Bucket count
+     */
+    public int getBucketCount() {
+        return buckets;
+    }
+
+    /**
+     * Finds the first busy bucket at or after the given bucket, or the bucket count if none.
+     */
+    private int nextBusyBucket(int fromBucket) {
+        if (fromBucket >= buckets) {
+            return buckets;
+        }
+        int w = fromBucket >>> 6;
+        long word = bits[w] & (-1L << fromBucket);
+        while (word == 0) {
+            if (++w == bits.length) {
+                return buckets;
+            }
+            word = bits[w];
+        }
+        return Math.min((w << 6) + Long.numberOfTrailingZeros(word), buckets);
+    }
+
+    /**
+     * Finds the first free bucket at or after the given bucket, or the bucket count if none.
+     */
+    private int nextFreeBucket(int fromBucket) {
+        if (fromBucket >= buckets) {
+            return buckets;
+        }
+        int w = fromBucket >>> 6;
+        long word = ~bits[w] & (-1L << fromBucket);
+        while (word == 0) {
+            if (++w == bits.length) {
+                return buckets;
+            }
+            word = ~bits[w];
+        }
+        return Math.min((w << 6) + Long.numberOfTrailingZeros(word), buckets);
+    }
+
+    private void checkBucketRange(int fromBucket, int toBucket) {
+        if (fromBucket < 0 || toBucket > buckets || fromBucket > toBucket) {
+            throw new IndexOutOfBoundsException("Bucket range [" + fromBucket + ", " + toBucket + ") is outside the grid");
+        }
+    }
+
+    private void checkCompatible(OccupancyGrid other) {
+        if (origin != other.origin || granularity != other.granularity || buckets != other.buckets) {
+            throw new IllegalArgumentException("Grids must share origin, granularity and bucket count");
+        }
+    }
+}
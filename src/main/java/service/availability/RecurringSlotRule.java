@@ -0,0 +1,295 @@
+// RecurringSlotRule - Forbidden windows that repeat with a fixed period, expanded lazily over any query window.
+
+package service.availability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.OccupiedTimeSlot;
+
+public final class RecurringSlotRule implements SlotSource {
+
+    // Hours per day; time 0 is midnight at the start of day 0
+    public static final int DAY = 24;
+
+    // Hours per week; day 0 of the week is the day starting at time 0
+    public static final int WEEK = 7 * DAY;
+
+    // Longest period a rule (or a union of rules) may have, so one period stays cheap to hold
+    public static final int MAX_PERIOD = 366 * DAY;
+
+    // Length of one repetition
+    private final int period;
+
+    // Occupied windows of one repetition, merged and clipped to [0, period)
+    private final SlotSet pattern;
+
+    // Longest free stretch, counting the gap that wraps into the next repetition
+    private final long longestGap;
+
+    /**
+     * Private constructor; rules are created through the static factory methods and union.
+     * 
+     * @param period Length of one repetition
+     * @param pattern Occupied windows within [0, period)
+     */
+    private RecurringSlotRule(int period, SlotSet pattern) {
+        this.period = period;
+        this.pattern = pattern;
+        this.longestGap = longestGap(period, pattern);
+    }
+
+    /**
+     * Creates a rule from windows of one repetition. A window may run past the end of the period,
+     * in which case it wraps into the start of the next repetition.
+     * 
+     * @param period Length of one repetition
+     * @param windows Whole-hour windows as offsets from the start of a repetition, with 0 <= start < period
+     *                and start < end <= start + period
+     * @return A new rule
+     * @throws IllegalArgumentException if the period or a window is out of range, or a window has minute bounds
+     */
+    public static RecurringSlotRule of(int period, List<OccupiedTimeSlot> windows) {
+        if (period <= 0 || period > MAX_PERIOD) {
+            throw new IllegalArgumentException("Period must be between 1 and " + MAX_PERIOD);
+        }
+        List<OccupiedTimeSlot> clipped = new ArrayList<>(windows.size() + 1);
+        for (OccupiedTimeSlot window : windows) {
+            if (!window.isWholeHours()) {
+                // Rules repeat in hours; rounding a minute window would silently block more than asked
+                throw new IllegalArgumentException("Window " + window + " does not fall on whole hours");
+            }
+            int start = window.getStartTime();
+            int end = window.getEndTime();
+            if (start < 0 || start >= period || end - start > period) {
+                throw new IllegalArgumentException("Window " + start + "-" + end + " does not fit a period of " + period);
+            }
+            if (end > period) {
+                clipped.add(new OccupiedTimeSlot(start, period));
+                clipped.add(new OccupiedTimeSlot(0, end - period));
+            } else {
+                clipped.add(window);
+            }
+        }
+        return new RecurringSlotRule(period, SlotSet.of(clipped));
+    }
+
+    /**
+     * Creates a rule that blocks the same hours every day, e.g. maintenance from 2 to 4.
+     * An end hour before the start hour blocks across midnight.
+     * 
+     * @param startHour Hour of day at which the window starts (0-23)
+     * @param endHour Hour of day at which the window ends (1-24, or before startHour to wrap)
+     * @return A daily rule
+     * @throws IllegalArgumentException if the hours are out of range or equal
+     */
+    public static RecurringSlotRule daily(int startHour, int endHour) {
+        return of(DAY, List.of(dayWindow(0, startHour, endHour)));
+    }
+
+    /**
+     * Creates a rule that blocks the same hours on one day of every week.
+     * 
+     * @param day Day of the week (0-6)
+     * @param startHour Hour of day at which the window starts (0-23)
+     * @param endHour Hour of day at which the window ends (1-24, or before startHour to wrap)
+     * @return A weekly rule
+     * @throws IllegalArgumentException if the day or hours are out of range
+     */
+    public static RecurringSlotRule weekly(int day, int startHour, int endHour) {
+        return weekly(new int[] {day}, startHour, endHour);
+    }
+
+    /**
+     * Creates a rule that blocks the same hours on the first five days of every week, e.g. weekday peak hours.
+     * 
+     * @param startHour Hour of day at which the window starts (0-23)
+     * @param endHour Hour of day at which the window ends (1-24, or before startHour to wrap)
+     * @return A weekly rule
+     * @throws IllegalArgumentException if the hours are out of range
+     */
+    public static RecurringSlotRule weekdays(int startHour, int endHour) {
+        return weekly(new int[] {0, 1, 2, 3, 4}, startHour, endHour);
+    }
+
+    private static RecurringSlotRule weekly(int[] days, int startHour, int endHour) {
+        List<OccupiedTimeSlot> windows = new ArrayList<>(days.length);
+        for (int day : days) {
+            if (day < 0 || day >= 7) {
+                throw new IllegalArgumentException("Day of week must be between 0 and 6");
+            }
+            windows.add(dayWindow(day, startHour, endHour));
+        }
+        return of(WEEK, windows);
+    }
+
+    /**
+     * Gets a station's recurring windows as a rule, e.g. to write them to a file. Only rules have a
+     * period and pattern to store; other sources, such as a plain SlotSet, are rejected.
+     * 
+     * @param source Recurring windows of a station, or null
+     * @return The source as a rule, or null if the source is null
+     * @throws IllegalArgumentException if the source is not a RecurringSlotRule
+     */
+    public static RecurringSlotRule from(SlotSource source) {
+        if (source == null || source instanceof RecurringSlotRule) {
+            return (RecurringSlotRule) source;
+        }
+        throw new IllegalArgumentException("Recurring windows cannot be stored: " + source.getClass().getSimpleName());
+    }
+
+    /**
+     * Converts hours of a day into a window offset from the start of the period.
+     */
+    private static OccupiedTimeSlot dayWindow(int day, int startHour, int endHour) {
+        if (startHour < 0 || startHour >= DAY || endHour < 0 || endHour > DAY || startHour == endHour) {
+            throw new IllegalArgumentException("Invalid hours: " + startHour + "-" + endHour);
+        }
+        int end = endHour > startHour ? endHour : endHour + DAY;
+        return new OccupiedTimeSlot(day * DAY + startHour, day * DAY + end);
+    }
+
+    /**
+     * Combines this rule with another into one rule over the least common multiple of their periods.
+     * 
+     * @param other Rule to combine with
+     * @return A rule blocking every window of either rule
+     * @throws IllegalArgumentException if the combined period would exceed MAX_PERIOD
+     */
+    public RecurringSlotRule union(RecurringSlotRule other) {
+        long combined = (long) period / gcd(period, other.period) * other.period;
+        if (combined > MAX_PERIOD) {
+            throw new IllegalArgumentException("Combined period " + combined + " exceeds " + MAX_PERIOD);
+        }
+        int length = (int) combined;
+        return new RecurringSlotRule(length, tile(length).union(other.tile(length)));
+    }
+
+    /**
+     * Repeats the pattern until it fills [0, length); length is a multiple of the period.
+     */
+    private SlotSet tile(int length) {
+        List<OccupiedTimeSlot> windows = new ArrayList<>(pattern.size() * (length / period));
+        for (int offset = 0; offset < length; offset += period) {
+            for (int i = 0; i < pattern.size(); i++) {
+                windows.add(new OccupiedTimeSlot(offset + pattern.getStart(i), offset + pattern.getEnd(i)));
+            }
+        }
+        return SlotSet.of(windows);
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static long longestGap(int period, SlotSet pattern) {
+        if (pattern.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        long longest = (long) period - pattern.getEnd(pattern.size() - 1) + pattern.getStart(0);
+        for (int i = 1; i < pattern.size(); i++) {
+            longest = Math.max(longest, pattern.getStart(i) - pattern.getEnd(i - 1));
+        }
+        return longest;
+    }
+
+    @Override
+    public int nextBusy(int time) {
+        if (pattern.isEmpty()) {
+            return Integer.MAX_VALUE;
+        }
+        long base = (long) Math.floorDiv(time, period) * period;
+        int busy = pattern.nextBusy((int) (time - base));
+        long result = busy == Integer.MAX_VALUE ? base + period + pattern.getStart(0) : base + busy;
+        return (int) Math.min(result, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int nextFree(int time) {
+        if (longestGap == 0) {
+            return Integer.MAX_VALUE;
+        }
+        long base = (long) Math.floorDiv(time, period) * period;
+        int free = pattern.nextFree((int) (time - base));
+        if (free == period) {
+            // Occupied up to the end of the repetition; continue into the next one
+            base += period;
+            free = pattern.nextFree(0);
+        }
+        return (int) Math.min(base + free, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean admits(int duration) {
+        return longestGap >= duration;
+    }
+
+    /**
+     * Expands the occurrences overlapping [begin, end), clipped to the window.
+     * Only the requested window is materialized.
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return The occupied time inside the window
+     * @throws IllegalArgumentException if begin is greater than or equal to end
+     */
+    public SlotSet occurrences(int begin, int end) {
+        if (begin >= end) {
+            throw new IllegalArgumentException("Begin must be less than end");
+        }
+        List<OccupiedTimeSlot> busy = new ArrayList<>();
+        int cursor = nextBusy(begin);
+        while (cursor < end) {
+            int free = Math.min(nextFree(cursor), end);
+            busy.add(new OccupiedTimeSlot(cursor, free));
+            cursor = free == end ? end : nextBusy(free);
+        }
+        return SlotSet.of(busy);
+    }
+
+    /**
+     * Gets the length of one repetition.
+     * 
+     * @return Period in hours
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the occupied windows of one repetition.
+     * 
+     * @return Windows within [0, period)
+     */
+    public SlotSet getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Two rules are equal if they have the same period and pattern.
+     * 
+     * @param other Object to compare with
+     * @return true if the other object is an identical rule
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RecurringSlotRule)) {
+            return false;
+        }
+        RecurringSlotRule rule = (RecurringSlotRule) other;
+        return period == rule.period && pattern.equals(rule.pattern);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * period + pattern.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Every " + period + "h: " + pattern;
+    }
+}
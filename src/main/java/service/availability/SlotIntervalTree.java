@@ -0,0 +1,140 @@
+// SlotIntervalTree - Augmented interval tree over occupied time slots for logarithmic overlap queries.
+
+package service.availability;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import model.OccupiedTimeSlot;
+
+public final class SlotIntervalTree {
+
+    // Slots sorted by start time; the array is laid out as an implicit balanced binary search tree
+    private final OccupiedTimeSlot[] slots;
+
+    // Start times aligned with slots, kept as primitives for cache-friendly traversal
+    private final int[] starts;
+
+    // End times aligned with slots
+    private final int[] ends;
+
+    // For the subtree rooted at index i, the largest end time among all of its slots
+    private final int[] maxEnds;
+
+    /**
+     * Builds an interval tree over the given occupied time slots.
+     * The slots are kept as-is (no merging), so conflict queries report the original reservations.
+     * 
+     * @param timeSlots Occupied time slots of a station (may be null or empty)
+     */
+    public SlotIntervalTree(List<OccupiedTimeSlot> timeSlots) {
+        this.slots = timeSlots == null ? new OccupiedTimeSlot[0] : timeSlots.toArray(new OccupiedTimeSlot[0]);
+        Arrays.sort(slots, Comparator.comparingInt(OccupiedTimeSlot::getStartTime)
+                .thenComparingInt(OccupiedTimeSlot::getEndTime));
+        this.starts = new int[slots.length];
+        this.ends = new int[slots.length];
+        this.maxEnds = new int[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            starts[i] = slots[i].getStartTime();
+            ends[i] = slots[i].getEndTime();
+        }
+        buildMaxEnds(0, slots.length);
+    }
+
+    /**
+     * Fills maxEnds for the subtree covering [low, high) and returns its maximum end.
+     */
+    private int buildMaxEnds(int low, int high) {
+        if (low >= high) {
+            return Integer.MIN_VALUE;
+        }
+        int mid = (low + high) >>> 1;
+        int max = Math.max(ends[mid], Math.max(buildMaxEnds(low, mid), buildMaxEnds(mid + 1, high)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    /**
+     * Checks whether any slot overlaps the half-open window [begin, end) in O(log n).
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return true if at least one slot conflicts with the window
+     * @throws IllegalArgumentException if begin is greater than or equal to end
+     */
+    public boolean conflicts(int begin, int end) {
+        checkWindow(begin, end);
+        return anyOverlap(0, slots.length, begin, end);
+    }
+
+    /**
+     * Lists every slot overlapping the half-open window [begin, end) in O(log n + k).
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return Conflicting slots ordered by start time
+     * @throws IllegalArgumentException if begin is greater than or equal to end
+     */
+    public List<OccupiedTimeSlot> getConflicts(int begin, int end) {
+        checkWindow(begin, end);
+        List<OccupiedTimeSlot> conflicts = new ArrayList<>();
+        collectOverlaps(0, slots.length, begin, end, conflicts);
+        return conflicts;
+    }
+
+    /**
+     * Gets the number of slots stored in the tree.
+     * 
+     * @return Number of slots
+     */
+    public int size() {
+        return slots.length;
+    }
+
+    private boolean anyOverlap(int low, int high, int begin, int end) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnds[mid] <= begin) {
+                return false;
+            }
+            if (starts[mid] < end && ends[mid] > begin) {
+                return true;
+            }
+            if (starts[mid] >= end) {
+                // Everything to the right starts at or after end, so only the left subtree can conflict
+                high = mid;
+            } else if (low < mid && maxEnds[(low + mid) >>> 1] > begin) {
+                // Every slot on the left starts before end, so one ending after begin is a conflict
+                return true;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return false;
+    }
+
+    private void collectOverlaps(int low, int high, int begin, int end, List<OccupiedTimeSlot> out) {
+        if (low >= high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        if (maxEnds[mid] <= begin) {
+            return;
+        }
+        collectOverlaps(low, mid, begin, end, out);
+        if (starts[mid] < end) {
+            if (ends[mid] > begin) {
+                out.add(slots[mid]);
+            }
+            collectOverlaps(mid + 1, high, begin, end, out);
+        }
+    }
+
+    private static void checkWindow(int begin, int end) {
+        if (begin >= end) {
+            throw new IllegalArgumentException("Begin must be less than end");
+        }
+    }
+}
@@ -0,0 +1,450 @@
+// SlotSet - Immutable set of occupied hours, stored as sorted, merged slots packed into longs.
+
+package service.availability;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+import model.OccupiedTimeSlot;
+
+/**
+ * Like every {@link SlotSource}, a set works in whole hours. {@link #of(Collection)} rejects slots with
+ * minute bounds rather than rounding them; {@link #covering(Collection)} is the explicit hour view that
+ * widens such slots to every hour they touch, which is exact for hour-based free and conflict queries.
+ */
+public final class SlotSet implements SlotSource {
+
+    // The set without any occupied time
+    public static final SlotSet EMPTY = new SlotSet(new long[0]);
+
+    // Disjoint, non-touching slots packed as (start << 32 | end), in ascending start order
+    private final long[] packed;
+
+    // Read-only list view handed to stations, created on first use
+    private volatile List<OccupiedTimeSlot> slots;
+
+    /**
+     * Private constructor; instances are created through the static factory methods and the set operations.
+     * 
+     * @param packed Normalized packed slots, owned by the new set
+     */
+    private SlotSet(long[] packed) {
+        this.packed = packed;
+    }
+
+    /**
+     * Builds a set from arbitrary whole-hour slots. The slots are sorted and overlapping or adjacent
+     * slots are merged once; every later operation works on the normalized form.
+     * A list obtained from {@link #asList()} is recognized and returns its set without copying.
+     * 
+     * @param slots Occupied time slots (may be null, unsorted or overlapping)
+     * @return The normalized set
+     * @throws IllegalArgumentException if a slot does not start and end on whole hours
+     */
+    public static SlotSet of(Collection<OccupiedTimeSlot> slots) {
+        return of(slots, false);
+    }
+
+    /**
+     * Builds the set of hours touched by arbitrary slots, widening a slot with minute bounds to the
+     * hours containing its start and end, e.g. to answer hour queries for a station with minute reservations.
+     * 
+     * @param slots Occupied time slots (may be null, unsorted or overlapping)
+     * @return The normalized set of every hour any slot overlaps
+     */
+    public static SlotSet covering(Collection<OccupiedTimeSlot> slots) {
+        return of(slots, true);
+    }
+
+    private static SlotSet of(Collection<OccupiedTimeSlot> slots, boolean widen) {
+        SlotSet owner = ownerOf(slots);
+        if (owner != null) {
+            return owner;
+        }
+        if (slots == null || slots.isEmpty()) {
+            return EMPTY;
+        }
+        long[] packed = new long[slots.size()];
+        int i = 0;
+        for (OccupiedTimeSlot slot : slots) {
+            if (!widen && !slot.isWholeHours()) {
+                throw new IllegalArgumentException("Slot " + slot + " does not fall on whole hours");
+            }
+            packed[i++] = pack(slot.getStartTime(), slot.getEndTime());
+        }
+        return normalize(packed);
+    }
+
+    /**
+     * Builds a set holding the single slot [start, end).
+     * 
+     * @param start Inclusive start time
+     * @param end Exclusive end time
+     * @return A set with one slot
+     * @throws IllegalArgumentException if start is greater than or equal to end
+     */
+    public static SlotSet of(int start, int end) {
+        if (start >= end) {
+            throw new IllegalArgumentException("Start time must be less than end time");
+        }
+        return new SlotSet(new long[] {pack(start, end)});
+    }
+
+    /**
+     * Sorts packed slots and merges overlapping or touching ones in place.
+     * 
+     * @param packed Packed slots; reordered and reused for the result
+     * @return The normalized set
+     */
+    private static SlotSet normalize(long[] packed) {
+        Arrays.sort(packed);
+        int size = 0;
+        for (long slot : packed) {
+            int start = start(slot);
+            if (size > 0 && start <= end(packed[size - 1])) {
+                int end = Math.max(end(packed[size - 1]), end(slot));
+                packed[size - 1] = pack(start(packed[size - 1]), end);
+            } else {
+                packed[size++] = slot;
+            }
+        }
+        return new SlotSet(size == packed.length ? packed : Arrays.copyOf(packed, size));
+    }
+
+    /**
+     * Packs a slot into a long that sorts by start time.
+     */
+    static long pack(int start, int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
+
+    private static int start(long slot) {
+        return (int) (slot >> 32);
+    }
+
+    private static int end(long slot) {
+        return (int) slot;
+    }
+
+    /**
+     * Computes the union with another set in one linear merge.
+     * 
+     * @param other Set to merge with
+     * @return Time occupied in either set
+     */
+    public SlotSet union(SlotSet other) {
+        if (other.packed.length == 0) {
+            return this;
+        }
+        if (packed.length == 0) {
+            return other;
+        }
+        long[] a = packed;
+        long[] b = other.packed;
+        long[] result = new long[a.length + b.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            long next = j == b.length || (i < a.length && a[i] <= b[j]) ? a[i++] : b[j++];
+            if (size > 0 && start(next) <= end(result[size - 1])) {
+                if (end(next) > end(result[size - 1])) {
+                    result[size - 1] = pack(start(result[size - 1]), end(next));
+                }
+            } else {
+                result[size++] = next;
+            }
+        }
+        return new SlotSet(Arrays.copyOf(result, size));
+    }
+
+    /**
+     * Computes the intersection with another set in one linear merge.
+     * 
+     * @param other Set to intersect with
+     * @return Time occupied in both sets
+     */
+    public SlotSet intersect(SlotSet other) {
+        long[] a = packed;
+        long[] b = other.packed;
+        long[] result = new long[a.length + b.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            int start = Math.max(start(a[i]), start(b[j]));
+            int end = Math.min(end(a[i]), end(b[j]));
+            if (start < end) {
+                result[size++] = pack(start, end);
+            }
+            // Drop whichever slot ends first; the other may still overlap the next one
+            if (end(a[i]) < end(b[j])) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return size == 0 ? EMPTY : new SlotSet(Arrays.copyOf(result, size));
+    }
+
+    /**
+     * Removes the time occupied in another set, in one linear merge.
+     * 
+     * @param other Set to subtract
+     * @return Time occupied in this set but not in the other
+     */
+    public SlotSet subtract(SlotSet other) {
+        if (packed.length == 0 || other.packed.length == 0) {
+            return this;
+        }
+        long[] a = packed;
+        long[] b = other.packed;
+        long[] result = new long[a.length + b.length];
+        int size = 0;
+        int j = 0;
+        for (long slot : a) {
+            int cursor = start(slot);
+            int end = end(slot);
+            while (j < b.length && end(b[j]) <= cursor) {
+                j++;
+            }
+            // Slots of the other set that end inside this slot cannot reach the next one
+            int k = j;
+            while (k < b.length && start(b[k]) < end) {
+                if (start(b[k]) > cursor) {
+                    result[size++] = pack(cursor, start(b[k]));
+                }
+                cursor = Math.max(cursor, end(b[k]));
+                if (end(b[k]) > end) {
+                    break;
+                }
+                k++;
+            }
+            j = k;
+            if (cursor < end) {
+                result[size++] = pack(cursor, end);
+            }
+        }
+        return size == 0 ? EMPTY : new SlotSet(Arrays.copyOf(result, size));
+    }
+
+    /**
+     * Computes the free time inside the window [begin, end).
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return Gaps between the occupied slots, clipped to the window
+     * @throws IllegalArgumentException if begin is greater than or equal to end
+     */
+    public SlotSet complement(int begin, int end) {
+        return of(begin, end).subtract(this);
+    }
+
+    /**
+     * Checks whether a time point is occupied, in O(log n).
+     * 
+     * @param time Time to check
+     * @return true if a slot covers the time
+     */
+    public boolean contains(int time) {
+        int index = firstEndingAfter(time);
+        return index < packed.length && start(packed[index]) <= time;
+    }
+
+    @Override
+    public int nextBusy(int time) {
+        int index = firstEndingAfter(time);
+        return index == packed.length ? Integer.MAX_VALUE : Math.max(start(packed[index]), time);
+    }
+
+    @Override
+    public int nextFree(int time) {
+        int index = firstEndingAfter(time);
+        return index < packed.length && start(packed[index]) <= time ? end(packed[index]) : time;
+    }
+
+    /**
+     * A finite set always leaves time free after its last slot.
+     * 
+     * @param duration Required length of a free stretch
+     * @return Always true
+     */
+    @Override
+    public boolean admits(int duration) {
+        return true;
+    }
+
+    /**
+     * Checks whether any slot overlaps the window [begin, end), in O(log n).
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return true if the window is not entirely free
+     */
+    @Override
+    public boolean overlaps(int begin, int end) {
+        int index = firstEndingAfter(begin);
+        return index < packed.length && start(packed[index]) < end && begin < end;
+    }
+
+    /**
+     * Finds the first slot whose end lies strictly after the given time.
+     */
+    private int firstEndingAfter(int time) {
+        int low = 0;
+        int high = packed.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (end(packed[mid]) <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the number of merged slots.
+     * 
+     * @return Number of disjoint slots
+     */
+    public int size() {
+        return packed.length;
+    }
+
+    /**
+     * Checks whether the set is empty.
+     * 
+     * @return true if no time is occupied
+     */
+    public boolean isEmpty() {
+        return packed.length == 0;
+    }
+
+    /**
+     * Gets the start time of the given slot.
+     * 
+     * @param index Slot index (0-based, ordered by time)
+     * @return Start time of the slot
+     */
+    public int getStart(int index) {
+        return start(packed[index]);
+    }
+
+    /**
+     * Gets the end time of the given slot.
+     * 
+     * @param index Slot index (0-based, ordered by time)
+     * @return End time of the slot
+     */
+    public int getEnd(int index) {
+        return end(packed[index]);
+    }
+
+    /**
+     * Sums the length of all slots.
+     * 
+     * @return Total occupied time
+     */
+    public long getTotalLength() {
+        long total = 0;
+        for (long slot : packed) {
+            total += (long) end(slot) - start(slot);
+        }
+        return total;
+    }
+
+    /**
+     * Gets a read-only list view of the slots, usable wherever a station expects its forbidden slot list.
+     * Slot objects are created on access as whole-hour slots, so callers must not rely on their identity.
+     * 
+     * @return The merged slots as a list ordered by time
+     */
+    public List<OccupiedTimeSlot> asList() {
+        List<OccupiedTimeSlot> view = slots;
+        if (view == null) {
+            view = new SlotList(this);
+            slots = view;
+        }
+        return view;
+    }
+
+    /**
+     * Checks whether a list is a view obtained from {@link #asList()}. Such a list is already normalized
+     * and is recognized by stations and engines, so it should be passed on as it is rather than copied.
+     * 
+     * @param slots Any slot list (may be null)
+     * @return true if the list views a SlotSet
+     */
+    public static boolean isView(Collection<OccupiedTimeSlot> slots) {
+        return slots instanceof SlotList;
+    }
+
+    /**
+     * Gets the set behind a list obtained from {@link #asList()}.
+     * 
+     * @param slots Any slot list (may be null)
+     * @return The set the list views, or null if it is not such a view
+     */
+    static SlotSet ownerOf(Collection<OccupiedTimeSlot> slots) {
+        return slots instanceof SlotList ? ((SlotList) slots).owner() : null;
+    }
+
+    /**
+     * Two sets are equal if they occupy the same time.
+     * 
+     * @param other Object to compare with
+     * @return true if the other object is a set with the same merged slots
+     */
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof SlotSet && Arrays.equals(packed, ((SlotSet) other).packed);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(packed);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(8 + 12 * packed.length).append('[');
+        for (int i = 0; i < packed.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append('(').append(start(packed[i])).append(" - ").append(end(packed[i])).append(')');
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * List view decoding the packed slots on access.
+     */
+    private static final class SlotList extends AbstractList<OccupiedTimeSlot> implements RandomAccess {
+        private final SlotSet owner; // Set whose slots are listed
+
+        private SlotList(SlotSet owner) {
+            this.owner = owner;
+        }
+
+        private SlotSet owner() {
+            return owner;
+        }
+
+        @Override
+        public OccupiedTimeSlot get(int index) {
+            long slot = owner.packed[index];
+            return new OccupiedTimeSlot(start(slot), end(slot));
+        }
+
+        @Override
+        public int size() {
+            return owner.packed.length;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+// SlotSource - Occupied time that is queried by stepping through it rather than by listing its slots.
+
+package service.availability;
+
+import model.EpochMinutes;
+
+public interface SlotSource {
+
+    /**
+     * Finds the earliest time at or after the given time that is occupied.
+     * 
+     * @param time Time to start searching from
+     * @return The time itself if it is occupied, the start of the next occupied slot,
+     *         or Integer.MAX_VALUE if nothing is occupied later
+     */
+    int nextBusy(int time);
+
+    /**
+     * Finds the earliest time at or after the given time that is free.
+     * 
+     * @param time Time to start searching from
+     * @return The time itself if it is free, the end of the occupied stretch covering it,
+     *         or Integer.MAX_VALUE if the source stays occupied
+     */
+    int nextFree(int time);
+
+    /**
+     * Checks whether any occupied time overlaps the window [begin, end).
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return true if the window is not entirely free
+     */
+    default boolean overlaps(int begin, int end) {
+        return begin < end && nextBusy(begin) < end;
+    }
+
+    /**
+     * Minute-resolution form of {@link #nextBusy(int)}; a minute is occupied if its hour is.
+     * 
+     * @param minute Minute to start searching from
+     * @return The minute itself if it is occupied, the first occupied minute after it,
+     *         or Long.MAX_VALUE if nothing is occupied later
+     */
+    default long nextBusyMinute(long minute) {
+        int hour = EpochMinutes.floorHour(minute);
+        int busy = nextBusy(hour);
+        if (busy == Integer.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return busy == hour ? minute : EpochMinutes.fromHours(busy);
+    }
+
+    /**
+     * Minute-resolution form of {@link #nextFree(int)}; a minute is free if its hour is.
+     * 
+     * @param minute Minute to start searching from
+     * @return The minute itself if it is free, the first free minute after it,
+     *         or Long.MAX_VALUE if the source stays occupied
+     */
+    default long nextFreeMinute(long minute) {
+        int hour = EpochMinutes.floorHour(minute);
+        int free = nextFree(hour);
+        if (free == Integer.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return free == hour ? minute : EpochMinutes.fromHours(free);
+    }
+
+    /**
+     * Checks whether the source could ever leave a free stretch of the given length.
+     * Searches for such a stretch are only bounded when this holds.
+     * 
+     * @param duration Required length of a free stretch
+     * @return true if a free stretch of that length exists somewhere
+     */
+    boolean admits(int duration);
+}
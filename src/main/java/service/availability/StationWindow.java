@@ -0,0 +1,55 @@
+// StationWindow - Pairs a charging station with a free time window found for it.
+
+package service.availability;
+
+import model.ChargingStation;
+import model.Interval;
+
+public final class StationWindow {
+
+    // Station on which the window is free
+    private final ChargingStation station;
+
+    // Free window on the station
+    private final Interval window;
+
+    /**
+     * Constructor to create a station window.
+     * 
+     * @param station Station on which the window is free
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     */
+    public StationWindow(ChargingStation station, int begin, int end) {
+        this.station = station;
+        this.window = new Interval(begin, end);
+    }
+
+    /**
+     * Gets the station on which the window is free.
+     * 
+     * @return The charging station
+     */
+    public ChargingStation getStation() {
+        return station;
+    }
+
+    /**
+     * Gets the free window.
+     * 
+     * @return The window as an interval
+     */
+    public Interval getWindow() {
+        return window;
+    }
+
+    /**
+     * Provides a string representation of the station window.
+     * 
+     * @return Formatted string with the station ID and the window
+     */
+    @Override
+    public String toString() {
+        return "Station " + station.getStationId() + " " + window;
+    }
+}
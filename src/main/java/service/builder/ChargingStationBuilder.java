@@ -8,9 +8,8 @@ import model.ChargingStation;
 import model.FastChargingStation;
 import model.OccupiedTimeSlot;
 import model.SlowChargingStation;
+import service.factory.StationFlyweights;
 import service.strategy.ChargingStrategy;
-import service.strategy.CostEffectiveChargingStrategy;
-import service.strategy.FastChargingStrategy;
 
 public class ChargingStationBuilder {
     private int stationId;
@@ -53,30 +52,30 @@ public class ChargingStationBuilder {
     }
 
     /**
-     * Sets the type of charging station and assigns the appropriate strategy.
+     * Sets the type of charging station and assigns the appropriate shared strategy.
      * 
      * @param type The type of charging station (e.g., "Fast" or "Slow").
      * @return The current instance of ChargingStationBuilder.
      */
     public ChargingStationBuilder setType(String type) {
         this.type = type;
-        this.strategy = type.equalsIgnoreCase("Fast") 
-                        ? new FastChargingStrategy() 
-                        : new CostEffectiveChargingStrategy();
+        this.strategy = StationFlyweights.getInstance().strategyFor(type);
         return this;
     }
 
     /**
      * Builds and returns the ChargingStation object based on provided parameters.
+     * The forbidden time slots are replaced by their shared, immutable flyweight list.
      * 
      * @return A new instance of FastChargingStation or SlowChargingStation.
      * @throws IllegalStateException if an invalid type is provided.
      */
     public ChargingStation build() {
+        List<OccupiedTimeSlot> slots = StationFlyweights.getInstance().internSlots(forbiddenTimeSlots);
         if ("Fast".equalsIgnoreCase(type)) {
-            return new FastChargingStation(stationId, capacity, forbiddenTimeSlots, strategy);
+            return new FastChargingStation(stationId, capacity, slots, strategy);
         } else if ("Slow".equalsIgnoreCase(type)) {
-            return new SlowChargingStation(stationId, capacity, forbiddenTimeSlots, strategy);
+            return new SlowChargingStation(stationId, capacity, slots, strategy);
         } else {
             throw new IllegalStateException("Invalid charging station type.");
         }
@@ -0,0 +1,224 @@
+// EfficiencyCache - Bounded LRU cache of strategy efficiency results with hit/miss statistics.
+
+package service.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import model.ChargingStation;
+import service.strategy.ChargingStrategy;
+
+/**
+ * Memoizes {@link ChargingStrategy#calculateEfficiency(ChargingStation, double)} per
+ * (station ID, capacity, strategy instance, strategy generation, charging hours). Strategies are matched
+ * by identity and every {@link ChargingStation#setStrategy(ChargingStrategy)} starts a new generation,
+ * so results of a replaced strategy are never returned again and simply age out; nothing has to be
+ * scanned on a strategy change. Hours are matched exactly rather than bucketed, so a cached value is
+ * always the value the strategy would return.
+ * 
+ * Entries are spread over lock stripes by key hash, each an LRU map with its share of the capacity,
+ * so lookups on different stripes never contend. Eviction is least recently used within a stripe.
+ */
+public class EfficiencyCache {
+
+    // Most stripes a cache is split into
+    private static final int MAX_STRIPES = 16;
+
+    // Fewest entries a stripe should hold, so small caches keep exact LRU order in a single stripe
+    private static final int MIN_STRIPE_ENTRIES = 64;
+
+    // Maximum number of cached results across all stripes
+    private final int maxEntries;
+
+    // Cached results per stripe in access order, each guarded by its own monitor
+    private final LinkedHashMap<Key, Double>[] stripes;
+
+    private final LongAdder hits = new LongAdder();      // Lookups answered from the cache
+    private final LongAdder misses = new LongAdder();    // Lookups that had to call the strategy
+    private final LongAdder evictions = new LongAdder(); // Entries dropped to stay within maxEntries
+
+    /**
+     * Constructor to create a cache holding at most the given number of results.
+     * 
+     * @param maxEntries Maximum number of cached results
+     * @throws IllegalArgumentException if maxEntries is not positive
+     */
+    public EfficiencyCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxEntries = maxEntries;
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, maxEntries / MIN_STRIPE_ENTRIES)));
+        @SuppressWarnings("unchecked") // Arrays of a generic type can only be created with wildcards
+        LinkedHashMap<Key, Double>[] created = (LinkedHashMap<Key, Double>[]) new LinkedHashMap<?, ?>[count];
+        this.stripes = created;
+        for (int i = 0; i < count; i++) {
+            int limit = maxEntries / count + (i < maxEntries % count ? 1 : 0);
+            stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Double> eldest) {
+                    if (size() > limit) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    /**
+     * Returns the station's efficiency under its current strategy, calculating and caching it on a miss.
+     * The strategy runs outside the stripe lock, so concurrent misses for the same key may both calculate it.
+     * 
+     * @param station The charging station
+     * @param chargingHours The number of hours the station is utilized for charging
+     * @return The efficiency as calculated by the station's strategy
+     */
+    public double getEfficiency(ChargingStation station, double chargingHours) {
+        ChargingStrategy strategy = station.getStrategy();
+        Key key = new Key(station.getStationId(), station.getCapacity(), strategy,
+                station.getStrategyGeneration(), chargingHours);
+        LinkedHashMap<Key, Double> stripe = stripeFor(key);
+        synchronized (stripe) {
+            Double cached = stripe.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        double efficiency = strategy.calculateEfficiency(station, chargingHours);
+        synchronized (stripe) {
+            stripe.put(key, efficiency);
+        }
+        return efficiency;
+    }
+
+    private LinkedHashMap<Key, Double> stripeFor(Key key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ hash >>> 16) & (stripes.length - 1)];
+    }
+
+    /**
+     * Drops all cached results; statistics are kept.
+     */
+    public void clear() {
+        for (LinkedHashMap<Key, Double> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cached results.
+     * 
+     * @return Current cache size
+     */
+    public int size() {
+        int size = 0;
+        for (LinkedHashMap<Key, Double> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of cached results.
+     * 
+     * @return Cache capacity
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     * 
+     * @return Hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to call the strategy.
+     * 
+     * @return Miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of results evicted to stay within the size bound.
+     * 
+     * @return Eviction count
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the share of lookups answered from the cache.
+     * 
+     * @return Hit rate between 0 and 1, or 0 before the first lookup
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Provides a summary of the cache statistics.
+     * 
+     * @return Formatted string with size, hits, misses and evictions
+     */
+    @Override
+    public String toString() {
+        return "EfficiencyCache{size=" + size() + "/" + maxEntries + ", hits=" + hits.sum()
+                + ", misses=" + misses.sum() + ", evictions=" + evictions.sum() + "}";
+    }
+
+    /**
+     * Cache key; the strategy is compared by identity.
+     */
+    private static final class Key {
+        private final int stationId;
+        private final int capacity;
+        private final ChargingStrategy strategy;
+        private final int generation;
+        private final long hoursBits;
+
+        private Key(int stationId, int capacity, ChargingStrategy strategy, int generation, double chargingHours) {
+            this.stationId = stationId;
+            this.capacity = capacity;
+            this.strategy = strategy;
+            this.generation = generation;
+            this.hoursBits = Double.doubleToLongBits(chargingHours);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return stationId == key.stationId && capacity == key.capacity && strategy == key.strategy
+                    && generation == key.generation && hoursBits == key.hoursBits;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 31 * stationId + capacity;
+            hash = 31 * hash + System.identityHashCode(strategy);
+            hash = 31 * hash + generation;
+            return 31 * hash + Long.hashCode(hoursBits);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+// FlatDecoratorChain - A renewable energy decorator stack compiled into a single layer.
+
+package service.decorator;
+
+import model.ChargingStation;
+
+/**
+ * Replaces a stack of {@link RenewableEnergyDecorator}s with one layer over the innermost station.
+ * Each decorator adds a constant bonus, so the stack's efficiency equals the innermost station's
+ * efficiency plus the summed bonuses, computed here with a single delegation instead of one call per layer.
+ * Strategy, slots and indexes are the innermost station's own, shared rather than copied.
+ */
+public class FlatDecoratorChain extends StationDecorator {
+
+    // Number of renewable energy layers folded into this chain
+    private final int layers;
+
+    // Summed efficiency bonus of all folded layers
+    private final int efficiencyBonus;
+
+    private FlatDecoratorChain(ChargingStation base, int layers) {
+        super(base);
+        this.layers = layers;
+        this.efficiencyBonus = layers * RenewableEnergyDecorator.EFFICIENCY_BONUS;
+    }
+
+    /**
+     * Compiles a station, decorated or not, into a flat chain.
+     * Renewable energy layers and already flattened chains are folded; any other station is the base.
+     * 
+     * @param station The station or decorator stack to compile
+     * @return A flat chain with the same efficiency and text as the stack
+     */
+    public static FlatDecoratorChain compile(ChargingStation station) {
+        int layers = 0;
+        ChargingStation base = station;
+        while (true) {
+            if (base instanceof RenewableEnergyDecorator) {
+                layers++;
+            } else if (base instanceof FlatDecoratorChain) {
+                layers += ((FlatDecoratorChain) base).layers;
+            } else {
+                break;
+            }
+            base = ((StationDecorator) base).getDecoratedStation();
+        }
+        return new FlatDecoratorChain(base, layers);
+    }
+
+    /**
+     * Calculates the efficiency of the base station plus the bonuses of all folded layers.
+     * 
+     * @param chargingHours Number of hours the station is in use.
+     * @return The same efficiency as the original decorator stack
+     */
+    @Override
+    public int getChargingEfficiency(double chargingHours) {
+        return decoratedStation.getChargingEfficiency(chargingHours) + efficiencyBonus;
+    }
+
+    /**
+     * Rates a session at [start, end) on the base station and adds the folded bonuses.
+     * 
+     * @param start Inclusive start of the session
+     * @param end Exclusive end of the session
+     * @return The same rating as the original decorator stack for that window
+     */
+    @Override
+    public double getSessionEfficiency(double start, double end) {
+        return decoratedStation.getSessionEfficiency(start, end) + efficiencyBonus;
+    }
+
+    /**
+     * Gets the number of renewable energy layers folded into this chain.
+     * 
+     * @return Layer count
+     */
+    public int getLayers() {
+        return layers;
+    }
+
+    /**
+     * Gets the summed efficiency bonus of all folded layers.
+     * 
+     * @return Efficiency bonus
+     */
+    public int getEfficiencyBonus() {
+        return efficiencyBonus;
+    }
+
+    /**
+     * Appends the base station's text followed by one renewable energy label per folded layer.
+     * 
+     * @param builder Builder to append to
+     * @return The same builder
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder builder) {
+        decoratedStation.appendTo(builder);
+        for (int i = 0; i < layers; i++) {
+            builder.append(" + Renewable Energy");
+        }
+        return builder;
+    }
+}
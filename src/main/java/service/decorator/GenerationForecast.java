@@ -0,0 +1,165 @@
+// GenerationForecast - Per-site renewable generation time series with cumulative sums for window queries.
+
+package service.decorator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class GenerationForecast {
+
+    // Time unit of the first forecast value
+    private final int origin;
+
+    // cumulative[i] is the energy generated in [origin, origin + i), in kWh
+    private final double[] cumulative;
+
+    /**
+     * Constructor to create a forecast from consecutive per-hour generation values.
+     * Generation outside the forecast range is taken as zero.
+     * 
+     * @param origin Time unit of the first value
+     * @param generationKw Forecast generation in kW for each consecutive time unit
+     * @throws IllegalArgumentException if a value is negative or not finite
+     */
+    public GenerationForecast(int origin, double[] generationKw) {
+        this.origin = origin;
+        this.cumulative = new double[generationKw.length + 1];
+        for (int i = 0; i < generationKw.length; i++) {
+            if (!(generationKw[i] >= 0) || Double.isInfinite(generationKw[i])) {
+                throw new IllegalArgumentException("Generation must be finite and non-negative");
+            }
+            cumulative[i + 1] = cumulative[i] + generationKw[i];
+        }
+    }
+
+    /**
+     * Loads a forecast from a text file with one {@code time,kW} pair per line, e.g. {@code 12,84.5}.
+     * Times must be consecutive; blank lines and lines starting with '#' are ignored.
+     * 
+     * @param path Forecast file
+     * @return The loaded forecast
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line is malformed or times are not consecutive
+     */
+    public static GenerationForecast load(Path path) throws IOException {
+        double[] values = new double[64];
+        int count = 0;
+        int origin = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                int time;
+                double kw;
+                try {
+                    time = Integer.parseInt(line.substring(0, Math.max(comma, 0)).trim());
+                    kw = Double.parseDouble(line.substring(comma + 1).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Malformed forecast line " + lineNumber + ": " + line, e);
+                }
+                if (count == 0) {
+                    origin = time;
+                } else if (time != origin + count) {
+                    throw new IllegalArgumentException("Forecast times must be consecutive at line " + lineNumber);
+                }
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = kw;
+            }
+        }
+        return new GenerationForecast(origin, Arrays.copyOf(values, count));
+    }
+
+    /**
+     * Gets the energy generated over [start, end) in O(1); partial time units are prorated.
+     * 
+     * @param start Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return Generated energy in kWh
+     */
+    public double energy(double start, double end) {
+        return end <= start ? 0.0 : cumulativeAt(end) - cumulativeAt(start);
+    }
+
+    /**
+     * Gets the share of a station's draw over [start, end) that the forecast generation can cover, in O(1).
+     * 
+     * @param start Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @param capacityKw Power drawn by the station in kW
+     * @return Renewable share between 0 and 1
+     */
+    public double renewableShare(double start, double end, int capacityKw) {
+        if (end <= start || capacityKw <= 0) {
+            return 0.0;
+        }
+        return Math.min(1.0, energy(start, end) / (capacityKw * (end - start)));
+    }
+
+    /**
+     * Finds the window of the given duration inside [from, to) with the most forecast generation,
+     * pricing each candidate from the cumulative sums in O(1).
+     * 
+     * @param from Inclusive start of the horizon
+     * @param to Exclusive end of the horizon
+     * @param duration Length of the window
+     * @return Start of the sunniest window (the earliest one on ties), or Integer.MIN_VALUE if none fits
+     */
+    public int findSunniestStart(int from, int to, int duration) {
+        int best = Integer.MIN_VALUE;
+        double bestEnergy = -1;
+        for (long start = from; start + duration <= to; start++) {
+            double generated = energy(start, start + duration);
+            if (generated > bestEnergy) {
+                bestEnergy = generated;
+                best = (int) start;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the time unit of the first forecast value.
+     * 
+     * @return Forecast origin
+     */
+    public int getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Gets the number of forecast values.
+     * 
+     * @return Forecast length in time units
+     */
+    public int getLength() {
+        return cumulative.length - 1;
+    }
+
+    /**
+     * Cumulative generation from the origin up to a possibly fractional time, clamped to the forecast range.
+     */
+    private double cumulativeAt(double time) {
+        double offset = time - origin;
+        if (offset <= 0) {
+            return 0.0;
+        }
+        int length = cumulative.length - 1;
+        if (offset >= length) {
+            return cumulative[length];
+        }
+        int whole = (int) offset;
+        return cumulative[whole] + (offset - whole) * (cumulative[whole + 1] - cumulative[whole]);
+    }
+}
@@ -4,10 +4,10 @@ package service.decorator;
 
 import model.ChargingStation;
 
-public class RenewableEnergyDecorator extends ChargingStation {
+public class RenewableEnergyDecorator extends StationDecorator {
 
-    // The original charging station being decorated with additional functionality.
-    private final ChargingStation decoratedStation;
+    // Efficiency added on top of the decorated station's efficiency
+    public static final int EFFICIENCY_BONUS = 50;
 
     /**
      * Constructor to wrap an existing ChargingStation with renewable energy enhancements.
@@ -15,8 +15,7 @@ public class RenewableEnergyDecorator extends ChargingStation {
      * @param station The charging station to be decorated.
      */
     public RenewableEnergyDecorator(ChargingStation station) {
-        super(station.getStationId(), station.getCapacity(), station.getForbiddenTimeSlots(), station.getStrategy());
-        this.decoratedStation = station;
+        super(station);
     }
 
     /**
@@ -28,7 +27,20 @@ public class RenewableEnergyDecorator extends ChargingStation {
      */
     @Override
     public int getChargingEfficiency(double chargingHours) {
-        return decoratedStation.getChargingEfficiency(chargingHours) + 50;
+        return decoratedStation.getChargingEfficiency(chargingHours) + EFFICIENCY_BONUS;
+    }
+
+    /**
+     * Rates a session at [start, end), passing the window on to the decorated station so
+     * window-aware layers below keep seeing it.
+     * 
+     * @param start Inclusive start of the session
+     * @param end Exclusive end of the session
+     * @return The decorated station's rating for the window plus the boost
+     */
+    @Override
+    public double getSessionEfficiency(double start, double end) {
+        return decoratedStation.getSessionEfficiency(start, end) + EFFICIENCY_BONUS;
     }
 
     /**
@@ -41,4 +53,15 @@ public class RenewableEnergyDecorator extends ChargingStation {
     public String toString() {
         return decoratedStation.toString() + " + Renewable Energy";
     }
+
+    /**
+     * Appends the decorated station's text followed by the renewable energy label.
+     * 
+     * @param builder Builder to append to
+     * @return The same builder
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder builder) {
+        return decoratedStation.appendTo(builder).append(" + Renewable Energy");
+    }
 }
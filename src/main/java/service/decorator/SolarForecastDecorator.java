@@ -0,0 +1,122 @@
+// SolarForecastDecorator - Renewable energy decorator whose bonus follows a site generation forecast.
+
+package service.decorator;
+
+import model.ChargingStation;
+
+public class SolarForecastDecorator extends StationDecorator {
+
+    // Marks a decorator without a configured session start
+    private static final int NO_SESSION_START = Integer.MIN_VALUE;
+
+    // Forecast generation of the station's site
+    private final GenerationForecast forecast;
+
+    // Bonus added when the forecast covers the whole charging window
+    private final int maxBonus;
+
+    // Start time of sessions evaluated without an explicit window, or NO_SESSION_START
+    private final int sessionStart;
+
+    /**
+     * Constructor to wrap a station with a forecast-driven bonus of up to
+     * {@link RenewableEnergyDecorator#EFFICIENCY_BONUS}. The bonus is only earned by sessions rated with
+     * their window, as schedulers do through {@link #getSessionEfficiency(double, double)};
+     * a session rated by its length alone earns none.
+     * 
+     * @param station The charging station to be decorated.
+     * @param forecast Forecast generation of the station's site
+     */
+    public SolarForecastDecorator(ChargingStation station, GenerationForecast forecast) {
+        super(station);
+        this.forecast = forecast;
+        this.maxBonus = RenewableEnergyDecorator.EFFICIENCY_BONUS;
+        this.sessionStart = NO_SESSION_START;
+    }
+
+    /**
+     * Constructor to wrap a station with a forecast-driven bonus.
+     * 
+     * @param station The charging station to be decorated.
+     * @param forecast Forecast generation of the station's site
+     * @param maxBonus Bonus added when the forecast covers the whole charging window
+     * @param sessionStart Start time of sessions evaluated by {@link #getChargingEfficiency(double)}
+     */
+    public SolarForecastDecorator(ChargingStation station, GenerationForecast forecast, int maxBonus, int sessionStart) {
+        super(station);
+        this.forecast = forecast;
+        this.maxBonus = maxBonus;
+        this.sessionStart = sessionStart;
+    }
+
+    /**
+     * Calculates the efficiency of a session of the given length starting at the configured session start.
+     * Without a configured start, the window is unknown and no bonus is added.
+     * 
+     * @param chargingHours Number of hours the station is in use.
+     * @return Decorated station's efficiency plus the forecast-weighted bonus, if any
+     */
+    @Override
+    public int getChargingEfficiency(double chargingHours) {
+        if (sessionStart == NO_SESSION_START) {
+            return decoratedStation.getChargingEfficiency(chargingHours);
+        }
+        return getChargingEfficiency(sessionStart, sessionStart + chargingHours);
+    }
+
+    /**
+     * Calculates the efficiency of charging over [start, end): the decorated station's efficiency
+     * plus the maximum bonus scaled by the renewable share of the window, in O(1).
+     * 
+     * @param start Inclusive start of the charging window
+     * @param end Exclusive end of the charging window
+     * @return Decorated station's efficiency plus the forecast-weighted bonus
+     */
+    public int getChargingEfficiency(double start, double end) {
+        return decoratedStation.getChargingEfficiency(end - start) + getBonus(start, end);
+    }
+
+    /**
+     * Rates a session at [start, end) by the decorated station's rating plus the forecast-weighted bonus,
+     * so schedulers favor the hours the forecast covers.
+     * 
+     * @param start Inclusive start of the session
+     * @param end Exclusive end of the session
+     * @return The decorated station's rating for the window plus the bonus
+     */
+    @Override
+    public double getSessionEfficiency(double start, double end) {
+        return decoratedStation.getSessionEfficiency(start, end) + getBonus(start, end);
+    }
+
+    /**
+     * Gets the bonus for charging over [start, end).
+     * 
+     * @param start Inclusive start of the charging window
+     * @param end Exclusive end of the charging window
+     * @return Maximum bonus scaled by the renewable share, rounded to the nearest integer
+     */
+    public int getBonus(double start, double end) {
+        return (int) Math.round(maxBonus * forecast.renewableShare(start, end, getCapacity()));
+    }
+
+    /**
+     * Retrieves the site generation forecast.
+     * 
+     * @return The forecast
+     */
+    public GenerationForecast getForecast() {
+        return forecast;
+    }
+
+    /**
+     * Appends the decorated station's text followed by the solar forecast label.
+     * 
+     * @param builder Builder to append to
+     * @return The same builder
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder builder) {
+        return decoratedStation.appendTo(builder).append(" + Solar Forecast");
+    }
+}
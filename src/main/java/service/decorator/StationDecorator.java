@@ -0,0 +1,139 @@
+// StationDecorator - Base class for decorators that share, rather than copy, the wrapped station's state.
+
+package service.decorator;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import model.ChargingStation;
+import model.OccupiedTimeSlot;
+import service.availability.FreeIntervalEngine;
+import service.availability.GapIndex;
+import service.availability.SlotIntervalTree;
+import service.availability.SlotSet;
+import service.availability.SlotSource;
+import service.strategy.ChargingStrategy;
+
+public abstract class StationDecorator extends ChargingStation {
+
+    // The wrapped charging station, which owns the strategy, the slots and their indexes
+    protected final ChargingStation decoratedStation;
+
+    /**
+     * Constructor to wrap an existing charging station.
+     * 
+     * @param station The charging station to be decorated.
+     */
+    protected StationDecorator(ChargingStation station) {
+        super(station.getStationId(), station.getCapacity(), station.getForbiddenTimeSlots(), station.getStrategy());
+        this.decoratedStation = station;
+    }
+
+    /**
+     * Retrieves the wrapped charging station.
+     * 
+     * @return The decorated station
+     */
+    public ChargingStation getDecoratedStation() {
+        return decoratedStation;
+    }
+
+    /**
+     * Sets the strategy on the wrapped station, so every layer of a stack sees the change.
+     * 
+     * @param strategy New charging strategy to be applied
+     */
+    @Override
+    public void setStrategy(ChargingStrategy strategy) {
+        decoratedStation.setStrategy(strategy);
+    }
+
+    /**
+     * Rates a session by this layer's own {@link #getChargingEfficiency(double)}, so a decorator that
+     * does not know about windows still adds its effect; window-aware layers override this.
+     * 
+     * @param start Inclusive start of the session in hours
+     * @param end Exclusive end of the session in hours
+     * @return Efficiency of the session
+     */
+    @Override
+    public double getSessionEfficiency(double start, double end) {
+        return getChargingEfficiency(end - start);
+    }
+
+    @Override
+    public ChargingStrategy getStrategy() {
+        return decoratedStation.getStrategy();
+    }
+
+    @Override
+    public int getStrategyGeneration() {
+        return decoratedStation.getStrategyGeneration();
+    }
+
+    @Override
+    public List<OccupiedTimeSlot> getForbiddenTimeSlots() {
+        return decoratedStation.getForbiddenTimeSlots();
+    }
+
+    @Override
+    public void setRecurringSlots(SlotSource slots) {
+        decoratedStation.setRecurringSlots(slots);
+    }
+
+    @Override
+    public SlotSource getRecurringSlots() {
+        return decoratedStation.getRecurringSlots();
+    }
+
+    @Override
+    public void setChangeListener(IntConsumer listener) {
+        decoratedStation.setChangeListener(listener);
+    }
+
+    @Override
+    public FreeIntervalEngine getAvailability() {
+        return decoratedStation.getAvailability();
+    }
+
+    @Override
+    public SlotSet getSlotSet() {
+        return decoratedStation.getSlotSet();
+    }
+
+    @Override
+    public GapIndex getGapIndex() {
+        return decoratedStation.getGapIndex();
+    }
+
+    @Override
+    public SlotIntervalTree getSlotIndex() {
+        return decoratedStation.getSlotIndex();
+    }
+
+    @Override
+    public void addReservation(OccupiedTimeSlot slot) {
+        decoratedStation.addReservation(slot);
+    }
+
+    @Override
+    public int addReservations(Collection<OccupiedTimeSlot> reservations) {
+        return decoratedStation.addReservations(reservations);
+    }
+
+    @Override
+    public boolean removeReservation(OccupiedTimeSlot slot) {
+        return decoratedStation.removeReservation(slot);
+    }
+
+    @Override
+    public OccupiedTimeSlot reserve(int begin, int end) {
+        return decoratedStation.reserve(begin, end);
+    }
+
+    @Override
+    public OccupiedTimeSlot reserveMinutes(long begin, long end) {
+        return decoratedStation.reserveMinutes(begin, end);
+    }
+}
@@ -0,0 +1,128 @@
+// CsvStationExporter - Streams stations as CSV rows.
+
+package service.export;
+
+import java.io.IOException;
+import java.util.List;
+
+import model.ChargingStation;
+import model.EpochMinutes;
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import model.SlowChargingStation;
+import service.availability.RecurringSlotRule;
+import service.availability.SlotSet;
+import service.decorator.StationDecorator;
+import service.store.StationColumns;
+import service.store.StationView;
+
+/**
+ * Writes the format read by {@link service.factory.StationBulkLoader}, so an exported inventory can be
+ * loaded again: a header row, then one row per station, {@code type,stationId,capacity,forbiddenSlots},
+ * where type is {@code Fast} or {@code Slow} and forbidden slots are written as {@code start-end} pairs
+ * separated by semicolons (e.g. {@code Fast,1,300,8-16;20-22}). A bound that does not fall on an hour
+ * is written as hours and minutes, e.g. {@code 8:30-9:05}. A station with recurring windows gets a fifth
+ * column, {@code period@start-end;start-end}, holding the period and the windows of one repetition in hours
+ * (e.g. {@code Fast,1,300,8-16,24@2-4} for daily maintenance from 2 to 4). Decorated stations are written with the
+ * type of the station they wrap. The format has no strategy column; the loader gives every station its
+ * type's default strategy, so use {@link JsonLinesStationExporter} when strategies must be kept.
+ */
+public class CsvStationExporter extends StationExporter {
+
+    // Header row naming the columns
+    private static final String HEADER = "type,stationId,capacity,forbiddenSlots,recurringSlots\n";
+
+    /**
+     * Constructor to create a CSV exporter with the default buffer size.
+     */
+    public CsvStationExporter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor to create a CSV exporter with the given buffer size.
+     * 
+     * @param bufferSize Buffer size in bytes
+     */
+    public CsvStationExporter(int bufferSize) {
+        super(bufferSize);
+    }
+
+    @Override
+    protected void writeHeader() throws IOException {
+        putAscii(HEADER);
+    }
+
+    /**
+     * Encodes one station row.
+     * 
+     * @throws IllegalArgumentException if the station is neither a fast nor a slow station,
+     *         or its recurring windows are not a {@link RecurringSlotRule}
+     */
+    @Override
+    protected void writeStation(ChargingStation station) throws IOException {
+        putAscii(typeOf(station));
+        put(',');
+        putInt(station.getStationId());
+        put(',');
+        putInt(station.getCapacity());
+        put(',');
+        List<OccupiedTimeSlot> slots = station.getForbiddenTimeSlots();
+        for (int i = 0; i < slots.size(); i++) {
+            if (i > 0) {
+                put(';');
+            }
+            OccupiedTimeSlot slot = slots.get(i);
+            putTime(slot.getStartMinute());
+            put('-');
+            putTime(slot.getEndMinute());
+        }
+        RecurringSlotRule rule = RecurringSlotRule.from(station.getRecurringSlots());
+        if (rule != null) {
+            put(',');
+            putInt(rule.getPeriod());
+            put('@');
+            SlotSet pattern = rule.getPattern();
+            for (int i = 0; i < pattern.size(); i++) {
+                if (i > 0) {
+                    put(';');
+                }
+                putInt(pattern.getStart(i));
+                put('-');
+                putInt(pattern.getEnd(i));
+            }
+        }
+        put('\n');
+    }
+
+    /**
+     * Writes a slot bound as an hour, or as hours:minutes if it does not fall on an hour.
+     */
+    private void putTime(long minute) throws IOException {
+        putLong(Math.floorDiv(minute, EpochMinutes.PER_HOUR));
+        int minutes = Math.floorMod(minute, EpochMinutes.PER_HOUR);
+        if (minutes != 0) {
+            put(':');
+            put((char) ('0' + minutes / 10));
+            put((char) ('0' + minutes % 10));
+        }
+    }
+
+    /**
+     * Gets the loader's type name for a station, looking through decorators.
+     */
+    private static String typeOf(ChargingStation station) {
+        ChargingStation base = station;
+        while (base instanceof StationDecorator) {
+            base = ((StationDecorator) base).getDecoratedStation();
+        }
+        if (base instanceof StationView) {
+            return ((StationView) base).getType() == StationColumns.TYPE_FAST ? "Fast" : "Slow";
+        } else if (base instanceof FastChargingStation) {
+            return "Fast";
+        } else if (base instanceof SlowChargingStation) {
+            return "Slow";
+        }
+        throw new IllegalArgumentException("Station type cannot be exported: " + base.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,114 @@
+// JsonLinesStationExporter - Streams stations as JSON Lines.
+
+package service.export;
+
+import java.io.IOException;
+import java.util.List;
+
+import model.ChargingStation;
+import model.OccupiedTimeSlot;
+import service.availability.RecurringSlotRule;
+import service.availability.SlotSet;
+
+/**
+ * Writes one JSON object per line, e.g.
+ * {@code {"stationId":1,"capacity":300,"strategy":"FastChargingStrategy","forbiddenSlots":[[8,16],[20,22]]}}.
+ * Slot bounds are hours; a station with any slot off the hour grid lists all of its slots in minutes
+ * under {@code forbiddenSlotMinutes} instead, e.g. {@code "forbiddenSlotMinutes":[[510,545]]}.
+ * Recurring windows, if any, follow as {@code "recurringSlots":{"period":24,"windows":[[2,4]]}}.
+ */
+public class JsonLinesStationExporter extends StationExporter {
+
+    /**
+     * Constructor to create a JSON Lines exporter with the default buffer size.
+     */
+    public JsonLinesStationExporter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor to create a JSON Lines exporter with the given buffer size.
+     * 
+     * @param bufferSize Buffer size in bytes
+     */
+    public JsonLinesStationExporter(int bufferSize) {
+        super(bufferSize);
+    }
+
+    /**
+     * Encodes one station object.
+     * 
+     * @throws IllegalArgumentException if the station's recurring windows are not a {@link RecurringSlotRule}
+     */
+    @Override
+    protected void writeStation(ChargingStation station) throws IOException {
+        putAscii("{\"stationId\":");
+        putInt(station.getStationId());
+        putAscii(",\"capacity\":");
+        putInt(station.getCapacity());
+        putAscii(",\"strategy\":\"");
+        putText(station.getStrategy().getClass().getSimpleName());
+        List<OccupiedTimeSlot> slots = station.getForbiddenTimeSlots();
+        boolean wholeHours = true;
+        for (int i = 0; i < slots.size() && wholeHours; i++) {
+            wholeHours = slots.get(i).isWholeHours();
+        }
+        putAscii(wholeHours ? "\",\"forbiddenSlots\":[" : "\",\"forbiddenSlotMinutes\":[");
+        for (int i = 0; i < slots.size(); i++) {
+            if (i > 0) {
+                put(',');
+            }
+            OccupiedTimeSlot slot = slots.get(i);
+            put('[');
+            if (wholeHours) {
+                putInt(slot.getStartTime());
+                put(',');
+                putInt(slot.getEndTime());
+            } else {
+                putLong(slot.getStartMinute());
+                put(',');
+                putLong(slot.getEndMinute());
+            }
+            put(']');
+        }
+        put(']');
+        RecurringSlotRule rule = RecurringSlotRule.from(station.getRecurringSlots());
+        if (rule != null) {
+            putAscii(",\"recurringSlots\":{\"period\":");
+            putInt(rule.getPeriod());
+            putAscii(",\"windows\":[");
+            SlotSet pattern = rule.getPattern();
+            for (int i = 0; i < pattern.size(); i++) {
+                if (i > 0) {
+                    put(',');
+                }
+                put('[');
+                putInt(pattern.getStart(i));
+                put(',');
+                putInt(pattern.getEnd(i));
+                put(']');
+            }
+            putAscii("]}");
+        }
+        putAscii("}\n");
+    }
+
+    /**
+     * Escapes quotes, backslashes and control characters as required inside JSON strings.
+     */
+    @Override
+    protected boolean escape(char c) throws IOException {
+        if (c == '"' || c == '\\') {
+            put('\\');
+            put(c);
+            return true;
+        }
+        if (c < 0x20) {
+            putAscii("\\u00");
+            put(Character.forDigit(c >> 4, 16));
+            put(Character.forDigit(c & 0xF, 16));
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,212 @@
+// StationExporter - Base class for streaming fleet exports through a reusable byte buffer.
+
+package service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import model.ChargingStation;
+
+/**
+ * Encodes stations straight into one reusable buffer, which is written to the channel whenever it fills,
+ * so no intermediate string is built per station. An exporter is not thread-safe; use one per export thread.
+ */
+public abstract class StationExporter {
+
+    // Default buffer size in bytes
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    // Largest number of bytes a single put may need (an int is at most 11 ASCII characters)
+    private static final int MAX_TOKEN_BYTES = 11;
+
+    // Reusable encode buffer
+    private final ByteBuffer buffer;
+
+    // Scratch space for formatting integers right to left (a long is at most 20 ASCII characters)
+    private final byte[] digits = new byte[20];
+
+    // Channel of the export in progress
+    private WritableByteChannel channel;
+
+    /**
+     * Constructor to create an exporter with the given buffer size.
+     * 
+     * @param bufferSize Buffer size in bytes
+     * @throws IllegalArgumentException if the buffer is smaller than one token
+     */
+    protected StationExporter(int bufferSize) {
+        if (bufferSize < MAX_TOKEN_BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MAX_TOKEN_BYTES + " bytes");
+        }
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Writes all stations to a channel.
+     * 
+     * @param stations Stations to export, in output order
+     * @param target Channel receiving the encoded bytes; left open
+     * @return Number of stations written
+     * @throws IOException if the channel cannot be written
+     */
+    public long export(Iterable<? extends ChargingStation> stations, WritableByteChannel target) throws IOException {
+        channel = target;
+        buffer.clear();
+        long count = 0;
+        try {
+            writeHeader();
+            for (ChargingStation station : stations) {
+                writeStation(station);
+                count++;
+            }
+            drain();
+        } finally {
+            channel = null;
+        }
+        return count;
+    }
+
+    /**
+     * Writes all stations to an output stream.
+     * 
+     * @param stations Stations to export, in output order
+     * @param target Stream receiving the encoded bytes; flushed but left open
+     * @return Number of stations written
+     * @throws IOException if the stream cannot be written
+     */
+    public long export(Iterable<? extends ChargingStation> stations, OutputStream target) throws IOException {
+        long count = export(stations, Channels.newChannel(target));
+        target.flush();
+        return count;
+    }
+
+    /**
+     * Writes anything that precedes the first station, e.g. a header row.
+     * 
+     * @throws IOException if the channel cannot be written
+     */
+    protected void writeHeader() throws IOException {
+    }
+
+    /**
+     * Encodes one station, including its line terminator.
+     * 
+     * @param station Station to encode
+     * @throws IOException if the channel cannot be written
+     */
+    protected abstract void writeStation(ChargingStation station) throws IOException;
+
+    /**
+     * Appends a single ASCII character.
+     */
+    protected final void put(char c) throws IOException {
+        ensure(1);
+        buffer.put((byte) c);
+    }
+
+    /**
+     * Appends a string of ASCII characters, such as a field name or separator.
+     */
+    protected final void putAscii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            put(text.charAt(i));
+        }
+    }
+
+    /**
+     * Appends a string as UTF-8, passing each character to {@link #escape(char)} first.
+     */
+    protected final void putText(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (escape(c)) {
+                continue;
+            }
+            ensure(4);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Gives a format the chance to replace a character of a text value.
+     * 
+     * @param c Character about to be written
+     * @return true if the character was written by the format and must be skipped
+     * @throws IOException if the channel cannot be written
+     */
+    protected boolean escape(char c) throws IOException {
+        return false;
+    }
+
+    /**
+     * Appends an int in decimal without allocating.
+     */
+    protected final void putInt(int value) throws IOException {
+        ensure(MAX_TOKEN_BYTES);
+        if (value == Integer.MIN_VALUE) {
+            putAscii("-2147483648");
+            return;
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, position, digits.length - position);
+    }
+
+    /**
+     * Appends a long in decimal without allocating. Unlike {@link #putInt(int)}, the digits are
+     * copied one by one, so this works with buffers smaller than the longest value.
+     */
+    protected final void putLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            putAscii("-9223372036854775808");
+            return;
+        }
+        if (value < 0) {
+            put('-');
+            value = -value;
+        }
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (position < digits.length) {
+            put((char) digits[position++]);
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
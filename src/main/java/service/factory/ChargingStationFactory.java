@@ -8,14 +8,13 @@ import model.ChargingStation;
 import model.FastChargingStation;
 import model.OccupiedTimeSlot;
 import model.SlowChargingStation;
-import service.strategy.CostEffectiveChargingStrategy;
-import service.strategy.FastChargingStrategy;
 
 public class ChargingStationFactory {
 
     /**
      * Creates and returns an instance of a charging station based on the provided type.
      * This method follows the Factory Pattern to encapsulate object creation logic.
+     * Strategies and forbidden slot lists are shared flyweights from {@link StationFlyweights}.
      * 
      * @param type The type of charging station to create (e.g., "Fast" or "Slow").
      * @param stationId Unique identifier for the station.
@@ -25,10 +24,13 @@ public class ChargingStationFactory {
      * @throws IllegalArgumentException if an unknown type is provided.
      */
     public static ChargingStation createStation(String type, int stationId, int capacity, List<OccupiedTimeSlot> forbiddenSlots) {
+        StationFlyweights flyweights = StationFlyweights.getInstance();
         if ("Fast".equalsIgnoreCase(type)) {
-            return new FastChargingStation(stationId, capacity, forbiddenSlots, new FastChargingStrategy());
+            return new FastChargingStation(stationId, capacity, flyweights.internSlots(forbiddenSlots),
+                    flyweights.strategyFor(type));
         } else if ("Slow".equalsIgnoreCase(type)) {
-            return new SlowChargingStation(stationId, capacity, forbiddenSlots, new CostEffectiveChargingStrategy());
+            return new SlowChargingStation(stationId, capacity, flyweights.internSlots(forbiddenSlots),
+                    flyweights.strategyFor(type));
         } else {
             throw new IllegalArgumentException("Unknown charging station type: " + type);
         }
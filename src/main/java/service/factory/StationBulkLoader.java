@@ -0,0 +1,417 @@
+// StationBulkLoader - Loads station inventories from CSV files in parallel through the factory.
+
+package service.factory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import model.ChargingStation;
+import model.EpochMinutes;
+import model.OccupiedTimeSlot;
+import service.availability.RecurringSlotRule;
+import service.singleton.ChargingStationManager;
+
+/**
+ * Reads files with one station per line: {@code type,stationId,capacity,forbiddenSlots}, where type is
+ * {@code Fast} or {@code Slow} and forbidden slots are {@code start-end} pairs separated by semicolons
+ * (e.g. {@code Fast,1,300,8-16;20-22}). A bound off the hour is written as hours and minutes ({@code 8:30}).
+ * An optional fifth column holds recurring windows as {@code period@start-end;start-end} in hours, e.g.
+ * {@code Fast,1,300,,24@2-4} for a station closed from 2 to 4 every day.
+ * A first line starting with {@code type} is treated as a header; blank lines are skipped. The file is split
+ * into chunks at line boundaries, each chunk is memory-mapped and parsed on its own fork-join task, and
+ * stations are created through {@link ChargingStationFactory}.
+ */
+public class StationBulkLoader {
+
+    // Smallest chunk worth parsing on its own task
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+
+    // Chunks per pool thread, so uneven chunks still keep every thread busy
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    // Pool the chunks are parsed on
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor to create a loader that parses on the common fork-join pool.
+     */
+    public StationBulkLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor to create a loader that parses on the given pool.
+     * 
+     * @param pool Pool the chunks are parsed on
+     */
+    public StationBulkLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Parses a station file into stations, in file order.
+     * 
+     * @param path Station file
+     * @return The parsed stations
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a record is malformed; the message names its byte offset
+     */
+    public List<ChargingStation> parse(Path path) throws IOException {
+        List<ChargingStation> stations = new ArrayList<>();
+        for (List<ChargingStation> chunk : parseChunks(path)) {
+            stations.addAll(chunk);
+        }
+        return stations;
+    }
+
+    /**
+     * Parses a station file and registers the stations with the manager, one batch per chunk in file order,
+     * so a later line replaces an earlier one with the same station ID.
+     * 
+     * @param path Station file
+     * @param manager Manager the stations are added to
+     * @return Number of stations loaded
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a record is malformed; no station is registered in that case
+     */
+    public int load(Path path, ChargingStationManager manager) throws IOException {
+        int count = 0;
+        for (List<ChargingStation> chunk : parseChunks(path)) {
+            manager.addStations(chunk);
+            count += chunk.size();
+        }
+        return count;
+    }
+
+    private List<List<ChargingStation>> parseChunks(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = splitAtLines(channel);
+            if (bounds.length == 1) {
+                return Collections.emptyList();
+            }
+            return pool.invoke(new ChunkTask(channel, bounds, 0, bounds.length - 1));
+        } catch (RuntimeException e) {
+            // Fork-join rethrows a task's exception as a copy wrapping the original; report the original
+            RuntimeException original = e;
+            while (original.getCause() != null && original.getCause().getClass() == original.getClass()) {
+                original = (RuntimeException) original.getCause();
+            }
+            if (original instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) original).getCause();
+            }
+            throw original;
+        }
+    }
+
+    /**
+     * Splits the file into chunk boundaries that each fall right after a newline.
+     */
+    private long[] splitAtLines(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunks = Math.max(1, Math.min(size / MIN_CHUNK_BYTES, (long) pool.getParallelism() * CHUNKS_PER_THREAD));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        for (long i = 1; i < chunks; i++) {
+            long bound = nextLineStart(channel, Math.max(size * i / chunks, bounds.get(bounds.size() - 1)), size);
+            if (bound > bounds.get(bounds.size() - 1) && bound < size) {
+                bounds.add(bound);
+            }
+        }
+        if (size > 0) {
+            bounds.add(size);
+        }
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        long position = from;
+        while (position < size) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(4096, size - position));
+            while (window.hasRemaining()) {
+                if (window.get() == '\n') {
+                    return position + window.position();
+                }
+            }
+            position += window.limit();
+        }
+        return size;
+    }
+
+    /**
+     * Parses chunks [from, to) of the boundaries, splitting the range until one chunk remains.
+     */
+    @SuppressWarnings("serial") // Holds an open FileChannel, which cannot be serialized
+    private static final class ChunkTask extends RecursiveTask<List<List<ChargingStation>>> {
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(FileChannel channel, long[] bounds, int from, int to) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<List<ChargingStation>> compute() {
+            if (to - from == 1) {
+                List<List<ChargingStation>> result = new ArrayList<>(1);
+                try {
+                    MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, bounds[from],
+                            bounds[to] - bounds[from]);
+                    result.add(new ChunkParser(chunk, bounds[from]).parse());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(channel, bounds, from, mid);
+            left.fork();
+            List<List<ChargingStation>> right = new ChunkTask(channel, bounds, mid, to).compute();
+            List<List<ChargingStation>> result = left.join();
+            result.addAll(right);
+            return result;
+        }
+    }
+
+    /**
+     * Parses the records of one chunk directly from its bytes.
+     */
+    private static final class ChunkParser {
+        private final MappedByteBuffer bytes;
+        private final long offset;
+        private int lineStart;
+
+        private ChunkParser(MappedByteBuffer bytes, long offset) {
+            this.bytes = bytes;
+            this.offset = offset;
+        }
+
+        private List<ChargingStation> parse() {
+            List<ChargingStation> stations = new ArrayList<>();
+            while (bytes.hasRemaining()) {
+                lineStart = bytes.position();
+                skipSpaces();
+                if (atLineEnd()) {
+                    skipLineEnd();
+                    continue;
+                }
+                if (offset + lineStart == 0 && peekIgnoreCase("type")) {
+                    skipLine();
+                    continue;
+                }
+                String type = parseType();
+                expect(',');
+                int stationId = parseInt();
+                expect(',');
+                int capacity = parseInt();
+                List<OccupiedTimeSlot> slots = new ArrayList<>();
+                RecurringSlotRule rule = null;
+                if (atColumnSeparator()) {
+                    bytes.get();
+                    skipSpaces();
+                    while (!atColumnEnd()) {
+                        long start = parseTime();
+                        expect('-');
+                        long end = parseTime();
+                        try {
+                            slots.add(OccupiedTimeSlot.ofMinutes(start, end));
+                        } catch (IllegalArgumentException e) {
+                            throw malformed(e.getMessage());
+                        }
+                        skipSpaces();
+                        if (!atColumnEnd()) {
+                            expect(';');
+                        }
+                    }
+                    if (atColumnSeparator()) {
+                        bytes.get();
+                        rule = parseRule();
+                    }
+                }
+                if (!atLineEnd()) {
+                    throw malformed("unexpected trailing data");
+                }
+                skipLineEnd();
+                ChargingStation station = ChargingStationFactory.createStation(type, stationId, capacity, slots);
+                if (rule != null) {
+                    station.setRecurringSlots(rule);
+                }
+                stations.add(station);
+            }
+            return stations;
+        }
+
+        /**
+         * Parses recurring windows written as period@start-end;start-end, or nothing for an empty column.
+         */
+        private RecurringSlotRule parseRule() {
+            skipSpaces();
+            if (atLineEnd()) {
+                return null;
+            }
+            int period = parseInt();
+            expect('@');
+            List<OccupiedTimeSlot> windows = new ArrayList<>();
+            while (!atLineEnd()) {
+                int start = parseInt();
+                expect('-');
+                int end = parseInt();
+                try {
+                    windows.add(new OccupiedTimeSlot(start, end));
+                } catch (IllegalArgumentException e) {
+                    throw malformed(e.getMessage());
+                }
+                if (!atLineEnd()) {
+                    expect(';');
+                }
+            }
+            try {
+                return RecurringSlotRule.of(period, windows);
+            } catch (IllegalArgumentException e) {
+                throw malformed(e.getMessage());
+            }
+        }
+
+        private String parseType() {
+            if (peekIgnoreCase("fast")) {
+                bytes.position(bytes.position() + 4);
+                return "Fast";
+            }
+            if (peekIgnoreCase("slow")) {
+                bytes.position(bytes.position() + 4);
+                return "Slow";
+            }
+            throw malformed("unknown station type");
+        }
+
+        private int parseInt() {
+            skipSpaces();
+            boolean negative = bytes.hasRemaining() && bytes.get(bytes.position()) == '-';
+            if (negative) {
+                bytes.get();
+            }
+            long value = 0;
+            int digits = 0;
+            while (bytes.hasRemaining()) {
+                byte b = bytes.get(bytes.position());
+                if (b < '0' || b > '9') {
+                    break;
+                }
+                value = value * 10 + (b - '0');
+                if (value > (long) Integer.MAX_VALUE + 1) {
+                    throw malformed("number out of range");
+                }
+                bytes.get();
+                digits++;
+            }
+            if (digits == 0) {
+                throw malformed("number expected");
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw malformed("number out of range");
+            }
+            skipSpaces();
+            return (int) value;
+        }
+
+        /**
+         * Parses a slot bound, either an hour or hours:minutes, into minutes.
+         */
+        private long parseTime() {
+            int hour = parseInt();
+            long minute = (long) hour * EpochMinutes.PER_HOUR;
+            if (bytes.hasRemaining() && bytes.get(bytes.position()) == ':') {
+                bytes.get();
+                int minutes = 0;
+                for (int i = 0; i < 2; i++) {
+                    byte b = bytes.hasRemaining() ? bytes.get() : 0;
+                    if (b < '0' || b > '9') {
+                        throw malformed("two-digit minutes expected");
+                    }
+                    minutes = minutes * 10 + (b - '0');
+                }
+                if (minutes >= EpochMinutes.PER_HOUR) {
+                    throw malformed("minutes out of range");
+                }
+                minute += minutes;
+                skipSpaces();
+            }
+            return minute;
+        }
+
+        private void expect(char c) {
+            skipSpaces();
+            if (!bytes.hasRemaining() || bytes.get() != c) {
+                throw malformed("'" + c + "' expected");
+            }
+        }
+
+        private boolean peekIgnoreCase(String word) {
+            if (bytes.remaining() < word.length()) {
+                return false;
+            }
+            for (int i = 0; i < word.length(); i++) {
+                if (Character.toLowerCase((char) bytes.get(bytes.position() + i)) != word.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void skipSpaces() {
+            while (bytes.hasRemaining() && (bytes.get(bytes.position()) == ' ' || bytes.get(bytes.position()) == '\t')) {
+                bytes.get();
+            }
+        }
+
+        private boolean atColumnSeparator() {
+            skipSpaces();
+            return bytes.hasRemaining() && bytes.get(bytes.position()) == ',';
+        }
+
+        private boolean atColumnEnd() {
+            return atLineEnd() || bytes.get(bytes.position()) == ',';
+        }
+
+        private boolean atLineEnd() {
+            return !bytes.hasRemaining() || bytes.get(bytes.position()) == '\n' || bytes.get(bytes.position()) == '\r';
+        }
+
+        private void skipLineEnd() {
+            while (bytes.hasRemaining() && (bytes.get(bytes.position()) == '\r' || bytes.get(bytes.position()) == '\n')) {
+                if (bytes.get() == '\n') {
+                    return;
+                }
+            }
+        }
+
+        private void skipLine() {
+            while (bytes.hasRemaining() && bytes.get() != '\n') {
+                // Skip to the start of the next line
+            }
+        }
+
+        private IllegalArgumentException malformed(String reason) {
+            return new IllegalArgumentException("Malformed station record at byte " + (offset + lineStart) + ": " + reason);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+// StationFlyweights - Canonical shared instances of strategies and forbidden slot lists.
+
+package service.factory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import model.OccupiedTimeSlot;
+import service.availability.SlotSet;
+import service.strategy.ChargingStrategy;
+import service.strategy.CostEffectiveChargingStrategy;
+import service.strategy.FastChargingStrategy;
+
+/**
+ * Hands out one shared instance per distinct strategy and per distinct forbidden slot list, so stations
+ * built from the same inputs reference the same objects. Strategies are matched by equality (the built-in
+ * strategies are stateless, so all instances of a class are equal); slot lists are matched by their slots
+ * and returned as immutable lists whose slots are interned as well. Stations never modify their slot list
+ * in place (reservations replace it), so sharing is safe.
+ * 
+ * Each pool is bounded. Once a pool holds its limit it stops admitting new values, and a value it has not
+ * seen is handed back unshared; already pooled values stay shared. A long-running process that keeps
+ * loading fresh inventories therefore cannot grow the pools without end, and {@link #clear()} starts over.
+ */
+public class StationFlyweights {
+
+    // Default number of distinct values each pool holds before it stops admitting new ones
+    public static final int DEFAULT_MAX_ENTRIES = 1 << 16;
+
+    // Number of distinct values each pool holds before it stops admitting new ones
+    private final int maxEntries;
+
+    // Canonical strategy instances, keyed and matched by equality
+    private final ConcurrentHashMap<ChargingStrategy, ChargingStrategy> strategies = new ConcurrentHashMap<>();
+
+    // Canonical immutable slot lists, keyed by their contents
+    private final ConcurrentHashMap<List<OccupiedTimeSlot>, List<OccupiedTimeSlot>> slotLists = new ConcurrentHashMap<>();
+
+    // Canonical slot instances shared by all interned lists
+    private final ConcurrentHashMap<OccupiedTimeSlot, OccupiedTimeSlot> slots = new ConcurrentHashMap<>();
+
+    private final LongAdder strategyRequests = new LongAdder(); // Calls to canonical(strategy)
+    private final LongAdder strategyHits = new LongAdder();     // Calls answered with an existing instance
+    private final LongAdder slotListRequests = new LongAdder(); // Calls to internSlots
+    private final LongAdder slotListHits = new LongAdder();     // Calls answered with an existing list
+    private final LongAdder slotRequests = new LongAdder();     // Slots passed through interning
+    private final LongAdder slotHits = new LongAdder();         // Slots replaced by an existing instance
+
+    /**
+     * Constructor to create flyweight pools with the default bound.
+     */
+    public StationFlyweights() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Constructor to create flyweight pools holding at most the given number of values each.
+     * 
+     * @param maxEntries Maximum number of distinct values per pool
+     * @throws IllegalArgumentException if maxEntries is not positive
+     */
+    public StationFlyweights(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Lazily initialized holder for the shared instance used by the factory and builder.
+     */
+    private static final class Holder {
+        private static final StationFlyweights INSTANCE = new StationFlyweights();
+    }
+
+    /**
+     * Provides the flyweights shared by {@link ChargingStationFactory} and the station builder.
+     * 
+     * @return The shared instance
+     */
+    public static StationFlyweights getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Gets the shared strategy for a station type, as assigned by the factory.
+     * 
+     * @param type The type of charging station ("Fast" or "Slow", case-insensitive)
+     * @return The shared fast charging strategy for "Fast", otherwise the shared cost-effective strategy
+     */
+    public ChargingStrategy strategyFor(String type) {
+        return canonical("Fast".equalsIgnoreCase(type) ? new FastChargingStrategy() : new CostEffectiveChargingStrategy());
+    }
+
+    /**
+     * Gets the canonical instance of a strategy.
+     * 
+     * @param strategy A strategy
+     * @return The first registered strategy equal to the given one, or the strategy itself; null for null
+     */
+    public ChargingStrategy canonical(ChargingStrategy strategy) {
+        if (strategy == null) {
+            return null;
+        }
+        strategyRequests.increment();
+        ChargingStrategy existing = share(strategies, strategy);
+        if (existing != strategy) {
+            strategyHits.increment();
+        }
+        return existing;
+    }
+
+    /**
+     * Gets the canonical immutable list with the same slots in the same order.
+     * A {@link SlotSet#asList()} view is returned as it is, since stations use it without copying.
+     * 
+     * @param timeSlots A slot list
+     * @return The shared immutable list, or the given SlotSet view; null for null
+     */
+    public List<OccupiedTimeSlot> internSlots(List<OccupiedTimeSlot> timeSlots) {
+        if (timeSlots == null || SlotSet.isView(timeSlots)) {
+            return timeSlots;
+        }
+        slotListRequests.increment();
+        List<OccupiedTimeSlot> existing = slotLists.get(timeSlots);
+        if (existing != null) {
+            slotListHits.increment();
+            return existing;
+        }
+        List<OccupiedTimeSlot> interned = new ArrayList<>(timeSlots.size());
+        for (OccupiedTimeSlot slot : timeSlots) {
+            interned.add(internSlot(slot));
+        }
+        List<OccupiedTimeSlot> candidate = Collections.unmodifiableList(interned);
+        existing = share(slotLists, candidate);
+        if (existing != candidate) {
+            slotListHits.increment();
+        }
+        return existing;
+    }
+
+    private OccupiedTimeSlot internSlot(OccupiedTimeSlot slot) {
+        slotRequests.increment();
+        OccupiedTimeSlot existing = share(slots, slot);
+        if (existing != slot) {
+            slotHits.increment();
+        }
+        return existing;
+    }
+
+    /**
+     * Finds the pooled value equal to the given one, pooling the value itself while the pool has room.
+     * Concurrent callers may overshoot the bound by a few entries.
+     * 
+     * @return The pooled value, or the given value if it is new
+     */
+    private <T> T share(ConcurrentHashMap<T, T> pool, T value) {
+        T existing = pool.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (pool.size() >= maxEntries) {
+            return value;
+        }
+        existing = pool.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * Gets the number of distinct strategies held.
+     * 
+     * @return Distinct strategy count
+     */
+    public int getDistinctStrategies() {
+        return strategies.size();
+    }
+
+    /**
+     * Gets the number of distinct slot lists held.
+     * 
+     * @return Distinct slot list count
+     */
+    public int getDistinctSlotLists() {
+        return slotLists.size();
+    }
+
+    /**
+     * Gets the number of distinct slots held.
+     * 
+     * @return Distinct slot count
+     */
+    public int getDistinctSlots() {
+        return slots.size();
+    }
+
+    /**
+     * Gets the number of strategy requests answered with an already shared instance.
+     * 
+     * @return Deduplicated strategy count
+     */
+    public long getDeduplicatedStrategies() {
+        return strategyHits.sum();
+    }
+
+    /**
+     * Gets the number of slot list requests answered with an already shared list.
+     * 
+     * @return Deduplicated slot list count
+     */
+    public long getDeduplicatedSlotLists() {
+        return slotListHits.sum();
+    }
+
+    /**
+     * Gets the number of slots replaced by an already shared instance while interning new lists.
+     * 
+     * @return Deduplicated slot count
+     */
+    public long getDeduplicatedSlots() {
+        return slotHits.sum();
+    }
+
+    /**
+     * Drops all canonical instances and resets the statistics. Stations keep the instances they hold.
+     */
+    public void clear() {
+        strategies.clear();
+        slotLists.clear();
+        slots.clear();
+        strategyRequests.reset();
+        strategyHits.reset();
+        slotListRequests.reset();
+        slotListHits.reset();
+        slotRequests.reset();
+        slotHits.reset();
+    }
+
+    /**
+     * Provides a summary of the deduplication statistics.
+     * 
+     * @return Formatted string with requests, shared hits and distinct instances per kind
+     */
+    @Override
+    public String toString() {
+        return "StationFlyweights{strategies=" + strategyHits.sum() + "/" + strategyRequests.sum()
+                + " shared, " + strategies.size() + " distinct; slotLists=" + slotListHits.sum() + "/"
+                + slotListRequests.sum() + " shared, " + slotLists.size() + " distinct; slots="
+                + slotHits.sum() + "/" + slotRequests.sum() + " shared, " + slots.size() + " distinct}";
+    }
+}
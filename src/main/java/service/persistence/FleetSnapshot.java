@@ -0,0 +1,284 @@
+// FleetSnapshot - Writes and opens the binary fleet snapshot format.
+
+package service.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import service.availability.RecurringSlotRule;
+import service.availability.SlotSet;
+import service.store.StationColumns;
+import service.strategy.ChargingStrategy;
+
+/**
+ * Snapshot layout (big-endian):
+ * <pre>
+ * header   int magic, int version, int stationCount n, int slotCount m,
+ *          long totalCapacity, long strategyTableOffset, long logPosition
+ * columns  int[n] ids, int[n] capacities, int[n] capacityRanks, int[n + 1] slotOffsets,
+ *          long[m] slotStarts, long[m] slotEnds, byte[n] types, byte[n] strategyIndexes
+ * table    int strategyCount, then per strategy: short length, UTF-8 class name
+ * rules    int ruleCount, then per row with recurring windows, in row order:
+ *          int row, int period, int windowCount, int[2 * windowCount] window start/end pairs
+ * </pre>
+ * The log position is where replaying the {@link ReservationLog} has to start, as every reservation
+ * logged before it is already among the slots.
+ * Slot bounds are stored in minutes, so minute-resolution slots survive a reopen unchanged.
+ * Recurring windows are stored as the period and pattern of their {@link RecurringSlotRule}.
+ * Strategies are stored by class name and recreated through their public no-argument constructor,
+ * so only strategies equal to their default instance can be written.
+ */
+public final class FleetSnapshot {
+
+    // "EVFS" in ASCII
+    static final int MAGIC = 0x45564653;
+
+    // Current format version; version 2 stores slot bounds as minutes, version 3 adds recurring windows,
+    // version 4 adds the reservation log position
+    static final int VERSION = 4;
+
+    // Size of the fixed header in bytes
+    static final int HEADER_BYTES = 40;
+
+    // Most distinct strategies a snapshot can hold, as rows store their strategy index in one byte
+    static final int MAX_STRATEGIES = 256;
+
+    private FleetSnapshot() {
+    }
+
+    /**
+     * Writes the given columns to a snapshot file, replacing any existing file, without a reservation log position.
+     * 
+     * @param columns Fleet data to write
+     * @param path Target file
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a strategy cannot be recreated by its public no-argument constructor,
+     *         a row's recurring windows are not a {@link RecurringSlotRule}, the fleet holds more than
+     *         {@value #MAX_STRATEGIES} distinct strategies or more than Integer.MAX_VALUE slots
+     */
+    public static void write(StationColumns columns, Path path) throws IOException {
+        write(columns, path, 0);
+    }
+
+    /**
+     * Writes the given columns to a snapshot file, replacing any existing file.
+     * 
+     * @param columns Fleet data to write
+     * @param path Target file
+     * @param logPosition Reservation log position the columns are current up to
+     *        (see {@link ReservationLog#getDurablePosition()}), or 0
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a strategy cannot be recreated by its public no-argument constructor,
+     *         a row's recurring windows are not a {@link RecurringSlotRule},
+     *         the fleet holds more than {@value #MAX_STRATEGIES} distinct strategies
+     *         or more than Integer.MAX_VALUE slots, or the log position is negative
+     */
+    public static void write(StationColumns columns, Path path, long logPosition) throws IOException {
+        if (logPosition < 0) {
+            throw new IllegalArgumentException("Log position must not be negative");
+        }
+        int stations = columns.size();
+        long slotTotal = 0;
+        long totalCapacity = 0;
+        for (int row = 0; row < stations; row++) {
+            slotTotal += columns.slotCount(row);
+            totalCapacity += columns.capacity(row);
+        }
+        if (slotTotal > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many slots for one snapshot: " + slotTotal);
+        }
+        int slots = (int) slotTotal;
+
+        Map<ChargingStrategy, Integer> strategyIndexes = new HashMap<>();
+        List<byte[]> strategyNames = new ArrayList<>();
+        byte[] rowStrategies = new byte[stations];
+        for (int row = 0; row < stations; row++) {
+            ChargingStrategy strategy = columns.strategy(row);
+            Integer index = strategyIndexes.get(strategy);
+            if (index == null) {
+                if (strategyNames.size() == MAX_STRATEGIES) {
+                    throw new IllegalArgumentException("More than " + MAX_STRATEGIES
+                            + " distinct strategies cannot be stored in a snapshot");
+                }
+                checkRecreatable(strategy);
+                index = strategyNames.size();
+                strategyIndexes.put(strategy, index);
+                strategyNames.add(strategy.getClass().getName().getBytes(StandardCharsets.UTF_8));
+            }
+            rowStrategies[row] = (byte) (int) index;
+        }
+        List<Integer> ruleRows = new ArrayList<>();
+        for (int row = 0; row < stations; row++) {
+            if (RecurringSlotRule.from(columns.recurringSlots(row)) != null) {
+                ruleRows.add(row);
+            }
+        }
+
+        long tableOffset = columnsEnd(stations, slots);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChannelWriter out = new ChannelWriter(channel);
+            out.putInt(MAGIC).putInt(VERSION).putInt(stations).putInt(slots).putLong(totalCapacity).putLong(tableOffset)
+                    .putLong(logPosition);
+            for (int row = 0; row < stations; row++) {
+                out.putInt(columns.stationId(row));
+            }
+            int[] capacities = new int[stations];
+            for (int row = 0; row < stations; row++) {
+                capacities[row] = columns.capacity(row);
+                out.putInt(capacities[row]);
+            }
+            for (int rank : StationColumns.rankByCapacity(capacities)) {
+                out.putInt(rank);
+            }
+            int offset = 0;
+            for (int row = 0; row < stations; row++) {
+                out.putInt(offset);
+                offset += columns.slotCount(row);
+            }
+            out.putInt(offset);
+            for (int row = 0; row < stations; row++) {
+                for (int slot = 0; slot < columns.slotCount(row); slot++) {
+                    out.putLong(columns.slotStartMinute(row, slot));
+                }
+            }
+            for (int row = 0; row < stations; row++) {
+                for (int slot = 0; slot < columns.slotCount(row); slot++) {
+                    out.putLong(columns.slotEndMinute(row, slot));
+                }
+            }
+            for (int row = 0; row < stations; row++) {
+                out.put(columns.type(row));
+            }
+            out.put(rowStrategies);
+            out.putInt(strategyNames.size());
+            for (byte[] name : strategyNames) {
+                out.putShort((short) name.length).put(name);
+            }
+            out.putInt(ruleRows.size());
+            for (int row : ruleRows) {
+                RecurringSlotRule rule = (RecurringSlotRule) columns.recurringSlots(row);
+                SlotSet pattern = rule.getPattern();
+                out.putInt(row).putInt(rule.getPeriod()).putInt(pattern.size());
+                for (int i = 0; i < pattern.size(); i++) {
+                    out.putInt(pattern.getStart(i)).putInt(pattern.getEnd(i));
+                }
+            }
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Computes where the column section ends and the strategy table, followed by the rules, begins.
+     * 
+     * @param stations Number of rows
+     * @param slots Number of packed slots
+     * @return Byte offset of the strategy table
+     */
+    static long columnsEnd(long stations, long slots) {
+        return HEADER_BYTES + 4L * (4L * stations + 1) + 16L * slots + 2L * stations;
+    }
+
+    /**
+     * Opens a snapshot file through read-only memory mappings, one per column, so the file as a whole
+     * may exceed 2 GB. The header is checked against the file size before anything is mapped;
+     * only the header, the small strategy table and the recurring windows are decoded, and each row's
+     * type, strategy index and capacity rank are checked against their bounds once. All other columns
+     * are read on demand.
+     * 
+     * @param path Snapshot file
+     * @return The mapped snapshot
+     * @throws IOException if the file cannot be read
+     * @throws IllegalStateException if the file is not a valid snapshot
+     */
+    public static MappedFleetSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedFleetSnapshot(channel);
+        }
+    }
+
+    /**
+     * Checks that the no-argument constructor recreates an equal strategy, so strategies configured
+     * with their own state (e.g. a custom tariff curve) are not silently replaced on reopen.
+     */
+    private static void checkRecreatable(ChargingStrategy strategy) {
+        Object recreated;
+        try {
+            recreated = strategy.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Strategy cannot be recreated from a snapshot: "
+                    + strategy.getClass().getName(), e);
+        }
+        if (!strategy.equals(recreated)) {
+            throw new IllegalArgumentException("Strategy state cannot be stored in a snapshot: "
+                    + strategy.getClass().getName());
+        }
+    }
+
+    /**
+     * Buffers primitive writes and hands them to the channel in fixed-size blocks,
+     * so a snapshot is never held in memory as a whole.
+     */
+    private static final class ChannelWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+        private ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private ChannelWriter putInt(int value) throws IOException {
+            ensure(4).putInt(value);
+            return this;
+        }
+
+        private ChannelWriter putLong(long value) throws IOException {
+            ensure(8).putLong(value);
+            return this;
+        }
+
+        private ChannelWriter putShort(short value) throws IOException {
+            ensure(2).putShort(value);
+            return this;
+        }
+
+        private ChannelWriter put(byte value) throws IOException {
+            ensure(1).put(value);
+            return this;
+        }
+
+        private ChannelWriter put(byte[] values) throws IOException {
+            int offset = 0;
+            while (offset < values.length) {
+                int length = Math.min(values.length - offset, buffer.capacity());
+                ensure(length).put(values, offset, length);
+                offset += length;
+            }
+            return this;
+        }
+
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            return buffer;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+// MappedFleetSnapshot - Serves fleet columns directly from a memory-mapped snapshot file.
+
+package service.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.OccupiedTimeSlot;
+import service.availability.RecurringSlotRule;
+import service.availability.SlotSource;
+import service.store.StationColumns;
+import service.strategy.ChargingStrategy;
+
+public final class MappedFleetSnapshot implements StationColumns {
+
+    private final int stations;         // Number of rows
+    private final long totalCapacity;   // Total capacity stored in the header
+    private final long logPosition;     // Reservation log position the snapshot is current up to
+    private final IntBuffer ids;        // Station ID column
+    private final IntBuffer capacities; // Capacity column
+    private final IntBuffer ranks;      // Rows in descending capacity order
+    private final IntBuffer slotOffsets; // CSR offsets into the slot columns
+    private final LongBuffer slotStarts; // Packed slot start minutes
+    private final LongBuffer slotEnds;  // Packed slot end minutes
+    private final ByteBuffer types;     // Type code column
+    private final ByteBuffer strategyIndexes; // Strategy table index column
+    private final ChargingStrategy[] strategies; // Strategy table recreated from class names
+    private final Map<Integer, SlotSource> recurringSlots; // Recurring windows of the rows that have any
+
+    // Strategies set at runtime; the mapping is read-only, so overrides live on the heap
+    private final Map<Integer, ChargingStrategy> strategyOverrides = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor to map a snapshot file. Every section is checked against the file size before it is
+     * mapped, and each column gets its own mapping, so only a single column is limited to 2 GB.
+     * 
+     * @param channel Open channel of the snapshot file; the mappings stay valid after it is closed
+     * @throws IOException if the file cannot be read
+     * @throws IllegalStateException if the file does not hold a valid snapshot
+     */
+    MappedFleetSnapshot(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < FleetSnapshot.HEADER_BYTES) {
+            throw new IllegalStateException("Not a fleet snapshot");
+        }
+        ByteBuffer header = map(channel, 0, FleetSnapshot.HEADER_BYTES);
+        if (header.getInt(0) != FleetSnapshot.MAGIC) {
+            throw new IllegalStateException("Not a fleet snapshot");
+        }
+        if (header.getInt(4) != FleetSnapshot.VERSION) {
+            throw new IllegalStateException("Unsupported snapshot version: " + header.getInt(4));
+        }
+        this.stations = header.getInt(8);
+        int slots = header.getInt(12);
+        this.totalCapacity = header.getLong(16);
+        long tableOffset = header.getLong(24);
+        this.logPosition = header.getLong(32);
+        if (stations < 0 || slots < 0 || logPosition < 0) {
+            throw new IllegalStateException("Corrupt snapshot header: negative counts or log position");
+        }
+        if (tableOffset != FleetSnapshot.columnsEnd(stations, slots) || tableOffset + 4 > fileSize) {
+            throw new IllegalStateException("Corrupt snapshot header: " + stations + " stations and " + slots
+                    + " slots do not fit a file of " + fileSize + " bytes");
+        }
+
+        long position = FleetSnapshot.HEADER_BYTES;
+        this.ids = map(channel, position, 4L * stations).asIntBuffer();
+        position += 4L * stations;
+        this.capacities = map(channel, position, 4L * stations).asIntBuffer();
+        position += 4L * stations;
+        this.ranks = map(channel, position, 4L * stations).asIntBuffer();
+        position += 4L * stations;
+        this.slotOffsets = map(channel, position, 4L * (stations + 1L)).asIntBuffer();
+        position += 4L * (stations + 1L);
+        this.slotStarts = map(channel, position, 8L * slots).asLongBuffer();
+        position += 8L * slots;
+        this.slotEnds = map(channel, position, 8L * slots).asLongBuffer();
+        position += 8L * slots;
+        this.types = map(channel, position, stations);
+        position += stations;
+        this.strategyIndexes = map(channel, position, stations);
+        if (slotOffsets.get(0) != 0 || slotOffsets.get(stations) != slots) {
+            throw new IllegalStateException("Corrupt snapshot: slot offsets do not cover " + slots + " slots");
+        }
+
+        ByteBuffer table = map(channel, tableOffset, Math.min(fileSize - tableOffset, Integer.MAX_VALUE));
+        int strategyCount = table.getInt();
+        if (strategyCount < 0 || strategyCount > FleetSnapshot.MAX_STRATEGIES) {
+            throw new IllegalStateException("Corrupt snapshot: " + strategyCount + " strategies");
+        }
+        this.strategies = new ChargingStrategy[strategyCount];
+        for (int i = 0; i < strategies.length; i++) {
+            if (table.remaining() < 2 || table.remaining() - 2 < (table.getShort(table.position()) & 0xFFFF)) {
+                throw new IllegalStateException("Corrupt snapshot: strategy table is truncated");
+            }
+            byte[] name = new byte[table.getShort() & 0xFFFF];
+            table.get(name);
+            strategies[i] = instantiate(new String(name, StandardCharsets.UTF_8));
+        }
+        this.recurringSlots = readRules(table, stations);
+        checkRows();
+    }
+
+    /**
+     * Checks every row's type code, strategy index and capacity rank against their bounds,
+     * so a corrupt row fails on open rather than on first access.
+     */
+    private void checkRows() {
+        for (int row = 0; row < stations; row++) {
+            byte type = types.get(row);
+            if (type != TYPE_FAST && type != TYPE_SLOW) {
+                throw new IllegalStateException("Corrupt snapshot: row " + row + " has type code " + type);
+            }
+            int strategy = strategyIndexes.get(row) & 0xFF;
+            if (strategy >= strategies.length) {
+                throw new IllegalStateException("Corrupt snapshot: row " + row + " has strategy index " + strategy
+                        + " of " + strategies.length);
+            }
+            int rank = ranks.get(row);
+            if (rank < 0 || rank >= stations) {
+                throw new IllegalStateException("Corrupt snapshot: capacity rank " + row + " names row " + rank);
+            }
+        }
+    }
+
+    /**
+     * Decodes the recurring windows that follow the strategy table.
+     */
+    private static Map<Integer, SlotSource> readRules(ByteBuffer table, int stations) {
+        int ruleCount = readInt(table);
+        if (ruleCount < 0 || ruleCount > stations) {
+            throw new IllegalStateException("Corrupt snapshot: " + ruleCount + " recurring rules");
+        }
+        Map<Integer, SlotSource> rules = new HashMap<>();
+        for (int i = 0; i < ruleCount; i++) {
+            int row = readInt(table);
+            int period = readInt(table);
+            int windowCount = readInt(table);
+            if (row < 0 || row >= stations || windowCount < 0 || windowCount > table.remaining() / 8) {
+                throw new IllegalStateException("Corrupt snapshot: recurring rule " + i + " is out of range");
+            }
+            List<OccupiedTimeSlot> windows = new ArrayList<>(windowCount);
+            try {
+                for (int w = 0; w < windowCount; w++) {
+                    windows.add(new OccupiedTimeSlot(table.getInt(), table.getInt()));
+                }
+                rules.put(row, RecurringSlotRule.of(period, windows));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Corrupt snapshot: recurring rule " + i + " is invalid", e);
+            }
+        }
+        return rules;
+    }
+
+    private static int readInt(ByteBuffer table) {
+        if (table.remaining() < 4) {
+            throw new IllegalStateException("Corrupt snapshot: recurring rules are truncated");
+        }
+        return table.getInt();
+    }
+
+    /**
+     * Maps one section of the file read-only.
+     */
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Snapshot column of " + size + " bytes exceeds the 2 GB mapping limit");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    /**
+     * Recreates a strategy from its class name. The class is loaded without initializing it and checked
+     * to be a strategy before any of its code runs.
+     */
+    private static ChargingStrategy instantiate(String className) {
+        Class<?> type;
+        try {
+            type = Class.forName(className, false, MappedFleetSnapshot.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalStateException("Cannot recreate strategy " + className, e);
+        }
+        if (!ChargingStrategy.class.isAssignableFrom(type)) {
+            throw new IllegalStateException("Not a charging strategy: " + className);
+        }
+        try {
+            return type.asSubclass(ChargingStrategy.class).getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot recreate strategy " + className, e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return stations;
+    }
+
+    @Override
+    public int stationId(int row) {
+        return ids.get(row);
+    }
+
+    @Override
+    public int capacity(int row) {
+        return capacities.get(row);
+    }
+
+    @Override
+    public byte type(int row) {
+        return types.get(row);
+    }
+
+    @Override
+    public ChargingStrategy strategy(int row) {
+        ChargingStrategy override = strategyOverrides.isEmpty() ? null : strategyOverrides.get(row);
+        return override != null ? override : strategies[strategyIndexes.get(row) & 0xFF];
+    }
+
+    @Override
+    public void setStrategy(int row, ChargingStrategy strategy) {
+        strategyOverrides.put(row, strategy);
+    }
+
+    @Override
+    public SlotSource recurringSlots(int row) {
+        return recurringSlots.get(row);
+    }
+
+    @Override
+    public int rowAtCapacityRank(int rank) {
+        return ranks.get(rank);
+    }
+
+    @Override
+    public int slotCount(int row) {
+        return slotOffsets.get(row + 1) - slotOffsets.get(row);
+    }
+
+    @Override
+    public long slotStartMinute(int row, int slot) {
+        return slotStarts.get(slotOffsets.get(row) + slot);
+    }
+
+    @Override
+    public long slotEndMinute(int row, int slot) {
+        return slotEnds.get(slotOffsets.get(row) + slot);
+    }
+
+    /**
+     * Returns the reservation log position recorded when the snapshot was written.
+     * 
+     * @return Log position in bytes, or 0 if none was recorded
+     */
+    @Override
+    public long logPosition() {
+        return logPosition;
+    }
+
+    /**
+     * Returns the total capacity recorded in the snapshot header in O(1).
+     * 
+     * @return Total capacity in kW
+     */
+    @Override
+    public long totalCapacity() {
+        return totalCapacity;
+    }
+}
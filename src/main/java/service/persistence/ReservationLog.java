@@ -0,0 +1,414 @@
+// ReservationLog - Append-only, checksummed write-ahead log of reservations with group commit.
+
+package service.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+import model.OccupiedTimeSlot;
+
+/**
+ * The file starts with an eight-byte header (int magic, int layout version). Each reservation is one
+ * fixed-size record (big-endian): int stationId, long startMinute, long endMinute, int CRC32 of the
+ * preceding twenty bytes, so minute-resolution slots survive a restart exactly. Appenders copy their
+ * record into a shared buffer; whichever appender finds no flush in progress becomes the leader, writes
+ * everything buffered so far and forces it to disk once, while the others wait for that single fsync to
+ * cover their records. A record handed to the log is never abandoned: waiting ignores interrupts, and a
+ * failed flush fails every record that is not yet durable and cuts the file back to the last durable
+ * record, so no later flush can write a record whose appender was told it failed.
+ * <p>
+ * Logs of the first layout have no header and store 16-byte records of int hours; they are still
+ * replayed, and {@link #open(Path)} rewrites them in the current layout before appending.
+ */
+public final class ReservationLog implements Closeable {
+
+    // Identifies a log file with a header ("RESV")
+    static final int MAGIC = 0x52455356;
+
+    // Current record layout
+    static final int VERSION = 2;
+
+    // Size of the file header in bytes
+    static final int HEADER_BYTES = 8;
+
+    // Size of one record in bytes
+    static final int RECORD_BYTES = 24;
+
+    // Size of one record of the headerless first layout, which stored int hours
+    static final int LEGACY_RECORD_BYTES = 16;
+
+    // Initial capacity of the pending buffer, in records
+    private static final int INITIAL_BATCH = 256;
+
+    private final FileChannel channel; // Log file, positioned at the end of the valid records
+    private final Object lock = new Object(); // Guards the fields below
+    private final CRC32 checksum = new CRC32(); // Checksum of the record being appended, under the lock
+
+    private ByteBuffer pending;   // Records appended but not yet handed to a leader
+    private ByteBuffer spare;     // Buffer swapped in while the leader writes the pending one
+    private long appended;        // Sequence number of the last appended record
+    private long durable;         // Sequence number of the last record forced to disk
+    private long durableBytes;    // File size covered by the records forced to disk
+    private boolean flushing;     // Whether a leader is currently writing
+    private IOException failure;  // Failure of the last flush, reported to every waiter
+    private boolean closed;       // Whether the log has been closed
+
+    private ReservationLog(FileChannel channel, long durableBytes) {
+        this.channel = channel;
+        this.durableBytes = durableBytes;
+        this.pending = ByteBuffer.allocate(INITIAL_BATCH * RECORD_BYTES);
+        this.spare = ByteBuffer.allocate(INITIAL_BATCH * RECORD_BYTES);
+    }
+
+    /**
+     * Opens a log for appending, creating it if needed.
+     * A torn or corrupt tail left by a crash is truncated so new records follow the last valid one,
+     * and a log of the first layout is rewritten in the current one.
+     * 
+     * @param path Log file
+     * @return The opened log
+     * @throws IOException if the file cannot be opened, or has a header of an unknown layout version
+     */
+    public static ReservationLog open(Path path) throws IOException {
+        if (Files.exists(path) && Files.size(path) >= HEADER_BYTES && !hasHeader(path)) {
+            upgrade(path);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long valid;
+            if (channel.size() < HEADER_BYTES) {
+                // New file, or one torn while its header was written
+                channel.truncate(0);
+                channel.write(header(), 0);
+                channel.force(false);
+                valid = HEADER_BYTES;
+            } else {
+                valid = read(channel, HEADER_BYTES, RECORD_BYTES, (stationId, slot) -> { });
+            }
+            channel.truncate(valid);
+            channel.position(valid);
+            return new ReservationLog(channel, valid);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads every valid record of a log in order, stopping at the first torn or corrupt record.
+     * Logs of the first layout are read as whole-hour slots.
+     * 
+     * @param path Log file
+     * @param consumer Receives the station ID and reserved slot of each record
+     * @return Number of valid records read
+     * @throws IOException if the file cannot be read, or has a header of an unknown layout version
+     */
+    public static long replay(Path path, BiConsumer<Integer, OccupiedTimeSlot> consumer) throws IOException {
+        return replay(path, 0, consumer);
+    }
+
+    /**
+     * Reads the valid records of a log from a position on, e.g. the position a snapshot is current up to,
+     * stopping at the first torn or corrupt record.
+     * 
+     * @param path Log file
+     * @param from Position from {@link #getDurablePosition()}, or 0 to read the whole log
+     * @param consumer Receives the station ID and reserved slot of each record
+     * @return Number of valid records read
+     * @throws IOException if the file cannot be read, has a header of an unknown layout version,
+     *         or the position is not at a record of this log
+     */
+    public static long replay(Path path, long from, BiConsumer<Integer, OccupiedTimeSlot> consumer)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return 0;
+            }
+            if (!hasHeader(channel)) {
+                if (from != 0) {
+                    throw new IOException("Log position " + from + " does not apply to a log of the first layout");
+                }
+                return read(channel, 0, LEGACY_RECORD_BYTES, consumer) / LEGACY_RECORD_BYTES;
+            }
+            long start = Math.max(from, HEADER_BYTES);
+            if (from < 0 || (start - HEADER_BYTES) % RECORD_BYTES != 0) {
+                throw new IOException("Log position " + from + " is not at a record boundary");
+            }
+            return (read(channel, start, RECORD_BYTES, consumer) - start) / RECORD_BYTES;
+        }
+    }
+
+    /**
+     * Reads records of the given size from a position on, handing each valid one to the consumer.
+     * 
+     * @return File offset just past the last valid record
+     */
+    private static long read(FileChannel channel, long position, int recordBytes,
+            BiConsumer<Integer, OccupiedTimeSlot> consumer) throws IOException {
+        long valid = position;
+        channel.position(position);
+        ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BATCH * recordBytes);
+        CRC32 crc = new CRC32();
+        while (channel.read(buffer) > 0 || buffer.position() >= recordBytes) {
+            buffer.flip();
+            while (buffer.remaining() >= recordBytes) {
+                int offset = buffer.position();
+                int stationId = buffer.getInt();
+                long start = recordBytes == RECORD_BYTES ? buffer.getLong() : buffer.getInt();
+                long end = recordBytes == RECORD_BYTES ? buffer.getLong() : buffer.getInt();
+                int checksum = buffer.getInt();
+                crc.reset();
+                crc.update(buffer.array(), offset, recordBytes - 4);
+                if ((int) crc.getValue() != checksum || start >= end) {
+                    return valid;
+                }
+                consumer.accept(stationId, recordBytes == RECORD_BYTES
+                        ? OccupiedTimeSlot.ofMinutes(start, end)
+                        : new OccupiedTimeSlot((int) start, (int) end));
+                valid += recordBytes;
+            }
+            buffer.compact();
+        }
+        return valid;
+    }
+
+    private static boolean hasHeader(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return hasHeader(channel);
+        }
+    }
+
+    /**
+     * Checks whether a file of at least HEADER_BYTES starts with the log header, rejecting unknown versions.
+     * A first-layout file starts with a station ID instead.
+     */
+    private static boolean hasHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // Keep reading until the header is complete
+        }
+        if (header.getInt(0) != MAGIC) {
+            return false;
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported reservation log version " + header.getInt(4));
+        }
+        return true;
+    }
+
+    private static ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+    }
+
+    /**
+     * Rewrites a log of the first layout in the current one, replacing the file only once the copy is
+     * on disk, so a crash during the upgrade leaves either the old or the new log.
+     */
+    private static void upgrade(Path path) throws IOException {
+        Path copy = path.resolveSibling(path.getFileName() + ".upgrade");
+        try (FileChannel target = FileChannel.open(copy, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer records = ByteBuffer.allocate(INITIAL_BATCH * RECORD_BYTES);
+            records.put(header());
+            IOException[] error = new IOException[1];
+            CRC32 crc = new CRC32();
+            replay(path, (stationId, slot) -> {
+                if (error[0] != null) {
+                    return;
+                }
+                try {
+                    if (records.remaining() < RECORD_BYTES) {
+                        records.flip();
+                        while (records.hasRemaining()) {
+                            target.write(records);
+                        }
+                        records.clear();
+                    }
+                    encode(records, crc, stationId, slot);
+                } catch (IOException e) {
+                    error[0] = e;
+                }
+            });
+            if (error[0] != null) {
+                throw error[0];
+            }
+            records.flip();
+            while (records.hasRemaining()) {
+                target.write(records);
+            }
+            target.force(false);
+        }
+        Files.move(copy, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes one record of the current layout at the buffer's position.
+     */
+    private static void encode(ByteBuffer buffer, CRC32 crc, int stationId, OccupiedTimeSlot slot) {
+        int position = buffer.position();
+        buffer.putInt(stationId).putLong(slot.getStartMinute()).putLong(slot.getEndMinute());
+        crc.reset();
+        crc.update(buffer.array(), position, RECORD_BYTES - 4);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Appends a reservation and returns once it is durable on disk.
+     * Concurrent appenders share one write and fsync. An interrupt does not cut the wait short;
+     * the interrupt status is restored on return. After a failed flush the log stays failed
+     * and must be reopened.
+     * 
+     * @param stationId Station the slot was reserved on
+     * @param slot The reserved slot
+     * @throws IOException if the record could not be written or forced to disk, or an earlier flush failed;
+     *         the record is then not in the log
+     * @throws IllegalStateException if the log has been closed
+     */
+    public void append(int stationId, OccupiedTimeSlot slot) throws IOException {
+        long sequence;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Reservation log is closed");
+            }
+            if (failure != null) {
+                throw new IOException("Reservation log failed and must be reopened", failure);
+            }
+            if (pending.remaining() < RECORD_BYTES) {
+                ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2);
+                pending.flip();
+                pending = larger.put(pending);
+            }
+            encode(pending, checksum, stationId, slot);
+            sequence = ++appended;
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * Waits until the given record is durable, leading a flush whenever no other appender is.
+     * Interrupts are deferred until the record is durable or failed, and never reach the channel,
+     * which would close itself on an interrupt during I/O.
+     */
+    private void awaitDurable(long sequence) throws IOException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                ByteBuffer batch;
+                long batchEnd;
+                synchronized (lock) {
+                    while (flushing && durable < sequence) {
+                        try {
+                            lock.wait();
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                    if (durable >= sequence) {
+                        return;
+                    }
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    // Become the leader for everything appended so far
+                    flushing = true;
+                    batch = pending;
+                    batchEnd = appended;
+                    pending = spare;
+                    pending.clear();
+                }
+                interrupted |= Thread.interrupted();
+                IOException error = null;
+                batch.flip();
+                int batchBytes = batch.limit();
+                try {
+                    while (batch.hasRemaining()) {
+                        channel.write(batch);
+                    }
+                    channel.force(false);
+                } catch (IOException e) {
+                    error = e;
+                    discardUndurable(e);
+                }
+                synchronized (lock) {
+                    flushing = false;
+                    spare = batch;
+                    if (error == null) {
+                        durable = batchEnd;
+                        durableBytes += batchBytes;
+                    } else {
+                        failure = error;
+                        // Records appended meanwhile fail with the batch and are never written
+                        pending.clear();
+                    }
+                    lock.notifyAll();
+                }
+                if (error != null) {
+                    throw error;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Cuts the file back to the last durable record after a failed flush, so records of the failed batch
+     * that did reach the file are not replayed. Only the leader calls this, while it owns durableBytes.
+     */
+    private void discardUndurable(IOException error) {
+        try {
+            channel.truncate(durableBytes);
+            channel.force(false);
+        } catch (IOException e) {
+            error.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Gets the number of records forced to disk since the log was opened.
+     * 
+     * @return Durable record count
+     */
+    public long getDurableCount() {
+        synchronized (lock) {
+            return durable;
+        }
+    }
+
+    /**
+     * Gets the file position just past the last record forced to disk. Every reservation acknowledged
+     * before the call lies before it, so a snapshot taken afterwards can record it and replay can skip
+     * to it with {@link #replay(Path, long, BiConsumer)}.
+     * 
+     * @return Durable log position in bytes
+     */
+    public long getDurablePosition() {
+        synchronized (lock) {
+            return durableBytes;
+        }
+    }
+
+    /**
+     * Closes the log file. Records already acknowledged by {@link #append} are durable.
+     * 
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            closed = true;
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,76 @@
+// Assignment - Records the station and time slot assigned to a charging request.
+
+package service.scheduler;
+
+import model.ChargingRequest;
+import model.ChargingStation;
+import model.OccupiedTimeSlot;
+
+public class Assignment {
+
+    private final ChargingRequest request;  // The scheduled request
+    private final ChargingStation station;  // Station the request is assigned to
+    private final OccupiedTimeSlot slot;    // Time slot reserved on the station
+    private final double efficiency;        // Strategy efficiency of the assignment
+
+    /**
+     * Constructor to create an assignment.
+     * 
+     * @param request The scheduled charging request
+     * @param station Station the request is assigned to
+     * @param slot Time slot reserved on the station
+     * @param efficiency Efficiency of charging on the station for the slot's duration
+     */
+    public Assignment(ChargingRequest request, ChargingStation station, OccupiedTimeSlot slot, double efficiency) {
+        this.request = request;
+        this.station = station;
+        this.slot = slot;
+        this.efficiency = efficiency;
+    }
+
+    /**
+     * Gets the scheduled charging request.
+     * 
+     * @return The charging request
+     */
+    public ChargingRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Gets the station the request is assigned to.
+     * 
+     * @return The charging station
+     */
+    public ChargingStation getStation() {
+        return station;
+    }
+
+    /**
+     * Gets the time slot reserved on the station.
+     * 
+     * @return The reserved slot
+     */
+    public OccupiedTimeSlot getSlot() {
+        return slot;
+    }
+
+    /**
+     * Gets the efficiency of the assignment as computed by the station's strategy.
+     * 
+     * @return Efficiency value
+     */
+    public double getEfficiency() {
+        return efficiency;
+    }
+
+    /**
+     * Provides a string representation of the assignment.
+     * 
+     * @return Formatted string with vehicle, station and slot
+     */
+    @Override
+    public String toString() {
+        return "Vehicle " + request.getVehicleId() + " -> Station " + station.getStationId() + " " + slot;
+    }
+}
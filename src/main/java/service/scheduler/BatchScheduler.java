@@ -0,0 +1,571 @@
+// BatchScheduler - Assigns batches of vehicle charging requests to stations and time slots.
+
+package service.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import model.ChargingRequest;
+import model.ChargingStation;
+import model.EpochMinutes;
+import model.OccupiedTimeSlot;
+
+public class BatchScheduler {
+
+    // Earliest deadline first, then earliest arrival, then vehicle ID for a deterministic order
+    private static final Comparator<ChargingRequest> EARLIEST_DEADLINE_FIRST = Comparator
+            .comparingLong(ChargingRequest::getDeadlineMinute)
+            .thenComparingLong(ChargingRequest::getArrivalMinute)
+            .thenComparingInt(ChargingRequest::getVehicleId);
+
+    // Marks a request/station pair without a feasible start
+    private static final long NO_START = Long.MIN_VALUE;
+
+    // Cost used in exact mode for request/station pairs that cannot be scheduled
+    private static final double INFEASIBLE = 1e12;
+
+    // Largest requests x stations product accepted by scheduleExact (about 64 MB of cost and start tables)
+    public static final int MAX_EXACT_CELLS = 1 << 22;
+
+    // Station count below which the best-station search is not split across threads
+    private static final int PARALLEL_STATION_THRESHOLD = 2048;
+
+    // Stations that requests may be assigned to
+    private final List<ChargingStation> stations;
+
+    // Pool used to search large station sets in parallel, or null for a sequential search
+    private final ForkJoinPool pool;
+
+    // Site load profile over minutes that placed bookings are admitted into, or null for no site power cap
+    private final SiteLoadProfile loadProfile;
+
+    /**
+     * Constructor to create a sequential scheduler over a set of stations.
+     * 
+     * @param stations Stations available for assignment
+     */
+    public BatchScheduler(List<ChargingStation> stations) {
+        this(stations, null);
+    }
+
+    /**
+     * Constructor to create a scheduler that searches large station sets on a fork-join pool.
+     * Results are identical to the sequential scheduler.
+     * 
+     * @param stations Stations available for assignment
+     * @param pool Pool used for the parallel best-station search, or null for a sequential search
+     */
+    public BatchScheduler(List<ChargingStation> stations, ForkJoinPool pool) {
+        this(stations, pool, null);
+    }
+
+    /**
+     * Constructor to create a scheduler that keeps the site's combined load under a power cap.
+     * The profile's time units are minutes, like the scheduled slots. A booking draws its station's
+     * full capacity for its whole slot; it is only placed where the load planned so far plus that
+     * capacity stays within the cap. Each run plans against a copy of the profile, so the shared
+     * profile only changes when a plan is handed to {@link #commit(SchedulePlan)}. Bookings outside
+     * the profile's horizon cannot be admitted.
+     * 
+     * @param stations Stations available for assignment
+     * @param pool Pool used for the parallel best-station search, or null for a sequential search
+     * @param loadProfile Site load profile over minutes to admit bookings into, or null for no cap
+     */
+    public BatchScheduler(List<ChargingStation> stations, ForkJoinPool pool, SiteLoadProfile loadProfile) {
+        this.stations = List.copyOf(stations);
+        this.pool = pool;
+        this.loadProfile = loadProfile;
+    }
+
+    /**
+     * Schedules a batch with a greedy interval-scheduling pass with minute resolution.
+     * Requests are taken in earliest-deadline-first order; each one is placed on the station
+     * with the highest efficiency that still has a free stretch inside its window, using the
+     * earliest such start. Each candidate is rated with
+     * {@link ChargingStation#getSessionEfficiency(double, double)} at its real window, so decorators
+     * such as a solar forecast steer sessions toward their hours. Sessions last
+     * {@link ChargingRequest#getChargingMinutes(int)}, so a session is not padded to whole hours and
+     * requests with windows inside one hour can still be placed. Free time per station is kept in a
+     * TreeMap keyed by gap start, so finding and carving a slot costs O(log g) per visited gap.
+     * 
+     * @param requests Charging requests to schedule
+     * @return The resulting plan
+     */
+    public SchedulePlan schedule(List<ChargingRequest> requests) {
+        List<TreeMap<Long, Long>> freeSlots = buildFreeSlotIndexes(requests);
+        SiteLoadProfile planned = loadProfile == null ? null : loadProfile.copy();
+        ChargingRequest[] ordered = requests.toArray(new ChargingRequest[0]);
+        Arrays.sort(ordered, EARLIEST_DEADLINE_FIRST);
+
+        Map<ChargingRequest, Assignment> placed = new IdentityHashMap<>();
+        for (ChargingRequest request : ordered) {
+            Candidate best = findBestStation(freeSlots, planned, request);
+            if (best != null) {
+                placed.put(request, place(freeSlots, planned, request, best));
+            }
+        }
+        return toPlan(requests, placed);
+    }
+
+    /**
+     * Schedules a small batch exactly by solving a min-cost bipartite matching between
+     * requests and stations (rectangular Hungarian algorithm, O(k^2 * K) for k = min(requests, stations)
+     * and K = max(requests, stations)). In this mode each station serves at most one request of the batch,
+     * placed at the earliest free minute inside the request's window; the total efficiency is maximized.
+     * Under a site power cap, the matching sees each pair on its own; matched bookings are then admitted
+     * in earliest-deadline-first order, and one that would overload the site together with those before it
+     * moves to its station's next admissible start, or else to the best station the matching left unused.
+     * 
+     * @param requests Charging requests to schedule
+     * @return The resulting plan
+     * @throws IllegalArgumentException if requests x stations exceeds {@link #MAX_EXACT_CELLS};
+     *         use {@link #schedule(List)} for such batches
+     */
+    public SchedulePlan scheduleExact(List<ChargingRequest> requests) {
+        int rows = requests.size();
+        int cols = stations.size();
+        if ((long) rows * cols > MAX_EXACT_CELLS) {
+            throw new IllegalArgumentException("Batch too large for exact scheduling: " + rows + " requests x "
+                    + cols + " stations exceeds " + MAX_EXACT_CELLS + " pairs");
+        }
+        List<TreeMap<Long, Long>> freeSlots = buildFreeSlotIndexes(requests);
+        SiteLoadProfile planned = loadProfile == null ? null : loadProfile.copy();
+        double[][] cost = new double[rows][cols];
+        long[][] starts = new long[rows][cols];
+        for (int s = 0; s < cols; s++) {
+            ChargingStation station = stations.get(s);
+            for (int r = 0; r < rows; r++) {
+                ChargingRequest request = requests.get(r);
+                long minutes = request.getChargingMinutes(station.getCapacity());
+                starts[r][s] = earliestStart(freeSlots.get(s), planned, request, minutes, station.getCapacity());
+                // Rated through the station at the pair's own start, so window-aware decorators count
+                double efficiency = starts[r][s] == NO_START ? Double.NaN
+                        : efficiency(station, starts[r][s], minutes);
+                cost[r][s] = Double.isFinite(efficiency) ? -efficiency : INFEASIBLE;
+            }
+        }
+
+        int[] match = matchRequests(cost, rows, cols);
+        boolean[] used = new boolean[cols];
+        Integer[] ordered = new Integer[rows];
+        for (int r = 0; r < rows; r++) {
+            ordered[r] = r;
+            if (match[r] >= 0 && cost[r][match[r]] < INFEASIBLE) {
+                used[match[r]] = true;
+            } else {
+                match[r] = -1;
+            }
+        }
+        Arrays.sort(ordered, Comparator.comparing(requests::get, EARLIEST_DEADLINE_FIRST));
+
+        Map<ChargingRequest, Assignment> placed = new IdentityHashMap<>();
+        List<ChargingRequest> displaced = new ArrayList<>();
+        for (int r : ordered) {
+            int s = match[r];
+            if (s < 0) {
+                continue;
+            }
+            ChargingRequest request = requests.get(r);
+            ChargingStation station = stations.get(s);
+            long minutes = request.getChargingMinutes(station.getCapacity());
+            long start = starts[r][s];
+            if (planned != null && planned.maxLoad((int) start, (int) (start + minutes)) + station.getCapacity()
+                    > planned.getCapKw()) {
+                // Bookings admitted before this one overlap it; look for a later start on the same station
+                start = earliestStart(freeSlots.get(s), planned, request, minutes, station.getCapacity());
+                if (start == NO_START) {
+                    used[s] = false;
+                    displaced.add(request);
+                    continue;
+                }
+            }
+            placed.put(request, place(freeSlots, planned, request,
+                    new Candidate(s, start, minutes, efficiency(station, start, minutes))));
+        }
+        for (ChargingRequest request : displaced) {
+            Candidate best = findBestUnusedStation(freeSlots, planned, request, used);
+            if (best != null) {
+                used[best.station] = true;
+                placed.put(request, place(freeSlots, planned, request, best));
+            }
+        }
+        return toPlan(requests, placed);
+    }
+
+    /**
+     * Adds the load of a plan's assignments to the shared site profile, all or nothing.
+     * Plans are made against a copy of the profile, so committing is what books their power;
+     * a plan that no longer fits because of bookings committed since it was made is rejected
+     * and should be planned again.
+     * 
+     * @param plan Plan produced by this scheduler
+     * @return true if the plan's load was added, false if it would exceed the cap (the profile is unchanged)
+     */
+    public boolean commit(SchedulePlan plan) {
+        if (loadProfile == null) {
+            return true;
+        }
+        List<Assignment> assignments = plan.getAssignments();
+        int[] begins = new int[assignments.size()];
+        int[] ends = new int[assignments.size()];
+        long[] loads = new long[assignments.size()];
+        for (int i = 0; i < begins.length; i++) {
+            Assignment assignment = assignments.get(i);
+            begins[i] = Math.toIntExact(assignment.getSlot().getStartMinute());
+            ends[i] = Math.toIntExact(assignment.getSlot().getEndMinute());
+            loads[i] = assignment.getStation().getCapacity();
+        }
+        return loadProfile.tryAdmitAll(begins, ends, loads);
+    }
+
+    /**
+     * Books a candidate: carves its slot out of the station's free time, adds its load to the
+     * planning profile and creates the assignment.
+     */
+    private Assignment place(List<TreeMap<Long, Long>> freeSlots, SiteLoadProfile planned, ChargingRequest request,
+            Candidate candidate) {
+        long end = candidate.start + candidate.minutes;
+        ChargingStation station = stations.get(candidate.station);
+        reserve(freeSlots.get(candidate.station), candidate.start, end);
+        if (planned != null) {
+            planned.addLoad((int) candidate.start, (int) end, station.getCapacity());
+        }
+        return new Assignment(request, station, OccupiedTimeSlot.ofMinutes(candidate.start, end), candidate.efficiency);
+    }
+
+    /**
+     * Finds the most efficient station that can still serve the request, splitting the
+     * search across the pool when the station set is large.
+     */
+    private Candidate findBestStation(List<TreeMap<Long, Long>> freeSlots, SiteLoadProfile planned,
+            ChargingRequest request) {
+        if (pool != null && stations.size() >= PARALLEL_STATION_THRESHOLD) {
+            return pool.invoke(new BestStationSearch(freeSlots, planned, request, 0, stations.size()));
+        }
+        return findBestStation(freeSlots, planned, request, 0, stations.size(), null);
+    }
+
+    /**
+     * Searches the stations the exact matching left unused for a request the cap displaced from its match.
+     */
+    private Candidate findBestUnusedStation(List<TreeMap<Long, Long>> freeSlots, SiteLoadProfile planned,
+            ChargingRequest request, boolean[] used) {
+        return findBestStation(freeSlots, planned, request, 0, stations.size(), used);
+    }
+
+    /**
+     * Sequentially searches stations [from, to) for the best candidate, skipping stations marked used.
+     * Higher efficiency wins, then the earlier start, then the lower station index.
+     */
+    private Candidate findBestStation(List<TreeMap<Long, Long>> freeSlots, SiteLoadProfile planned,
+            ChargingRequest request, int from, int to, boolean[] used) {
+        Candidate best = null;
+        for (int s = from; s < to; s++) {
+            if (used != null && used[s]) {
+                continue;
+            }
+            ChargingStation station = stations.get(s);
+            long minutes = request.getChargingMinutes(station.getCapacity());
+            long start = earliestStart(freeSlots.get(s), planned, request, minutes, station.getCapacity());
+            if (start == NO_START) {
+                continue;
+            }
+            Candidate candidate = new Candidate(s, start, minutes, efficiency(station, start, minutes));
+            if (best == null || candidate.beats(best)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Builds one free-minute index per station covering the batch horizon, honoring recurring windows.
+     */
+    private List<TreeMap<Long, Long>> buildFreeSlotIndexes(List<ChargingRequest> requests) {
+        List<TreeMap<Long, Long>> indexes = new ArrayList<>(stations.size());
+        if (requests.isEmpty()) {
+            for (int s = 0; s < stations.size(); s++) {
+                indexes.add(new TreeMap<>());
+            }
+            return indexes;
+        }
+        long horizonStart = Long.MAX_VALUE;
+        long horizonEnd = Long.MIN_VALUE;
+        for (ChargingRequest request : requests) {
+            horizonStart = Math.min(horizonStart, request.getArrivalMinute());
+            horizonEnd = Math.max(horizonEnd, request.getDeadlineMinute());
+        }
+        for (ChargingStation station : stations) {
+            long[] free = station.freeMinutes(horizonStart, horizonEnd);
+            TreeMap<Long, Long> index = new TreeMap<>();
+            for (int i = 0; i < free.length; i += 2) {
+                index.put(free[i], free[i + 1]);
+            }
+            indexes.add(index);
+        }
+        return indexes;
+    }
+
+    /**
+     * Finds the earliest start minute inside the request window where the given number of minutes fits,
+     * or NO_START if none does.
+     */
+    static long findEarliestStart(TreeMap<Long, Long> freeSlots, ChargingRequest request, long minutes) {
+        long arrival = request.getArrivalMinute();
+        long deadline = request.getDeadlineMinute();
+        if (minutes > deadline - arrival) {
+            return NO_START;
+        }
+        Map.Entry<Long, Long> gap = freeSlots.floorEntry(arrival);
+        if (gap == null || gap.getValue() <= arrival) {
+            gap = freeSlots.higherEntry(arrival);
+        }
+        while (gap != null && gap.getKey() < deadline) {
+            long start = Math.max(gap.getKey(), arrival);
+            if (start + minutes <= Math.min(gap.getValue(), deadline)) {
+                return start;
+            }
+            gap = freeSlots.higherEntry(gap.getKey());
+        }
+        return NO_START;
+    }
+
+    /**
+     * Finds the earliest start for a station, also respecting the site power cap when a planning profile is set.
+     */
+    private static long earliestStart(TreeMap<Long, Long> freeSlots, SiteLoadProfile planned, ChargingRequest request,
+            long minutes, int capacity) {
+        if (planned == null) {
+            return findEarliestStart(freeSlots, request, minutes);
+        }
+        return findEarliestAdmissibleStart(freeSlots, request, minutes, planned, capacity);
+    }
+
+    /**
+     * Finds the earliest start minute inside the request window where the given number of minutes fits
+     * a free gap and the site load stays within the profile's cap, or NO_START if none does.
+     */
+    static long findEarliestAdmissibleStart(TreeMap<Long, Long> freeSlots, ChargingRequest request, long minutes,
+            SiteLoadProfile loadProfile, int capacity) {
+        long arrival = request.getArrivalMinute();
+        long deadline = request.getDeadlineMinute();
+        if (minutes > deadline - arrival || minutes > loadProfile.getHorizon()) {
+            return NO_START;
+        }
+        long profileEnd = (long) loadProfile.getOrigin() + loadProfile.getHorizon();
+        Map.Entry<Long, Long> gap = freeSlots.floorEntry(arrival);
+        if (gap == null || gap.getValue() <= arrival) {
+            gap = freeSlots.higherEntry(arrival);
+        }
+        while (gap != null && gap.getKey() < deadline && gap.getKey() < profileEnd) {
+            long start = Math.max(Math.max(gap.getKey(), arrival), loadProfile.getOrigin());
+            long latestStart = Math.min(Math.min(gap.getValue(), deadline), profileEnd) - minutes;
+            if (start <= latestStart) {
+                int admitted = loadProfile.findEarliestAdmissible((int) start, (int) latestStart, (int) minutes,
+                        capacity);
+                if (admitted != Integer.MIN_VALUE) {
+                    return admitted;
+                }
+            }
+            gap = freeSlots.higherEntry(gap.getKey());
+        }
+        return NO_START;
+    }
+
+    /**
+     * Removes [start, end) from the free gap that contains it.
+     */
+    static void reserve(TreeMap<Long, Long> freeSlots, long start, long end) {
+        Map.Entry<Long, Long> gap = freeSlots.floorEntry(start);
+        freeSlots.remove(gap.getKey());
+        if (gap.getKey() < start) {
+            freeSlots.put(gap.getKey(), start);
+        }
+        if (end < gap.getValue()) {
+            freeSlots.put(end, gap.getValue());
+        }
+    }
+
+    /**
+     * Rates a session on a station by its real window, through the station and all of its decorators.
+     */
+    private static double efficiency(ChargingStation station, long start, long minutes) {
+        return station.getSessionEfficiency(hours(start), hours(start + minutes));
+    }
+
+    private static double hours(long minute) {
+        return (double) minute / EpochMinutes.PER_HOUR;
+    }
+
+    private static SchedulePlan toPlan(List<ChargingRequest> requests, Map<ChargingRequest, Assignment> placed) {
+        List<Assignment> assignments = new ArrayList<>(placed.size());
+        List<ChargingRequest> unassigned = new ArrayList<>();
+        for (ChargingRequest request : requests) {
+            Assignment assignment = placed.get(request);
+            if (assignment != null) {
+                assignments.add(assignment);
+            } else {
+                unassigned.add(request);
+            }
+        }
+        return new SchedulePlan(assignments, unassigned);
+    }
+
+    /**
+     * Matches requests to stations, solving over the shorter side so the Hungarian algorithm
+     * never runs on more rows than columns.
+     * 
+     * @return For each request, the station matched to it, or -1 if it was left out
+     */
+    private static int[] matchRequests(double[][] cost, int rows, int cols) {
+        if (rows <= cols) {
+            return solveAssignment(cost, cols);
+        }
+        double[][] transposed = new double[cols][rows];
+        for (int r = 0; r < rows; r++) {
+            for (int s = 0; s < cols; s++) {
+                transposed[s][r] = cost[r][s];
+            }
+        }
+        int[] requestOf = solveAssignment(transposed, rows);
+        int[] match = new int[rows];
+        Arrays.fill(match, -1);
+        for (int s = 0; s < cols; s++) {
+            match[requestOf[s]] = s;
+        }
+        return match;
+    }
+
+    /**
+     * Solves the rectangular assignment problem with the Hungarian algorithm (potentials variant).
+     * 
+     * @param cost Cost matrix with at most as many rows as columns
+     * @param columns Number of columns of the matrix
+     * @return For each row, the column assigned to it
+     */
+    private static int[] solveAssignment(double[][] cost, int columns) {
+        int n = cost.length;
+        int m = columns;
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] owner = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minValue = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+        for (int row = 1; row <= n; row++) {
+            owner[0] = row;
+            int col0 = 0;
+            Arrays.fill(minValue, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[col0] = true;
+                int row0 = owner[col0];
+                double delta = Double.POSITIVE_INFINITY;
+                int col1 = 0;
+                for (int col = 1; col <= m; col++) {
+                    if (!used[col]) {
+                        double current = cost[row0 - 1][col - 1] - u[row0] - v[col];
+                        if (current < minValue[col]) {
+                            minValue[col] = current;
+                            way[col] = col0;
+                        }
+                        if (minValue[col] < delta) {
+                            delta = minValue[col];
+                            col1 = col;
+                        }
+                    }
+                }
+                for (int col = 0; col <= m; col++) {
+                    if (used[col]) {
+                        u[owner[col]] += delta;
+                        v[col] -= delta;
+                    } else {
+                        minValue[col] -= delta;
+                    }
+                }
+                col0 = col1;
+            } while (owner[col0] != 0);
+            do {
+                int col1 = way[col0];
+                owner[col0] = owner[col1];
+                col0 = col1;
+            } while (col0 != 0);
+        }
+        int[] match = new int[n];
+        for (int col = 1; col <= m; col++) {
+            if (owner[col] != 0) {
+                match[owner[col] - 1] = col - 1;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * A feasible placement of the current request on one station.
+     */
+    private static final class Candidate {
+        private final int station;
+        private final long start;
+        private final long minutes;
+        private final double efficiency;
+
+        private Candidate(int station, long start, long minutes, double efficiency) {
+            this.station = station;
+            this.start = start;
+            this.minutes = minutes;
+            this.efficiency = efficiency;
+        }
+
+        /**
+         * Checks whether this candidate should replace one found at a lower station index.
+         */
+        private boolean beats(Candidate other) {
+            return efficiency > other.efficiency || (efficiency == other.efficiency && start < other.start);
+        }
+    }
+
+    /**
+     * Fork-join task splitting the best-station search into station ranges.
+     * Partial results are merged left to right, which keeps the sequential tie-breaking.
+     */
+    @SuppressWarnings("serial") // Holds live free-slot maps and is never serialized
+    private final class BestStationSearch extends RecursiveTask<Candidate> {
+        private final List<TreeMap<Long, Long>> freeSlots;
+        private final SiteLoadProfile planned;
+        private final ChargingRequest request;
+        private final int from;
+        private final int to;
+
+        private BestStationSearch(List<TreeMap<Long, Long>> freeSlots, SiteLoadProfile planned,
+                ChargingRequest request, int from, int to) {
+            this.freeSlots = freeSlots;
+            this.planned = planned;
+            this.request = request;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Candidate compute() {
+            if (to - from <= PARALLEL_STATION_THRESHOLD) {
+                return findBestStation(freeSlots, planned, request, from, to, null);
+            }
+            int mid = (from + to) >>> 1;
+            BestStationSearch left = new BestStationSearch(freeSlots, planned, request, from, mid);
+            left.fork();
+            Candidate right = new BestStationSearch(freeSlots, planned, request, mid, to).compute();
+            Candidate best = left.join();
+            if (best == null || (right != null && right.beats(best))) {
+                best = right;
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+// ParallelPlanner - Fork-join batch planner that partitions requests into independent time horizons.
+
+package service.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import model.ChargingRequest;
+import model.ChargingStation;
+
+public class ParallelPlanner {
+
+    // Stations that requests may be assigned to
+    private final List<ChargingStation> stations;
+
+    // Pool the planning tasks run on
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor to create a planner running on the common fork-join pool.
+     * 
+     * @param stations Stations available for assignment
+     */
+    public ParallelPlanner(List<ChargingStation> stations) {
+        this(stations, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor to create a planner running on the given fork-join pool.
+     * 
+     * @param stations Stations available for assignment
+     * @param pool Pool the planning tasks run on
+     */
+    public ParallelPlanner(List<ChargingStation> stations, ForkJoinPool pool) {
+        this.stations = List.copyOf(stations);
+        this.pool = pool;
+    }
+
+    /**
+     * Plans a batch of requests in parallel.
+     * Requests whose [arrival, deadline) windows chain together by overlap form one time
+     * partition; different partitions use disjoint stretches of every station's free time,
+     * so they are scheduled concurrently with the greedy BatchScheduler. Inside a partition,
+     * large station sets are searched in parallel as well. Partial plans are merged back in
+     * input order, so the result equals a sequential greedy run over the whole batch.
+     * 
+     * @param requests Charging requests to schedule
+     * @return The merged plan
+     */
+    public SchedulePlan plan(List<ChargingRequest> requests) {
+        List<List<ChargingRequest>> partitions = partitionByTime(requests);
+        List<SchedulePlan> partials = pool.invoke(new PartitionTask(partitions, 0, partitions.size()));
+
+        Map<ChargingRequest, Assignment> placed = new IdentityHashMap<>();
+        for (SchedulePlan partial : partials) {
+            for (Assignment assignment : partial.getAssignments()) {
+                placed.put(assignment.getRequest(), assignment);
+            }
+        }
+        List<Assignment> assignments = new ArrayList<>(placed.size());
+        List<ChargingRequest> unassigned = new ArrayList<>();
+        for (ChargingRequest request : requests) {
+            Assignment assignment = placed.get(request);
+            if (assignment != null) {
+                assignments.add(assignment);
+            } else {
+                unassigned.add(request);
+            }
+        }
+        return new SchedulePlan(assignments, unassigned);
+    }
+
+    /**
+     * Splits requests into groups whose time windows do not overlap any other group.
+     * Windows are compared in minutes, the resolution the scheduler places sessions at.
+     * 
+     * @param requests Charging requests to partition
+     * @return Partitions ordered by start time
+     */
+    static List<List<ChargingRequest>> partitionByTime(List<ChargingRequest> requests) {
+        ChargingRequest[] sorted = requests.toArray(new ChargingRequest[0]);
+        Arrays.sort(sorted, Comparator.comparingLong(ChargingRequest::getArrivalMinute));
+        List<List<ChargingRequest>> partitions = new ArrayList<>();
+        List<ChargingRequest> current = null;
+        long currentEnd = Long.MIN_VALUE;
+        for (ChargingRequest request : sorted) {
+            if (current == null || request.getArrivalMinute() >= currentEnd) {
+                current = new ArrayList<>();
+                partitions.add(current);
+                currentEnd = request.getDeadlineMinute();
+            } else {
+                currentEnd = Math.max(currentEnd, request.getDeadlineMinute());
+            }
+            current.add(request);
+        }
+        return partitions;
+    }
+
+    /**
+     * Fork-join task scheduling the partitions in [from, to).
+     */
+    @SuppressWarnings("serial") // Only ever run inside the planner's pool, never serialized
+    private final class PartitionTask extends RecursiveTask<List<SchedulePlan>> {
+        private final List<List<ChargingRequest>> partitions;
+        private final int from;
+        private final int to;
+
+        private PartitionTask(List<List<ChargingRequest>> partitions, int from, int to) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<SchedulePlan> compute() {
+            if (to - from <= 1) {
+                List<SchedulePlan> plans = new ArrayList<>(1);
+                if (from < to) {
+                    plans.add(new BatchScheduler(stations, pool).schedule(partitions.get(from)));
+                }
+                return plans;
+            }
+            int mid = (from + to) >>> 1;
+            PartitionTask left = new PartitionTask(partitions, from, mid);
+            left.fork();
+            List<SchedulePlan> right = new PartitionTask(partitions, mid, to).compute();
+            List<SchedulePlan> plans = left.join();
+            plans.addAll(right);
+            return plans;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+// SchedulePlan - Result of a batch scheduling run: assignments plus requests that could not be placed.
+
+package service.scheduler;
+
+import java.util.Collections;
+import java.util.List;
+
+import model.ChargingRequest;
+
+public class SchedulePlan {
+
+    // Assignments ordered by the position of their request in the input batch
+    private final List<Assignment> assignments;
+
+    // Requests for which no feasible station and slot was found, in input order
+    private final List<ChargingRequest> unassigned;
+
+    /**
+     * Constructor to create a schedule plan.
+     * 
+     * @param assignments Successful assignments
+     * @param unassigned Requests that could not be scheduled
+     */
+    public SchedulePlan(List<Assignment> assignments, List<ChargingRequest> unassigned) {
+        this.assignments = Collections.unmodifiableList(assignments);
+        this.unassigned = Collections.unmodifiableList(unassigned);
+    }
+
+    /**
+     * Gets the successful assignments.
+     * 
+     * @return List of assignments
+     */
+    public List<Assignment> getAssignments() {
+        return assignments;
+    }
+
+    /**
+     * Gets the requests that could not be scheduled.
+     * 
+     * @return List of unassigned requests
+     */
+    public List<ChargingRequest> getUnassigned() {
+        return unassigned;
+    }
+
+    /**
+     * Calculates the summed efficiency of all assignments.
+     * 
+     * @return Total efficiency of the plan
+     */
+    public double getTotalEfficiency() {
+        double total = 0;
+        for (Assignment assignment : assignments) {
+            total += assignment.getEfficiency();
+        }
+        return total;
+    }
+
+    /**
+     * Provides a string representation of the plan.
+     * 
+     * @return Formatted string with assignments and unassigned requests
+     */
+    @Override
+    public String toString() {
+        return "Assignments: " + assignments + ", Unassigned: " + unassigned;
+    }
+}
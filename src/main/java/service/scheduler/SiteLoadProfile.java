@@ -0,0 +1,308 @@
+// SiteLoadProfile - Tracks the combined charging load of a site over time against a grid connection cap.
+
+package service.scheduler;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Load is kept per time unit in [origin, origin + horizon) in a segment tree with lazy range-add
+ * and range-max, so adding a booking's load over a window, reading the peak load of a window and
+ * admitting a booking under the cap are all O(log T). Range additions stay on the nodes they cover
+ * and queries add them up on the way down, so queries never write to the tree. Queries share a read
+ * lock and can run in parallel; only {@link #addLoad(int, int, long)}, {@link #release(int, int, long)},
+ * {@link #tryAdmit(int, int, long)} and {@link #tryAdmitAll(int[], int[], long[])} take the write lock,
+ * which makes the admits atomic check-and-adds.
+ */
+public class SiteLoadProfile {
+
+    // First time unit covered by the profile
+    private final int origin;
+
+    // Number of time units covered by the profile
+    private final int horizon;
+
+    // Maximum combined load in kW the site may draw at any time
+    private final long capKw;
+
+    // Maximum load within each tree node's range, counting additions at the node and below it
+    private final long[] max;
+
+    // Load added to the whole range of a node; its children's values do not include it
+    private final long[] pending;
+
+    // Guards the tree: queries take the read side, additions the write side
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor to create an empty load profile.
+     * 
+     * @param origin First time unit covered
+     * @param horizon Number of time units covered
+     * @param capKw Grid connection cap in kW
+     * @throws IllegalArgumentException if the horizon is not positive or the cap is negative
+     */
+    public SiteLoadProfile(int origin, int horizon, long capKw) {
+        if (horizon <= 0) {
+            throw new IllegalArgumentException("Horizon must be positive");
+        }
+        if (capKw < 0) {
+            throw new IllegalArgumentException("Cap must not be negative");
+        }
+        this.origin = origin;
+        this.horizon = horizon;
+        this.capKw = capKw;
+        this.max = new long[4 * horizon];
+        this.pending = new long[4 * horizon];
+    }
+
+    private SiteLoadProfile(SiteLoadProfile other) {
+        this.origin = other.origin;
+        this.horizon = other.horizon;
+        this.capKw = other.capKw;
+        this.max = other.max.clone();
+        this.pending = other.pending.clone();
+    }
+
+    /**
+     * Creates an independent copy of the profile, for planning bookings without touching this one.
+     * 
+     * @return A profile with the same cap, horizon and load
+     */
+    public SiteLoadProfile copy() {
+        lock.readLock().lock();
+        try {
+            return new SiteLoadProfile(this);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds load over [begin, end); a negative load releases a previous addition.
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @param kw Load in kW
+     * @throws IndexOutOfBoundsException if the window is not inside the profile horizon
+     */
+    public void addLoad(int begin, int end, long kw) {
+        checkWindow(begin, end);
+        lock.writeLock().lock();
+        try {
+            add(1, 0, horizon, begin - origin, end - origin, kw);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Releases load previously added over [begin, end).
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @param kw Load in kW
+     * @throws IndexOutOfBoundsException if the window is not inside the profile horizon
+     */
+    public void release(int begin, int end, long kw) {
+        addLoad(begin, end, -kw);
+    }
+
+    /**
+     * Gets the highest combined load at any time in [begin, end).
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return Peak load in kW
+     * @throws IndexOutOfBoundsException if the window is not inside the profile horizon
+     */
+    public long maxLoad(int begin, int end) {
+        checkWindow(begin, end);
+        lock.readLock().lock();
+        try {
+            return max(1, 0, horizon, begin - origin, end - origin);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the highest combined load over the whole horizon in O(1).
+     * 
+     * @return Peak load in kW
+     */
+    public long getPeakLoad() {
+        lock.readLock().lock();
+        try {
+            return max[1];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds load over [begin, end) only if the combined load stays within the cap throughout.
+     * 
+     * @param begin Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @param kw Load in kW
+     * @return true if the load was admitted and added
+     * @throws IndexOutOfBoundsException if the window is not inside the profile horizon
+     */
+    public boolean tryAdmit(int begin, int end, long kw) {
+        checkWindow(begin, end);
+        lock.writeLock().lock();
+        try {
+            if (max(1, 0, horizon, begin - origin, end - origin) + kw > capKw) {
+                return false;
+            }
+            add(1, 0, horizon, begin - origin, end - origin, kw);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the load of several windows only if the combined load stays within the cap throughout,
+     * counting the windows against each other as well as against the existing load. Either all
+     * windows are added or none.
+     * 
+     * @param begins Inclusive start of each window
+     * @param ends Exclusive end of each window
+     * @param kws Load of each window in kW
+     * @return true if all windows were admitted and added
+     * @throws IllegalArgumentException if the arrays differ in length
+     * @throws IndexOutOfBoundsException if a window is not inside the profile horizon
+     */
+    public boolean tryAdmitAll(int[] begins, int[] ends, long[] kws) {
+        if (begins.length != ends.length || begins.length != kws.length) {
+            throw new IllegalArgumentException("Window arrays differ in length");
+        }
+        for (int i = 0; i < begins.length; i++) {
+            checkWindow(begins[i], ends[i]);
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < begins.length; i++) {
+                if (max(1, 0, horizon, begins[i] - origin, ends[i] - origin) + kws[i] > capKw) {
+                    for (int j = 0; j < i; j++) {
+                        add(1, 0, horizon, begins[j] - origin, ends[j] - origin, -kws[j]);
+                    }
+                    return false;
+                }
+                add(1, 0, horizon, begins[i] - origin, ends[i] - origin, kws[i]);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the earliest start in [after, latestStart] at which load can be added for the given duration
+     * without exceeding the cap. Each overloaded time unit found inside a candidate window moves the
+     * search past it in O(log T). Windows reaching outside the horizon are never admissible.
+     * 
+     * @param after Earliest acceptable start
+     * @param latestStart Latest acceptable start
+     * @param duration Length of the window
+     * @param kw Load in kW
+     * @return The earliest admissible start, or Integer.MIN_VALUE if there is none
+     */
+    public int findEarliestAdmissible(int after, int latestStart, int duration, long kw) {
+        long threshold = capKw - kw;
+        long start = Math.max((long) after, origin) - origin;
+        long last = Math.min((long) latestStart - origin, (long) horizon - duration);
+        lock.readLock().lock();
+        try {
+            while (start <= last) {
+                int blocked = firstAbove(1, 0, horizon, (int) start, (int) (start + duration), threshold);
+                if (blocked < 0) {
+                    return (int) (start + origin);
+                }
+                start = blocked + 1L;
+            }
+            return Integer.MIN_VALUE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the grid connection cap.
+     * 
+     * @return Cap in kW
+     */
+    public long getCapKw() {
+        return capKw;
+    }
+
+    /**
+     * Gets the first time unit covered by the profile.
+     * 
+     * @return Origin time
+     */
+    public int getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Gets the number of time units covered by the profile.
+     * 
+     * @return Horizon length
+     */
+    public int getHorizon() {
+        return horizon;
+    }
+
+    private void checkWindow(int begin, int end) {
+        if (begin >= end || begin < origin || (long) end > (long) origin + horizon) {
+            throw new IndexOutOfBoundsException("Window [" + begin + ", " + end + ") outside the profile horizon");
+        }
+    }
+
+    private void add(int node, int low, int high, int from, int to, long kw) {
+        if (to <= low || high <= from) {
+            return;
+        }
+        if (from <= low && high <= to) {
+            max[node] += kw;
+            pending[node] += kw;
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        add(2 * node, low, mid, from, to, kw);
+        add(2 * node + 1, mid, high, from, to, kw);
+        max[node] = Math.max(max[2 * node], max[2 * node + 1]) + pending[node];
+    }
+
+    private long max(int node, int low, int high, int from, int to) {
+        if (to <= low || high <= from) {
+            return Long.MIN_VALUE;
+        }
+        if (from <= low && high <= to) {
+            return max[node];
+        }
+        int mid = (low + high) >>> 1;
+        long children = Math.max(max(2 * node, low, mid, from, to), max(2 * node + 1, mid, high, from, to));
+        return children + pending[node];
+    }
+
+    /**
+     * Finds the first offset in [from, to) whose load is above the threshold, or -1. The threshold
+     * passed down to the children is lowered by the load added at this node.
+     */
+    private int firstAbove(int node, int low, int high, int from, int to, long threshold) {
+        if (to <= low || high <= from || max[node] <= threshold) {
+            return -1;
+        }
+        if (high - low == 1) {
+            return low;
+        }
+        int mid = (low + high) >>> 1;
+        long below = threshold - pending[node];
+        int left = firstAbove(2 * node, low, mid, from, to, below);
+        return left >= 0 ? left : firstAbove(2 * node + 1, mid, high, from, to, below);
+    }
+}
@@ -2,85 +2,743 @@
 
 package service.singleton;
 
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
 
 import model.ChargingStation;
+import model.OccupiedTimeSlot;
+import service.availability.FleetAvailabilityIndex;
+import service.availability.StationWindow;
+import service.export.StationExporter;
+import service.persistence.FleetSnapshot;
+import service.persistence.ReservationLog;
+import service.store.ColumnarStationStore;
+import service.store.StationColumns;
 
 public class ChargingStationManager {
-    
-    // Singleton instance of ChargingStationManager
-    private static ChargingStationManager instance;
 
-    // List to store all registered charging stations
-    private final List<ChargingStation> stations;
+    // Number of lock stripes serializing writers per station ID
+    private static final int LOCK_STRIPES = 64;
+
+    // Number of characters printAllStations buffers before writing to standard output
+    private static final int PRINT_CHUNK = 8 * 1024;
+
+    // Stale stations tolerated in the availability index before it is rebuilt, at the least;
+    // larger fleets tolerate one per 64 stations, which costs about as much as the tree query
+    private static final int MIN_STALE_REBUILD = 64;
+
+    // Registry of all charging stations keyed by station ID; lock-free for readers
+    private final ConcurrentNavigableMap<Integer, ChargingStation> stations;
+
+    // Secondary index ordered by descending capacity, then ascending station ID
+    private final ConcurrentNavigableMap<CapacityKey, ChargingStation> stationsByCapacity;
+
+    // Running sum of all registered capacities
+    private final AtomicLong totalCapacity;
+
+    // Running number of registered stations
+    private final AtomicInteger stationCount;
+
+    // Writers for the same station ID take the same stripe, keeping the registry, index and totals consistent
+    private final Object[] writeLocks;
+
+    // Incremented on every change to the registry, used to detect a stale availability index
+    private final AtomicLong version;
+
+    // Registered with every live station, so reservations and recurring windows changed on the station
+    // itself (not only through the manager) mark that station stale in the availability index
+    private final IntConsumer stationChanged;
+
+    // Stations changed since the last index build started; applied to the next index once it is published
+    private final Set<Integer> changedStations;
+
+    // Time index over all stations' occupied blocks, rebuilt lazily after the fleet changes
+    private volatile VersionedIndex availabilityIndex;
+
+    // Read-only fleet served in place (e.g. from a mapped snapshot); live registry entries take precedence
+    private volatile StationColumns baseline;
+
+    // Baseline station IDs that were replaced or removed through the live registry
+    private final Set<Integer> shadowedBaselineIds;
+
+    // Write-ahead log that makes reservations durable, or null to keep them in memory only
+    private volatile ReservationLog reservationLog;
 
     /**
      * Private constructor to prevent direct instantiation from outside the class.
-     * Initializes the stations list.
+     * Initializes the station registry.
      */
     private ChargingStationManager() {
-        stations = new ArrayList<>();
+        stations = new ConcurrentSkipListMap<>();
+        stationsByCapacity = new ConcurrentSkipListMap<>();
+        totalCapacity = new AtomicLong();
+        stationCount = new AtomicInteger();
+        version = new AtomicLong();
+        changedStations = ConcurrentHashMap.newKeySet();
+        stationChanged = this::stationChanged;
+        shadowedBaselineIds = ConcurrentHashMap.newKeySet();
+        writeLocks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            writeLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Lazily initialized holder; the JVM guarantees the instance is created once and safely published.
+     */
+    private static final class Holder {
+        private static final ChargingStationManager INSTANCE = new ChargingStationManager();
     }
 
     /**
      * Provides a global point of access to the singleton instance of ChargingStationManager.
-     * If an instance does not already exist, it is created.
+     * The instance is created on first access in a thread-safe way.
      * 
      * @return The singleton instance of ChargingStationManager.
      */
     public static ChargingStationManager getInstance() {
-        if (instance == null) {
-            instance = new ChargingStationManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     /**
-     * Adds a charging station to the manager's list.
+     * Adds a charging station to the registry, replacing any station with the same ID.
+     * The replaced station's recurring windows carry over unless the new station has its own.
+     * Safe to call concurrently from multiple threads.
      * 
      * @param station The charging station to be added.
      */
     public void addStation(ChargingStation station) {
-        stations.add(station);
+        synchronized (lockFor(station.getStationId())) {
+            put(station);
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Adds a batch of charging stations, replacing any stations with the same IDs.
+     * Stations are grouped by lock stripe so each stripe is taken once per batch, and the fleet
+     * version changes once; within the batch, a later station replaces an earlier one with the same ID.
+     * 
+     * @param batch The charging stations to be added.
+     */
+    public void addStations(Collection<? extends ChargingStation> batch) {
+        List<List<ChargingStation>> byStripe = new ArrayList<>(LOCK_STRIPES);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            byStripe.add(new ArrayList<>());
+        }
+        for (ChargingStation station : batch) {
+            byStripe.get(Math.floorMod(station.getStationId(), LOCK_STRIPES)).add(station);
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            if (byStripe.get(i).isEmpty()) {
+                continue;
+            }
+            synchronized (writeLocks[i]) {
+                for (ChargingStation station : byStripe.get(i)) {
+                    put(station);
+                }
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Registers a station and indexes it, shadowing a baseline row with the same ID. Callers hold the station's stripe.
+     */
+    private void put(ChargingStation station) {
+        ChargingStation previous = stations.put(station.getStationId(), station);
+        keepRecurringSlots(previous != null ? previous : shadowBaseline(station.getStationId()), station);
+        unindex(previous);
+        index(station);
+    }
+
+    /**
+     * Hands the recurring windows of a replaced station to its replacement, unless the replacement
+     * brings its own, so re-adding a station (e.g. from a file without recurring windows) keeps them.
+     */
+    private static void keepRecurringSlots(ChargingStation previous, ChargingStation replacement) {
+        if (previous != null && previous.getRecurringSlots() != null && replacement.getRecurringSlots() == null) {
+            replacement.setRecurringSlots(previous.getRecurringSlots());
+        }
+    }
+
+    /**
+     * Looks up a charging station by its ID. Registered stations are found without blocking;
+     * a baseline station is copied into the live registry on its first lookup, so the returned
+     * station accepts reservations and other changes like any registered one.
+     * 
+     * @param stationId The ID of the station.
+     * @return The station with the given ID, or null if none is registered.
+     */
+    public ChargingStation getStation(int stationId) {
+        ChargingStation station = stations.get(stationId);
+        if (station != null || baseline == null) {
+            return station;
+        }
+        synchronized (lockFor(stationId)) {
+            return liveStation(stationId);
+        }
+    }
+
+    /**
+     * Removes the charging station with the given ID.
+     * 
+     * @param stationId The ID of the station to remove.
+     * @return The removed station, or null if none was registered.
+     */
+    public ChargingStation removeStation(int stationId) {
+        synchronized (lockFor(stationId)) {
+            ChargingStation removed = stations.remove(stationId);
+            if (removed != null) {
+                unindex(removed);
+                version.incrementAndGet();
+                return removed;
+            }
+            removed = shadowBaseline(stationId);
+            if (removed != null) {
+                version.incrementAndGet();
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * Replaces a registered charging station with a new instance carrying the same ID.
+     * The replaced station's recurring windows carry over unless the new instance has its own.
+     * 
+     * @param station The updated charging station.
+     * @return true if a station with the same ID was registered and has been replaced.
+     */
+    public boolean updateStation(ChargingStation station) {
+        synchronized (lockFor(station.getStationId())) {
+            ChargingStation previous = stations.replace(station.getStationId(), station);
+            if (previous == null) {
+                ChargingStation shadowed = shadowBaseline(station.getStationId());
+                if (shadowed == null) {
+                    return false;
+                }
+                keepRecurringSlots(shadowed, station);
+                stations.put(station.getStationId(), station);
+            } else {
+                keepRecurringSlots(previous, station);
+            }
+            unindex(previous);
+            index(station);
+            version.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Adds a station to the capacity index and running totals. Callers hold the station's stripe.
+     */
+    private void index(ChargingStation station) {
+        station.setChangeListener(stationChanged);
+        stationsByCapacity.put(new CapacityKey(station.getCapacity(), station.getStationId()), station);
+        totalCapacity.addAndGet(station.getCapacity());
+        stationCount.incrementAndGet();
+    }
+
+    /**
+     * Removes a station from the capacity index and running totals. Callers hold the station's stripe.
+     */
+    private void unindex(ChargingStation station) {
+        if (station == null) {
+            return;
+        }
+        station.setChangeListener(null);
+        stationsByCapacity.remove(new CapacityKey(station.getCapacity(), station.getStationId()));
+        totalCapacity.addAndGet(-station.getCapacity());
+        stationCount.decrementAndGet();
+    }
+
+    /**
+     * Sets the write-ahead log that reservations are appended to before they are acknowledged.
+     * 
+     * @param log The reservation log, or null to keep reservations in memory only
+     */
+    public void setReservationLog(ReservationLog log) {
+        this.reservationLog = log;
+    }
+
+    /**
+     * Reserves [begin, end) on a station if it does not conflict with the station's occupied slots.
+     * With a reservation log set, the call returns only once the reservation is durable; concurrent
+     * reservations share one fsync. Baseline stations are copied into the live registry first.
+     * 
+     * @param stationId The ID of the station.
+     * @param begin Inclusive start of the reservation
+     * @param end Exclusive end of the reservation
+     * @return The reserved slot, or null if the station is unknown or the window conflicts
+     * @throws IOException if the reservation could not be logged; it is then rolled back
+     */
+    public OccupiedTimeSlot reserve(int stationId, int begin, int end) throws IOException {
+        ChargingStation station;
+        OccupiedTimeSlot slot;
+        synchronized (lockFor(stationId)) {
+            station = liveStation(stationId);
+            if (station == null) {
+                return null;
+            }
+            slot = station.reserve(begin, end);
+            if (slot == null) {
+                return null;
+            }
+        }
+        return logReservation(station, slot);
+    }
+
+    /**
+     * Reserves [begin, end) with minute resolution on a station if it does not conflict with the
+     * station's forbidden time, including recurring windows. Logging works as for {@link #reserve(int, int, int)},
+     * and the log keeps the minutes exactly.
+     * 
+     * @param stationId The ID of the station.
+     * @param begin Inclusive start minute of the reservation
+     * @param end Exclusive end minute of the reservation
+     * @return The reserved slot, or null if the station is unknown or the window conflicts
+     * @throws IOException if the reservation could not be logged; it is then rolled back
+     */
+    public OccupiedTimeSlot reserveMinutes(int stationId, long begin, long end) throws IOException {
+        ChargingStation station;
+        OccupiedTimeSlot slot;
+        synchronized (lockFor(stationId)) {
+            station = liveStation(stationId);
+            if (station == null) {
+                return null;
+            }
+            slot = station.reserveMinutes(begin, end);
+            if (slot == null) {
+                return null;
+            }
+        }
+        return logReservation(station, slot);
+    }
+
+    /**
+     * Appends a reservation already applied to its station to the log, if one is set, and rolls it back
+     * if the append fails. Called outside the stripe, so concurrent reservations share one fsync.
+     */
+    private OccupiedTimeSlot logReservation(ChargingStation station, OccupiedTimeSlot slot) throws IOException {
+        ReservationLog log = reservationLog;
+        if (log != null) {
+            try {
+                log.append(station.getStationId(), slot);
+            } catch (IOException | RuntimeException e) {
+                station.removeReservation(slot);
+                throw e;
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Re-applies the reservations recorded in a log, e.g. on startup before new reservations are taken.
+     * With a snapshot attached, replay starts at the log position the snapshot is current up to, and
+     * slots a station already has are not added again. Records are grouped per station and each
+     * station's slots are replaced once. Records for stations that are not managed are skipped;
+     * replay stops at the first torn or corrupt record.
+     * 
+     * @param path Log file written through {@link ReservationLog}
+     * @return Number of reservations applied
+     * @throws IOException if the file cannot be read, or the attached snapshot's log position
+     *         is not at a record of it
+     */
+    public long replayReservations(Path path) throws IOException {
+        StationColumns columns = baseline;
+        Map<Integer, List<OccupiedTimeSlot>> byStation = new HashMap<>();
+        ReservationLog.replay(path, columns == null ? 0 : columns.logPosition(),
+                (stationId, slot) -> byStation.computeIfAbsent(stationId, id -> new ArrayList<>()).add(slot));
+        long applied = 0;
+        for (Map.Entry<Integer, List<OccupiedTimeSlot>> records : byStation.entrySet()) {
+            synchronized (lockFor(records.getKey())) {
+                ChargingStation station = liveStation(records.getKey());
+                if (station != null) {
+                    applied += station.addReservations(records.getValue());
+                }
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Finds a station that can take reservations, copying a baseline row into the live registry if needed.
+     * Callers hold the station's stripe.
+     * 
+     * @return The live station, or null if none is managed under this ID
+     */
+    private ChargingStation liveStation(int stationId) {
+        ChargingStation station = stations.get(stationId);
+        if (station != null) {
+            return station;
+        }
+        StationColumns columns = baseline;
+        if (columns == null || shadowedBaselineIds.contains(stationId)) {
+            return null;
+        }
+        int row = columns.find(stationId);
+        if (row < 0) {
+            return null;
+        }
+        shadowBaseline(stationId);
+        station = columns.materialize(row);
+        stations.put(stationId, station);
+        index(station);
+        return station;
+    }
+
+    /**
+     * Hides a baseline station behind the live registry and removes it from the running totals.
+     * Callers hold the station's stripe.
+     * 
+     * @return The hidden baseline station, or null if the baseline has no visible station with this ID
+     */
+    private ChargingStation shadowBaseline(int stationId) {
+        StationColumns columns = baseline;
+        if (columns == null) {
+            return null;
+        }
+        int row = columns.find(stationId);
+        if (row < 0 || !shadowedBaselineIds.add(stationId)) {
+            return null;
+        }
+        totalCapacity.addAndGet(-columns.capacity(row));
+        stationCount.decrementAndGet();
+        return columns.view(row);
+    }
+
+    private Object lockFor(int stationId) {
+        return writeLocks[Math.floorMod(stationId, LOCK_STRIPES)];
+    }
+
+    /**
+     * Retrieves a snapshot of all managed charging stations ordered by station ID, e.g. to hand to a planner.
+     * Baseline stations are returned as read-only views; use {@link #getStation(int)} to change one.
+     * 
+     * @return An unmodifiable copy of the managed stations
+     */
+    public List<ChargingStation> getStations() {
+        StationColumns columns = baseline;
+        if (columns == null) {
+            return List.copyOf(stations.values());
+        }
+        List<ChargingStation> merged = new ArrayList<>(stations.size() + columns.size());
+        int row = 0;
+        for (ChargingStation station : stations.values()) {
+            for (; row < columns.size() && columns.stationId(row) < station.getStationId(); row++) {
+                addVisible(merged, columns, row);
+            }
+            merged.add(station);
+        }
+        for (; row < columns.size(); row++) {
+            addVisible(merged, columns, row);
+        }
+        return List.copyOf(merged);
+    }
+
+    private void addVisible(List<ChargingStation> target, StationColumns columns, int row) {
+        if (!shadowedBaselineIds.contains(columns.stationId(row))) {
+            target.add(columns.view(row));
+        }
+    }
+
+    /**
+     * Serves a read-only fleet in place as the baseline behind the live registry, e.g. a snapshot
+     * reopened with {@link FleetSnapshot#open(Path)}. Baseline stations are materialized as views only
+     * when a query returns them; adding, updating or removing a station with the same ID shadows its row.
+     * Attaching replaces any previous baseline and is meant for startup, before concurrent writers run.
+     * 
+     * @param columns The baseline fleet, or null to detach the current baseline
+     */
+    public void attachSnapshot(StationColumns columns) {
+        StationColumns previous = baseline;
+        if (previous != null) {
+            totalCapacity.addAndGet(-previous.totalCapacity());
+            stationCount.addAndGet(-previous.size());
+            for (int stationId : shadowedBaselineIds) {
+                // Shadowed rows were already taken out of the totals
+                totalCapacity.addAndGet(previous.capacity(previous.find(stationId)));
+                stationCount.incrementAndGet();
+            }
+            shadowedBaselineIds.clear();
+        }
+        baseline = columns;
+        if (columns != null) {
+            totalCapacity.addAndGet(columns.totalCapacity());
+            stationCount.addAndGet(columns.size());
+            for (ChargingStation station : stations.values()) {
+                shadowBaseline(station.getStationId());
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Writes all managed stations to a binary snapshot that can be reopened with {@link FleetSnapshot#open(Path)}
+     * and attached on the next start instead of rebuilding the fleet. With a reservation log set, the snapshot
+     * records the log position taken before the stations are read, so {@link #replayReservations(Path)} after
+     * attaching it skips the records it already contains.
+     * 
+     * @param path Target file
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a managed station is neither fast nor slow (e.g. a decorator)
+     */
+    public void writeSnapshot(Path path) throws IOException {
+        ReservationLog log = reservationLog;
+        // Every durable record was applied to its station before it was appended, so the stations read next hold it
+        long logPosition = log == null ? 0 : log.getDurablePosition();
+        FleetSnapshot.write(toColumnarStore(), path, logPosition);
+    }
+
+    /**
+     * Copies the managed stations into a compact columnar store.
+     * The store keeps IDs, capacities and types in primitive arrays, shares strategy instances
+     * and packs all forbidden slots into two int arrays; its stations are served as flyweight views.
+     * 
+     * @return A columnar snapshot of the managed stations
+     * @throws IllegalArgumentException if a managed station is neither fast nor slow (e.g. a decorator)
+     */
+    public ColumnarStationStore toColumnarStore() {
+        return ColumnarStationStore.of(getStations());
     }
 
     /**
-     * Prints all charging stations managed by the singleton instance.
+     * Prints all charging stations managed by the singleton instance, ordered by station ID.
      * If no stations are available, a message is printed.
      */
     public void printAllStations() {
-        if (stations.isEmpty()) {
+        List<ChargingStation> all = getStations();
+        if (all.isEmpty()) {
             System.out.println("No charging stations available.");
-        } else {
-            for (ChargingStation station : stations) {
-                System.out.println(station);
+            return;
+        }
+        // Format into one reused builder and print it in large chunks instead of once per station
+        StringBuilder lines = new StringBuilder(PRINT_CHUNK + 256);
+        String separator = System.lineSeparator();
+        for (ChargingStation station : all) {
+            station.appendTo(lines).append(separator);
+            if (lines.length() >= PRINT_CHUNK) {
+                System.out.print(lines);
+                lines.setLength(0);
             }
         }
+        System.out.print(lines);
+        System.out.flush();
     }
 
     /**
-     * Calculates and returns the total capacity of all charging stations managed.
+     * Streams all managed stations, ordered by station ID, to a channel in the exporter's format
+     * (e.g. {@link service.export.CsvStationExporter} or {@link service.export.JsonLinesStationExporter}).
+     * 
+     * @param exporter Exporter encoding the stations
+     * @param target Channel receiving the export; left open
+     * @return Number of stations written
+     * @throws IOException if the channel cannot be written
+     */
+    public long exportStations(StationExporter exporter, WritableByteChannel target) throws IOException {
+        return exporter.export(getStations(), target);
+    }
+
+    /**
+     * Returns the total capacity of all charging stations managed, maintained as a running sum in O(1).
      * 
      * @return The total charging capacity in kilowatts (kW).
+     * @throws ArithmeticException if the total exceeds the int range; use {@link #getTotalCapacityLong()}
      */
     public int getTotalCapacity() {
-        return stations.stream().mapToInt(ChargingStation::getCapacity).sum();
+        return Math.toIntExact(totalCapacity.get());
+    }
+
+    /**
+     * Returns the total capacity of all charging stations managed, for fleets whose total exceeds the int range.
+     * 
+     * @return The total charging capacity in kilowatts (kW).
+     */
+    public long getTotalCapacityLong() {
+        return totalCapacity.get();
+    }
+
+    /**
+     * Returns the number of charging stations managed, maintained as a running count in O(1).
+     * 
+     * @return The number of registered stations.
+     */
+    public int getStationCount() {
+        return stationCount.get();
     }
 
     /**
      * Filters and returns a list of charging stations that have a capacity greater than or equal to the specified minimum.
+     * Matches are located through the capacity index in O(log n + k log k) and returned ordered by station ID,
+     * like {@link #getStations()}.
      * 
      * @param minCapacity The minimum capacity threshold for filtering stations.
      * @return A list of charging stations that meet the capacity criteria.
      */
     public List<ChargingStation> filterStationsByCapacity(int minCapacity) {
-        List<ChargingStation> filteredStations = new ArrayList<>();
-        for (ChargingStation station : stations) {
-            if (station.getCapacity() >= minCapacity) {
-                filteredStations.add(station);
+        if (minCapacity == Integer.MIN_VALUE) {
+            return withBaseline(stationsByCapacity.values(), minCapacity, null);
+        }
+        return withBaseline(stationsByCapacity.headMap(new CapacityKey(minCapacity - 1, Integer.MIN_VALUE)).values(),
+                minCapacity, null);
+    }
+
+    /**
+     * Filters and returns the charging stations whose capacity lies in [minCapacity, maxCapacity).
+     * Matches are located through the capacity index in O(log n + k log k) and returned ordered by station ID.
+     * 
+     * @param minCapacity The inclusive lower capacity bound.
+     * @param maxCapacity The exclusive upper capacity bound.
+     * @return A list of charging stations within the capacity range.
+     */
+    public List<ChargingStation> filterStationsByCapacity(int minCapacity, int maxCapacity) {
+        if (minCapacity >= maxCapacity) {
+            return new ArrayList<>();
+        }
+        CapacityKey from = new CapacityKey(maxCapacity - 1, Integer.MIN_VALUE);
+        if (minCapacity == Integer.MIN_VALUE) {
+            return withBaseline(stationsByCapacity.tailMap(from).values(), minCapacity, maxCapacity);
+        }
+        CapacityKey to = new CapacityKey(minCapacity - 1, Integer.MIN_VALUE);
+        return withBaseline(stationsByCapacity.subMap(from, to).values(), minCapacity, maxCapacity);
+    }
+
+    /**
+     * Collects live stations of a capacity range together with the visible baseline rows of the same range,
+     * located by binary search over the baseline's capacity ranking.
+     * 
+     * @param live Live stations of the range
+     * @param minCapacity The inclusive lower capacity bound
+     * @param maxCapacity The exclusive upper capacity bound, or null for no upper bound
+     * @return The stations ordered by station ID
+     */
+    private List<ChargingStation> withBaseline(Iterable<ChargingStation> live, int minCapacity, Integer maxCapacity) {
+        List<ChargingStation> merged = new ArrayList<>();
+        live.forEach(merged::add);
+        StationColumns columns = baseline;
+        if (columns != null) {
+            int[] range = columns.capacityRankRange(minCapacity, maxCapacity == null ? minCapacity : maxCapacity);
+            for (int rank = maxCapacity == null ? 0 : range[0]; rank < range[1]; rank++) {
+                addVisible(merged, columns, columns.rowAtCapacityRank(rank));
             }
         }
-        return filteredStations;
+        merged.sort(Comparator.comparingInt(ChargingStation::getStationId));
+        return merged;
+    }
+
+    /**
+     * Finds every managed charging station that is free for the whole window [begin, end),
+     * honoring recurring windows. The query is answered from a fleet-level time index instead of
+     * scanning each station's slots; the index follows changes made directly on registered stations.
+     * 
+     * @param begin Inclusive start of the requested window
+     * @param end Exclusive end of the requested window
+     * @return A list of charging stations available during the entire window
+     */
+    public List<ChargingStation> findStationsFreeDuring(int begin, int end) {
+        return getAvailabilityIndex().findFreeStations(begin, end);
+    }
+
+    /**
+     * Finds the globally earliest window of the given duration starting at or after a time,
+     * across all managed charging stations.
+     * 
+     * @param after Earliest acceptable start time
+     * @param duration Required charging duration
+     * @return The station and window of the earliest fit, or null if no stations are managed
+     */
+    public StationWindow findEarliestFit(int after, int duration) {
+        return getAvailabilityIndex().findEarliestFit(after, duration);
+    }
+
+    /**
+     * Retrieves the fleet availability index, building it if the registry changed since the last query
+     * or too many stations were marked stale. Builds are serialized, so a slower build never replaces
+     * a newer index; readers never observe a partially built index.
+     * 
+     * @return The current fleet availability index
+     */
+    private FleetAvailabilityIndex getAvailabilityIndex() {
+        VersionedIndex cached = availabilityIndex;
+        if (isCurrent(cached)) {
+            return cached.index;
+        }
+        synchronized (changedStations) {
+            cached = availabilityIndex;
+            if (!isCurrent(cached)) {
+                long current = version.get();
+                // Changes from here on are replayed onto the new index, since the build may not see them
+                changedStations.clear();
+                cached = new VersionedIndex(current, new FleetAvailabilityIndex(getStations()));
+                availabilityIndex = cached;
+                for (int stationId : changedStations) {
+                    cached.index.markStale(stationId);
+                }
+            }
+            return cached.index;
+        }
+    }
+
+    private boolean isCurrent(VersionedIndex cached) {
+        return cached != null && cached.version == version.get()
+                && cached.index.getStaleCount() <= Math.max(MIN_STALE_REBUILD, cached.index.size() / 64);
+    }
+
+    /**
+     * Marks a registered station stale in the current availability index after its slots or
+     * recurring windows changed, instead of invalidating the whole index.
+     */
+    private void stationChanged(int stationId) {
+        changedStations.add(stationId);
+        VersionedIndex cached = availabilityIndex;
+        if (cached != null) {
+            cached.index.markStale(stationId);
+        }
+    }
+
+    /**
+     * Pairs an availability index with the registry version it was built from.
+     */
+    private static final class VersionedIndex {
+        private final long version;
+        private final FleetAvailabilityIndex index;
+
+        private VersionedIndex(long version, FleetAvailabilityIndex index) {
+            this.version = version;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Capacity index key ordering stations by descending capacity, then ascending station ID.
+     */
+    private static final class CapacityKey implements Comparable<CapacityKey> {
+        private final int capacity;
+        private final int stationId;
+
+        private CapacityKey(int capacity, int stationId) {
+            this.capacity = capacity;
+            this.stationId = stationId;
+        }
+
+        @Override
+        public int compareTo(CapacityKey other) {
+            int byCapacity = Integer.compare(other.capacity, capacity);
+            return byCapacity != 0 ? byCapacity : Integer.compare(stationId, other.stationId);
+        }
     }
 }
@@ -0,0 +1,223 @@
+// ColumnarStationStore - Compact, column-oriented in-memory store for very large charging station fleets.
+
+package service.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.ChargingStation;
+import model.OccupiedTimeSlot;
+import service.availability.SlotSource;
+import service.strategy.ChargingStrategy;
+
+public final class ColumnarStationStore implements StationColumns {
+
+    // Station IDs in ascending order; row i of every column describes ids[i]
+    private final int[] ids;
+
+    // Capacities in kW
+    private final int[] capacities;
+
+    // Type codes (StationColumns.TYPE_FAST / TYPE_SLOW)
+    private final byte[] types;
+
+    // Index into the shared strategy table, read as an unsigned byte
+    private final byte[] strategyIndexes;
+
+    // Row i owns the slots [slotOffsets[i], slotOffsets[i + 1]) of the packed slot columns (CSR layout)
+    private final int[] slotOffsets;
+
+    // Packed forbidden slot start minutes of all rows
+    private final long[] slotStarts;
+
+    // Packed forbidden slot end minutes of all rows
+    private final long[] slotEnds;
+
+    // Recurring windows by row, kept only for the few rows that have any
+    private final Map<Integer, SlotSource> recurringSlots;
+
+    // Rows ordered by descending capacity, then ascending station ID
+    private int[] capacityRanks;
+
+    // Shared strategy instances referenced by strategyIndexes; replaced on write, never mutated
+    private volatile ChargingStrategy[] strategies;
+
+    // Reverse lookup from strategy to its table index; equal strategies share one entry
+    private final Map<ChargingStrategy, Integer> strategyLookup;
+
+    private ColumnarStationStore(int rows, int slots) {
+        this.ids = new int[rows];
+        this.capacities = new int[rows];
+        this.types = new byte[rows];
+        this.strategyIndexes = new byte[rows];
+        this.slotOffsets = new int[rows + 1];
+        this.slotStarts = new long[slots];
+        this.slotEnds = new long[slots];
+        this.recurringSlots = new HashMap<>();
+        this.strategies = new ChargingStrategy[0];
+        this.strategyLookup = new HashMap<>();
+    }
+
+    /**
+     * Builds a store from charging station objects.
+     * Equal strategy instances are stored once in a shared table.
+     * 
+     * @param stations Stations to store; IDs must be unique
+     * @return A new columnar store ordered by station ID
+     * @throws IllegalArgumentException if a station is neither fast nor slow, or IDs repeat
+     */
+    public static ColumnarStationStore of(Collection<ChargingStation> stations) {
+        List<ChargingStation> sorted = new ArrayList<>(stations);
+        sorted.sort(Comparator.comparingInt(ChargingStation::getStationId));
+        int slots = 0;
+        for (ChargingStation station : sorted) {
+            slots += station.getForbiddenTimeSlots().size();
+        }
+        ColumnarStationStore store = new ColumnarStationStore(sorted.size(), slots);
+        int slot = 0;
+        for (int row = 0; row < sorted.size(); row++) {
+            ChargingStation station = sorted.get(row);
+            if (row > 0 && store.ids[row - 1] == station.getStationId()) {
+                throw new IllegalArgumentException("Duplicate station ID: " + station.getStationId());
+            }
+            store.ids[row] = station.getStationId();
+            store.capacities[row] = station.getCapacity();
+            store.types[row] = StationColumns.typeOf(station);
+            store.strategyIndexes[row] = store.strategyIndex(station.getStrategy());
+            store.slotOffsets[row] = slot;
+            for (OccupiedTimeSlot timeSlot : station.getForbiddenTimeSlots()) {
+                store.slotStarts[slot] = timeSlot.getStartMinute();
+                store.slotEnds[slot] = timeSlot.getEndMinute();
+                slot++;
+            }
+            if (station.getRecurringSlots() != null) {
+                store.recurringSlots.put(row, station.getRecurringSlots());
+            }
+        }
+        store.slotOffsets[sorted.size()] = slot;
+        store.capacityRanks = StationColumns.rankByCapacity(store.capacities);
+        return store;
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public int stationId(int row) {
+        return ids[row];
+    }
+
+    @Override
+    public int capacity(int row) {
+        return capacities[row];
+    }
+
+    @Override
+    public byte type(int row) {
+        return types[row];
+    }
+
+    @Override
+    public ChargingStrategy strategy(int row) {
+        return strategies[strategyIndexes[row] & 0xFF];
+    }
+
+    @Override
+    public synchronized void setStrategy(int row, ChargingStrategy strategy) {
+        strategyIndexes[row] = strategyIndex(strategy);
+    }
+
+    @Override
+    public SlotSource recurringSlots(int row) {
+        return recurringSlots.get(row);
+    }
+
+    @Override
+    public int rowAtCapacityRank(int rank) {
+        return capacityRanks[rank];
+    }
+
+    @Override
+    public int slotCount(int row) {
+        return slotOffsets[row + 1] - slotOffsets[row];
+    }
+
+    @Override
+    public long slotStartMinute(int row, int slot) {
+        return slotStarts[slotOffsets[row] + slot];
+    }
+
+    @Override
+    public long slotEndMinute(int row, int slot) {
+        return slotEnds[slotOffsets[row] + slot];
+    }
+
+    /**
+     * Sums the capacity column with a tight primitive loop.
+     * 
+     * @return Total capacity in kW
+     */
+    @Override
+    public long totalCapacity() {
+        long total = 0;
+        for (int capacity : capacities) {
+            total += capacity;
+        }
+        return total;
+    }
+
+    /**
+     * Looks up a station by ID and returns a flyweight view over its row.
+     * 
+     * @param stationId Station ID to look up
+     * @return A station view, or null if the station is not stored
+     */
+    public ChargingStation getStation(int stationId) {
+        int row = Arrays.binarySearch(ids, stationId);
+        return row < 0 ? null : view(row);
+    }
+
+    /**
+     * Finds the table index of a strategy, adding it if no equal strategy is stored yet.
+     */
+    private synchronized byte strategyIndex(ChargingStrategy strategy) {
+        Integer index = strategyLookup.get(strategy);
+        if (index != null) {
+            return (byte) (int) index;
+        }
+        ChargingStrategy[] table = strategies;
+        if (table.length == 256) {
+            throw new IllegalStateException("Too many distinct strategies for the strategy table");
+        }
+        ChargingStrategy[] grown = Arrays.copyOf(table, table.length + 1);
+        grown[table.length] = strategy;
+        strategies = grown;
+        strategyLookup.put(strategy, table.length);
+        return (byte) table.length;
+    }
+
+    /**
+     * Gets the number of distinct strategy instances in the shared table.
+     * 
+     * @return Size of the strategy table
+     */
+    public int getStrategyCount() {
+        return strategies.length;
+    }
+
+    /**
+     * Gets the total number of forbidden slots stored across all rows.
+     * 
+     * @return Number of packed slots
+     */
+    public int getSlotCount() {
+        return slotStarts.length;
+    }
+}
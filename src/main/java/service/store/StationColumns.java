@@ -0,0 +1,278 @@
+// StationColumns - Column-oriented, read-mostly access to a fleet of charging stations.
+
+package service.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import model.SlowChargingStation;
+import service.availability.SlotSource;
+import service.strategy.ChargingStrategy;
+
+public interface StationColumns {
+
+    // Type code of fast charging stations
+    byte TYPE_FAST = 0;
+
+    // Type code of slow charging stations
+    byte TYPE_SLOW = 1;
+
+    /**
+     * Gets the number of stations (rows).
+     * 
+     * @return Number of rows
+     */
+    int size();
+
+    /**
+     * Gets the station ID of a row. Rows are ordered by ascending station ID.
+     * 
+     * @param row Row index
+     * @return Station ID
+     */
+    int stationId(int row);
+
+    /**
+     * Gets the capacity of a row.
+     * 
+     * @param row Row index
+     * @return Capacity in kW
+     */
+    int capacity(int row);
+
+    /**
+     * Gets the type code of a row.
+     * 
+     * @param row Row index
+     * @return TYPE_FAST or TYPE_SLOW
+     */
+    byte type(int row);
+
+    /**
+     * Gets the charging strategy of a row.
+     * 
+     * @param row Row index
+     * @return Shared strategy instance
+     */
+    ChargingStrategy strategy(int row);
+
+    /**
+     * Replaces the charging strategy of a row.
+     * 
+     * @param row Row index
+     * @param strategy New strategy
+     */
+    void setStrategy(int row, ChargingStrategy strategy);
+
+    /**
+     * Gets the number of forbidden slots of a row.
+     * 
+     * @param row Row index
+     * @return Number of slots
+     */
+    int slotCount(int row);
+
+    /**
+     * Gets the start of one forbidden slot of a row. Slots are stored in minutes,
+     * so slots that do not fall on hour boundaries keep their exact bounds.
+     * 
+     * @param row Row index
+     * @param slot Slot index within the row
+     * @return Slot start in minutes
+     */
+    long slotStartMinute(int row, int slot);
+
+    /**
+     * Gets the end of one forbidden slot of a row.
+     * 
+     * @param row Row index
+     * @param slot Slot index within the row
+     * @return Slot end in minutes
+     */
+    long slotEndMinute(int row, int slot);
+
+    /**
+     * Gets the repeating forbidden windows of a row (e.g. daily maintenance).
+     * 
+     * @param row Row index
+     * @return The row's recurring windows, or null if it has none
+     */
+    SlotSource recurringSlots(int row);
+
+    /**
+     * Gets the row at a given rank when rows are ordered by descending capacity, then ascending station ID.
+     * 
+     * @param rank Position in capacity order (0 is the highest capacity)
+     * @return Row index
+     */
+    int rowAtCapacityRank(int rank);
+
+    /**
+     * Finds the row of a station ID by binary search.
+     * 
+     * @param stationId Station ID to look up
+     * @return Row index, or -1 if the station is not stored
+     */
+    default int find(int stationId) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = stationId(mid);
+            if (id < stationId) {
+                low = mid + 1;
+            } else if (id > stationId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sums the capacity column.
+     * 
+     * @return Total capacity in kW
+     */
+    default long totalCapacity() {
+        long total = 0;
+        for (int row = 0; row < size(); row++) {
+            total += capacity(row);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the reservation log position this fleet is current up to: every reservation logged before it
+     * is already among the rows' slots, so replaying the log can start there.
+     * 
+     * @return Log position from {@link service.persistence.ReservationLog#getDurablePosition()}, or 0 if unknown
+     */
+    default long logPosition() {
+        return 0;
+    }
+
+    /**
+     * Scans the capacity column for rows with minCapacity <= capacity < maxCapacity.
+     * 
+     * @param minCapacity Inclusive lower bound
+     * @param maxCapacity Exclusive upper bound
+     * @return Matching row indices in ascending station ID order
+     */
+    default int[] rowsWithCapacity(int minCapacity, int maxCapacity) {
+        int[] rows = new int[16];
+        int count = 0;
+        for (int row = 0; row < size(); row++) {
+            int capacity = capacity(row);
+            if (capacity >= minCapacity && capacity < maxCapacity) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, count * 2);
+                }
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Finds the capacity ranks of rows with minCapacity <= capacity < maxCapacity by binary search.
+     * 
+     * @param minCapacity Inclusive lower bound
+     * @param maxCapacity Exclusive upper bound
+     * @return {firstRank, endRank}; ranks in [firstRank, endRank) match, ordered by descending capacity
+     */
+    default int[] capacityRankRange(int minCapacity, int maxCapacity) {
+        return new int[] {firstRankBelow(maxCapacity), firstRankBelow(minCapacity)};
+    }
+
+    /**
+     * Finds the first rank whose capacity is strictly below the given bound.
+     */
+    private int firstRankBelow(long bound) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (capacity(rowAtCapacityRank(mid)) >= bound) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Creates a flyweight ChargingStation view over a row.
+     * 
+     * @param row Row index
+     * @return A station view backed by these columns
+     */
+    default ChargingStation view(int row) {
+        return new StationView(this, row);
+    }
+
+    /**
+     * Copies a row into a standalone, mutable charging station.
+     * 
+     * @param row Row index
+     * @return A fast or slow charging station with the row's state, including its recurring windows
+     */
+    default ChargingStation materialize(int row) {
+        List<OccupiedTimeSlot> slots = new ArrayList<>(slotCount(row));
+        for (int slot = 0; slot < slotCount(row); slot++) {
+            slots.add(OccupiedTimeSlot.ofMinutes(slotStartMinute(row, slot), slotEndMinute(row, slot)));
+        }
+        ChargingStation station;
+        if (type(row) == TYPE_FAST) {
+            station = new FastChargingStation(stationId(row), capacity(row), slots, strategy(row));
+        } else {
+            station = new SlowChargingStation(stationId(row), capacity(row), slots, strategy(row));
+        }
+        station.setRecurringSlots(recurringSlots(row));
+        return station;
+    }
+
+    /**
+     * Orders the rows by descending capacity, then ascending row (and therefore station ID).
+     * 
+     * @param capacities Capacity column
+     * @return Row indices in capacity order
+     */
+    static int[] rankByCapacity(int[] capacities) {
+        long[] keys = new long[capacities.length];
+        for (int row = 0; row < capacities.length; row++) {
+            // Ascending by capacity, then descending by row; reversed below
+            keys[row] = ((long) capacities[row] << 32) | (~row & 0xFFFFFFFFL);
+        }
+        Arrays.sort(keys);
+        int[] ranks = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ranks[keys.length - 1 - i] = ~(int) keys[i];
+        }
+        return ranks;
+    }
+
+    /**
+     * Determines the type code of a charging station.
+     * 
+     * @param station Station to classify
+     * @return TYPE_FAST or TYPE_SLOW
+     * @throws IllegalArgumentException if the station is neither fast nor slow (e.g. a decorator)
+     */
+    static byte typeOf(ChargingStation station) {
+        if (station instanceof StationView) {
+            return ((StationView) station).getType();
+        } else if (station instanceof FastChargingStation) {
+            return TYPE_FAST;
+        } else if (station instanceof SlowChargingStation) {
+            return TYPE_SLOW;
+        }
+        throw new IllegalArgumentException("Unsupported station type: " + station.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,141 @@
+// StationView - Flyweight ChargingStation backed by one row of a column store.
+
+package service.store;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import model.ChargingStation;
+import model.OccupiedTimeSlot;
+import service.availability.SlotSource;
+import service.strategy.ChargingStrategy;
+
+public class StationView extends ChargingStation {
+
+    // Columns holding the station's state
+    private final StationColumns columns;
+
+    // Row of the station within the columns
+    private final int row;
+
+    // Forbidden slots decoded from the slot columns on first access; null until then
+    private volatile List<OccupiedTimeSlot> slots;
+
+    /**
+     * Constructor to create a view over a row. Views hold no state of their own beyond a lazily
+     * decoded slot list, so any number of them can exist for the same row.
+     * 
+     * @param columns Columns holding the station's state
+     * @param row Row of the station
+     */
+    StationView(StationColumns columns, int row) {
+        super(columns.stationId(row), columns.capacity(row), Collections.emptyList(), columns.strategy(row));
+        this.columns = columns;
+        this.row = row;
+    }
+
+    /**
+     * Gets the type code of the underlying row.
+     * 
+     * @return StationColumns.TYPE_FAST or StationColumns.TYPE_SLOW
+     */
+    public byte getType() {
+        return columns.type(row);
+    }
+
+    /**
+     * Sets a new charging strategy in the backing columns, so every view of the row sees it.
+     * 
+     * @param strategy New charging strategy to be applied
+     */
+    @Override
+    public void setStrategy(ChargingStrategy strategy) {
+        columns.setStrategy(row, strategy);
+        super.setStrategy(strategy);
+    }
+
+    /**
+     * Retrieves the charging strategy from the backing columns.
+     * 
+     * @return The charging strategy in use
+     */
+    @Override
+    public ChargingStrategy getStrategy() {
+        return columns.strategy(row);
+    }
+
+    /**
+     * Retrieves the row's forbidden slots, decoded from the slot columns once per view.
+     * 
+     * @return Unmodifiable list of the row's slots
+     */
+    @Override
+    public List<OccupiedTimeSlot> getForbiddenTimeSlots() {
+        List<OccupiedTimeSlot> decoded = slots;
+        if (decoded == null) {
+            int count = columns.slotCount(row);
+            List<OccupiedTimeSlot> list = new ArrayList<>(count);
+            for (int slot = 0; slot < count; slot++) {
+                list.add(OccupiedTimeSlot.ofMinutes(columns.slotStartMinute(row, slot), columns.slotEndMinute(row, slot)));
+            }
+            decoded = Collections.unmodifiableList(list);
+            slots = decoded;
+        }
+        return decoded;
+    }
+
+    /**
+     * Views are backed by read-only slot columns. Stations returned by
+     * {@link service.singleton.ChargingStationManager#getStation(int)} are materialized and accept
+     * reservations; otherwise copy the row with {@link StationColumns#materialize(int)} first.
+     * 
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addReservation(OccupiedTimeSlot slot) {
+        throw new UnsupportedOperationException("Station views are read-only: " + getStationId());
+    }
+
+    /**
+     * Views are backed by read-only slot columns.
+     * 
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeReservation(OccupiedTimeSlot slot) {
+        throw new UnsupportedOperationException("Station views are read-only: " + getStationId());
+    }
+
+    /**
+     * Retrieves the row's recurring windows from the backing columns.
+     * 
+     * @return The recurring windows, or null if the row has none
+     */
+    @Override
+    public SlotSource getRecurringSlots() {
+        return columns.recurringSlots(row);
+    }
+
+    /**
+     * Views are created per query, so recurring windows set on one would be lost;
+     * set them on a materialized station instead.
+     * 
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void setRecurringSlots(SlotSource slots) {
+        throw new UnsupportedOperationException("Station views are read-only: " + getStationId());
+    }
+
+    /**
+     * Calculates the charging efficiency based on the row's strategy.
+     * 
+     * @param chargingHours Number of hours the station is used for charging
+     * @return Calculated efficiency value as an integer
+     */
+    @Override
+    public int getChargingEfficiency(double chargingHours) {
+        return (int) calculateEfficiency(chargingHours);
+    }
+}
@@ -0,0 +1,25 @@
+// CapacityProbe - Minimal station carrying only a capacity, used to evaluate strategies in batches.
+
+package service.strategy;
+
+import java.util.List;
+
+import model.ChargingStation;
+
+final class CapacityProbe extends ChargingStation {
+
+    /**
+     * Constructor to create a probe with the given capacity and strategy.
+     * 
+     * @param capacity Capacity in kW
+     * @param strategy Strategy being evaluated
+     */
+    CapacityProbe(int capacity, ChargingStrategy strategy) {
+        super(0, capacity, List.of(), strategy);
+    }
+
+    @Override
+    public int getChargingEfficiency(double chargingHours) {
+        return (int) strategy.calculateEfficiency(this, chargingHours);
+    }
+}
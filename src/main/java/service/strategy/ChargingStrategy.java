@@ -14,4 +14,38 @@ public interface ChargingStrategy {
      * @return The calculated efficiency as a double value.
      */
     double calculateEfficiency(ChargingStation station, double chargingHours);
+
+    /**
+     * Calculates efficiencies for many (capacity, hours) pairs at once: out[i] receives the efficiency
+     * of a station with capacities[i] kW charging for hours[i] hours, exactly as
+     * {@link #calculateEfficiency(ChargingStation, double)} would compute it.
+     * The default evaluates one pair at a time; strategies whose result depends only on capacity and hours
+     * override it with a tight loop over the arrays that the JIT can unroll and vectorize.
+     * 
+     * @param capacities Station capacities in kW
+     * @param hours      Charging durations in hours, same length as capacities
+     * @param out        Receives the efficiencies; at least as long as capacities
+     * @throws IllegalArgumentException if the array lengths do not match
+     */
+    default void calculateEfficiencies(int[] capacities, double[] hours, double[] out) {
+        checkBatch(capacities, hours, out);
+        CapacityProbe probe = null;
+        for (int i = 0; i < capacities.length; i++) {
+            if (probe == null || probe.getCapacity() != capacities[i]) {
+                probe = new CapacityProbe(capacities[i], this);
+            }
+            out[i] = calculateEfficiency(probe, hours[i]);
+        }
+    }
+
+    /**
+     * Validates the arrays passed to {@link #calculateEfficiencies(int[], double[], double[])}.
+     * 
+     * @throws IllegalArgumentException if the array lengths do not match
+     */
+    static void checkBatch(int[] capacities, double[] hours, double[] out) {
+        if (hours.length != capacities.length || out.length < capacities.length) {
+            throw new IllegalArgumentException("Batch arrays must have matching lengths");
+        }
+    }
 }
@@ -22,4 +22,37 @@ public class CostEffectiveChargingStrategy implements ChargingStrategy {
         double totalCost = station.getCapacity() * chargingHours * COST_PER_KW;
         return station.getCapacity() / totalCost;  // Efficiency: Power per cost
     }
+
+    /**
+     * Evaluates capacity per cost for whole arrays in one pass; each element is computed
+     * exactly like the single-station method.
+     * 
+     * @param capacities Station capacities in kW
+     * @param hours      Charging durations in hours
+     * @param out        Receives the efficiencies
+     */
+    @Override
+    public void calculateEfficiencies(int[] capacities, double[] hours, double[] out) {
+        ChargingStrategy.checkBatch(capacities, hours, out);
+        for (int i = 0; i < capacities.length; i++) {
+            double capacity = capacities[i];
+            out[i] = capacity / (capacity * hours[i] * COST_PER_KW);
+        }
+    }
+
+    /**
+     * Cost-effective charging keeps no per-instance state, so any two instances are equal.
+     * 
+     * @param other Object to compare with
+     * @return true if the other object is a CostEffectiveChargingStrategy
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other != null && other.getClass() == getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
@@ -31,4 +31,37 @@ public class FastChargingStrategy implements ChargingStrategy {
         // Efficiency: Energy provided per cost
         return totalEnergy / totalCost;
     }
+
+    /**
+     * Batch form of {@link #calculateEfficiency(ChargingStation, double)} with the same arithmetic,
+     * written as a branch-free loop over primitive arrays.
+     * 
+     * @param capacities Station capacities in kW
+     * @param hours      Charging durations in hours
+     * @param out        Receives the efficiencies
+     */
+    @Override
+    public void calculateEfficiencies(int[] capacities, double[] hours, double[] out) {
+        ChargingStrategy.checkBatch(capacities, hours, out);
+        for (int i = 0; i < capacities.length; i++) {
+            double totalEnergy = capacities[i] * hours[i] * SPEED_MULTIPLIER;
+            out[i] = totalEnergy / (totalEnergy * COST_PER_KW);
+        }
+    }
+
+    /**
+     * The strategy is stateless, so all instances are interchangeable.
+     * 
+     * @param other Object to compare with
+     * @return true if the other object is a FastChargingStrategy
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other != null && other.getClass() == getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
@@ -0,0 +1,201 @@
+// TimeOfUseChargingStrategy - Implements a charging strategy priced by a repeating time-of-use tariff curve.
+
+package service.strategy;
+
+import java.util.Arrays;
+
+import model.ChargingStation;
+import model.Interval;
+
+public class TimeOfUseChargingStrategy implements ChargingStrategy {
+
+    // Default overnight depot tariff in USD per kWh for each hour of the day
+    private static final double[] OVERNIGHT_TARIFF = {
+        0.10, 0.10, 0.10, 0.10, 0.10, 0.10,   // 00-06 off-peak
+        0.18, 0.22, 0.22, 0.20, 0.20, 0.20,   // 06-12 shoulder
+        0.20, 0.20, 0.20, 0.22, 0.22, 0.35,   // 12-18 shoulder, evening peak from 17
+        0.35, 0.35, 0.35, 0.22, 0.12, 0.12    // 18-24 peak until 21, then off-peak
+    };
+
+    // Default hour at which overnight charging sessions start
+    private static final int OVERNIGHT_START = 22;
+
+    // Price per kWh of each time unit in one tariff period; the curve repeats with this period
+    private final double[] prices;
+
+    // prefix[i] is the sum of prices[0..i), so any window within one period costs prefix[b] - prefix[a]
+    private final double[] prefix;
+
+    // Time at which sessions priced by calculateEfficiency start
+    private final int sessionStart;
+
+    /**
+     * Constructor to create the default overnight depot tariff, with sessions starting at 22:00.
+     */
+    public TimeOfUseChargingStrategy() {
+        this(OVERNIGHT_TARIFF, OVERNIGHT_START);
+    }
+
+    /**
+     * Constructor to create a strategy from a tariff curve.
+     * 
+     * @param prices Price per kWh for each time unit of one period (e.g. 24 hourly prices for a day)
+     * @param sessionStart Time at which sessions priced by calculateEfficiency start
+     * @throws IllegalArgumentException if the curve is empty or contains a negative or non-finite price
+     */
+    public TimeOfUseChargingStrategy(double[] prices, int sessionStart) {
+        if (prices.length == 0) {
+            throw new IllegalArgumentException("Tariff curve must not be empty");
+        }
+        this.prices = prices.clone();
+        this.prefix = new double[prices.length + 1];
+        for (int i = 0; i < prices.length; i++) {
+            if (!(prices[i] >= 0) || Double.isInfinite(prices[i])) {
+                throw new IllegalArgumentException("Tariff prices must be finite and non-negative");
+            }
+            prefix[i + 1] = prefix[i] + prices[i];
+        }
+        this.sessionStart = sessionStart;
+    }
+
+    /**
+     * Calculates the charging efficiency as power per cost, like the cost-effective strategy,
+     * but pricing a session that starts at the configured session start by the tariff curve.
+     * 
+     * @param station       The charging station for which efficiency is calculated.
+     * @param chargingHours The number of hours the station is utilized for charging.
+     * @return The efficiency value, representing power output per cost.
+     */
+    @Override
+    public double calculateEfficiency(ChargingStation station, double chargingHours) {
+        return calculateEfficiency(station, sessionStart, chargingHours);
+    }
+
+    /**
+     * Calculates the charging efficiency of a session starting at the given time.
+     * 
+     * @param station       The charging station for which efficiency is calculated.
+     * @param start         Start time of the session
+     * @param chargingHours The number of hours the station is utilized for charging.
+     * @return The efficiency value, representing power output per cost.
+     */
+    public double calculateEfficiency(ChargingStation station, double start, double chargingHours) {
+        double totalCost = station.getCapacity() * cost(start, start + chargingHours);
+        return station.getCapacity() / totalCost;
+    }
+
+    /**
+     * Gets the price per kWh of one kW drawn over [start, end) in O(1), however long the window is.
+     * 
+     * @param start Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return Summed price over the window
+     * @throws IllegalArgumentException if end is before start
+     */
+    public double windowCost(int start, int end) {
+        if (end < start) {
+            throw new IllegalArgumentException("End must not be before start");
+        }
+        return periodicCost(start, (long) end - start);
+    }
+
+    /**
+     * Gets the price of one kW drawn over [start, end) for fractional times, charging a partial
+     * time unit in proportion to its price.
+     * 
+     * @param start Inclusive start of the window
+     * @param end Exclusive end of the window
+     * @return Summed price over the window
+     */
+    public double cost(double start, double end) {
+        double floorStart = Math.floor(start);
+        double floorEnd = Math.floor(end);
+        return cumulative((long) floorEnd) + (end - floorEnd) * price((long) floorEnd)
+                - cumulative((long) floorStart) - (start - floorStart) * price((long) floorStart);
+    }
+
+    /**
+     * Finds the cheapest window of the given duration inside [from, to). Each candidate window is priced
+     * from the prefix sums in O(1), so the scan is O(to - from) regardless of the duration.
+     * 
+     * @param from Inclusive start of the horizon
+     * @param to Exclusive end of the horizon
+     * @param duration Length of the window
+     * @return The cheapest window (the earliest one on ties), or null if the horizon is shorter than the duration
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public Interval cheapestWindow(int from, int to, int duration) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if ((long) to - from < duration) {
+            return null;
+        }
+        int bestStart = from;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (long start = from; start + duration <= to; start++) {
+            double cost = periodicCost(start, duration);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestStart = (int) start;
+            }
+        }
+        return new Interval(bestStart, bestStart + duration);
+    }
+
+    /**
+     * Gets the price in effect at a time.
+     * 
+     * @param time Time unit
+     * @return Price per kWh
+     */
+    public double price(long time) {
+        return prices[(int) Math.floorMod(time, (long) prices.length)];
+    }
+
+    /**
+     * Gets the length of one tariff period.
+     * 
+     * @return Number of time units before the curve repeats
+     */
+    public int getPeriod() {
+        return prices.length;
+    }
+
+    /**
+     * Prices a window by its offset within the period, so windows that are one or more periods apart
+     * get bit-identical costs and ties resolve to the earliest window.
+     */
+    private double periodicCost(long start, long length) {
+        int offset = (int) Math.floorMod(start, (long) prices.length);
+        return cumulative(offset + length) - prefix[offset];
+    }
+
+    /**
+     * Sums all prices from time 0 up to the given time; negative times give negative sums.
+     */
+    private double cumulative(long time) {
+        long cycles = Math.floorDiv(time, (long) prices.length);
+        return cycles * prefix[prices.length] + prefix[(int) Math.floorMod(time, (long) prices.length)];
+    }
+
+    /**
+     * Two strategies are equal if they price sessions identically.
+     * 
+     * @param other Object to compare with
+     * @return true if the other strategy has the same curve and session start
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == null || other.getClass() != getClass()) {
+            return false;
+        }
+        TimeOfUseChargingStrategy strategy = (TimeOfUseChargingStrategy) other;
+        return sessionStart == strategy.sessionStart && Arrays.equals(prices, strategy.prices);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(prices) + sessionStart;
+    }
+}
@@ -0,0 +1,45 @@
+// ChargingRequestTest - Unit tests for the ChargingRequest class.
+
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ChargingRequest class, covering its hour view of minute-resolution windows.
+ */
+public class ChargingRequestTest {
+
+    /**
+     * Tests that whole-hour requests keep their window and round durations up to whole hours.
+     */
+    @Test
+    void testHourRequest() {
+        ChargingRequest request = new ChargingRequest(1, 8, 12, 120.0);
+
+        assertEquals(8, request.getArrivalTime(), "Arrival should be kept");
+        assertEquals(12, request.getDeadline(), "Deadline should be kept");
+        assertEquals(3, request.getChargingHours(50), "120 kWh at 50 kW should round up to 3 hours");
+        assertThrows(IllegalArgumentException.class, () -> new ChargingRequest(1, 12, 12, 10.0),
+                "An empty window should be rejected");
+    }
+
+    /**
+     * Tests minute-resolution charging requests and their hour view.
+     */
+    @Test
+    void testMinuteChargingRequest() {
+        ChargingRequest request = ChargingRequest.ofMinutes(1, 8 * 60 + 10, 11 * 60 + 50, 25.0);
+
+        assertEquals(9, request.getArrivalTime(), "Hour view should not start before the arrival");
+        assertEquals(11, request.getDeadline(), "Hour view should not end after the deadline");
+        assertEquals(30, request.getChargingMinutes(50), "25 kWh at 50 kW should take 30 minutes");
+        assertEquals(1, request.getChargingHours(50), "The hour view should round up to one hour");
+        assertTrue(request.hasHourWindow(), "9 - 11 still holds whole hours");
+        assertFalse(ChargingRequest.ofMinutes(2, 615, 705, 10.0).hasHourWindow(),
+                "10:15 - 11:45 has no whole hour inside it");
+    }
+}
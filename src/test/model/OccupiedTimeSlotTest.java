@@ -65,4 +65,20 @@ public class OccupiedTimeSlotTest {
         OccupiedTimeSlot slot = new OccupiedTimeSlot(9, 17);
         assertEquals("(9 - 17)", slot.toString(), "String representation should match expected format");
     }
+
+    /**
+     * Tests minute-resolution slots and their covering hour view.
+     */
+    @Test
+    void testMinuteSlot() {
+        OccupiedTimeSlot slot = OccupiedTimeSlot.ofMinutes(8 * 60 + 30, 9 * 60 + 5);
+
+        assertEquals(8 * 60 + 30, slot.getStartMinute(), "Start minute should be kept exactly");
+        assertEquals(8, slot.getStartTime(), "Hour view should start at the containing hour");
+        assertEquals(10, slot.getEndTime(), "Hour view should end at the next hour boundary");
+        assertEquals("(8:30 - 9:05)", slot.toString(), "Minute slots should print as hours and minutes");
+        assertEquals(new OccupiedTimeSlot(8, 10), OccupiedTimeSlot.ofMinutes(480, 600),
+                "Hour and minute slots covering the same period should be equal");
+        assertThrows(IllegalArgumentException.class, () -> OccupiedTimeSlot.ofMinutes(600, 600));
+    }
 }
@@ -0,0 +1,64 @@
+// ResourceAllocationEngineTest - Unit tests for the ResourceAllocationEngine class, based on TestCases.txt.
+
+package service.allocation;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import model.Interval;
+import model.OccupiedTimeSlot;
+import model.Resource;
+
+class ResourceAllocationEngineTest {
+
+    private final ResourceAllocationEngine engine = new ResourceAllocationEngine();
+
+    /**
+     * Tests TestCase 2: a single B resource and two A resources of different quality.
+     */
+    @Test
+    void testCaseTwo() {
+        AllocationResult result = engine.allocate(new Interval(5, 55),
+                List.of(new Resource(10, 100, List.of(new OccupiedTimeSlot(1, 10))),
+                        new Resource(11, 1, List.of(new OccupiedTimeSlot(15, 20)))),
+                List.of(new Resource(21, 5, List.of(new OccupiedTimeSlot(10, 15)))));
+
+        assertEquals("{10=[{begin=10, end=55}], 11=[{begin=5, end=15}, {begin=20, end=55}]}",
+                result.getAResources().toString(), "A pool allocation should match TestCase 2.");
+        assertEquals("{21=[{begin=5, end=10}, {begin=15, end=55}]}",
+                result.getBResources().toString(), "B pool allocation should match TestCase 2.");
+    }
+
+    /**
+     * Tests TestCase 3: two B resources reported in descending quality order.
+     */
+    @Test
+    void testCaseThree() {
+        AllocationResult result = engine.allocate(new Interval(5, 65),
+                List.of(new Resource(10, 100, List.of(new OccupiedTimeSlot(1, 10))),
+                        new Resource(11, 1, List.of(new OccupiedTimeSlot(15, 20)))),
+                List.of(new Resource(22, 25, List.of(new OccupiedTimeSlot(15, 20))),
+                        new Resource(21, 150, List.of(new OccupiedTimeSlot(10, 15)))));
+
+        assertEquals("AResources: {10=[{begin=10, end=65}], 11=[{begin=5, end=15}, {begin=20, end=65}]}"
+                + "\n\tBResources: {21=[{begin=5, end=10}, {begin=15, end=65}], 22=[{begin=5, end=15}, {begin=20, end=65}]}",
+                result.toString(), "Allocation should match TestCase 3.");
+    }
+
+    /**
+     * Tests that higher-quality resources come first regardless of input order.
+     */
+    @Test
+    void testQualityOrdering() {
+        List<Resource> pool = List.of(
+                new Resource(10, 5, List.of(new OccupiedTimeSlot(5, 10))),
+                new Resource(11, 10, List.of(new OccupiedTimeSlot(1, 2), new OccupiedTimeSlot(3, 5))));
+
+        assertEquals(List.of(11, 10), List.copyOf(engine.allocatePool(new Interval(1, 5), pool).keySet()),
+                "The quality-10 resource should be allocated before the quality-5 resource.");
+        assertEquals(List.of(new Interval(2, 3)), engine.allocatePool(new Interval(1, 5), pool).get(11),
+                "Resource 11 is only free in [2, 3).");
+    }
+}
@@ -0,0 +1,186 @@
+// FleetAvailabilityIndexTest - Unit tests for the FleetAvailabilityIndex class.
+
+package service.availability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import service.strategy.FastChargingStrategy;
+
+class FleetAvailabilityIndexTest {
+
+    private static ChargingStation station(int id, OccupiedTimeSlot... slots) {
+        return new FastChargingStation(id, 100, List.of(slots), new FastChargingStrategy());
+    }
+
+    /**
+     * Tests the free-station query on a small fleet.
+     */
+    @Test
+    void testFindFreeStations() {
+        ChargingStation morning = station(1, new OccupiedTimeSlot(6, 12));
+        ChargingStation evening = station(2, new OccupiedTimeSlot(16, 22));
+        ChargingStation idle = station(3);
+        FleetAvailabilityIndex index = new FleetAvailabilityIndex(List.of(morning, evening, idle));
+
+        assertEquals(List.of(evening, idle), index.findFreeStations(8, 10), "Morning station is busy at 8-10.");
+        assertEquals(List.of(morning, evening, idle), index.findFreeStations(12, 16), "Everyone is free at 12-16.");
+        assertEquals(List.of(idle), index.findFreeStations(0, 24), "Only the idle station is free all day.");
+        assertEquals(List.of(morning, evening, idle), index.findFreeStations(100, 200),
+                "Windows outside every slot should be free for all stations.");
+    }
+
+    /**
+     * Tests the existence check used by earliest-fit searches.
+     */
+    @Test
+    void testAnyStationFree() {
+        FleetAvailabilityIndex index = new FleetAvailabilityIndex(List.of(
+                station(1, new OccupiedTimeSlot(0, 10)), station(2, new OccupiedTimeSlot(5, 15))));
+
+        assertFalse(index.anyStationFree(6, 9), "Both stations are busy at 6-9.");
+        assertTrue(index.anyStationFree(10, 12), "The first station is free at 10-12.");
+    }
+
+    /**
+     * Tests the fleet-wide earliest-fit query.
+     */
+    @Test
+    void testFindEarliestFit() {
+        ChargingStation first = station(1, new OccupiedTimeSlot(0, 10), new OccupiedTimeSlot(12, 30));
+        ChargingStation second = station(2, new OccupiedTimeSlot(0, 14));
+        FleetAvailabilityIndex index = new FleetAvailabilityIndex(List.of(first, second));
+
+        StationWindow shortFit = index.findEarliestFit(0, 2);
+        assertEquals(first, shortFit.getStation(), "The two-hour gap at 10 on the first station is earliest.");
+        assertEquals(10, shortFit.getWindow().getBegin(), "The short fit should start at 10.");
+
+        StationWindow longFit = index.findEarliestFit(0, 5);
+        assertEquals(second, longFit.getStation(), "The second station frees up at 14.");
+        assertEquals(14, longFit.getWindow().getBegin(), "The long fit should start at 14.");
+
+        assertEquals(40, index.findEarliestFit(40, 5).getWindow().getBegin(), "Late requests start immediately.");
+    }
+
+    /**
+     * Tests the index against per-station checks on a random fleet larger than one bitset word.
+     */
+    @Test
+    void testMatchesPerStationChecks() {
+        Random random = new Random(7);
+        List<ChargingStation> fleet = new ArrayList<>();
+        for (int id = 0; id < 150; id++) {
+            List<OccupiedTimeSlot> slots = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                int start = random.nextInt(200);
+                slots.add(new OccupiedTimeSlot(start, start + 1 + random.nextInt(20)));
+            }
+            fleet.add(new FastChargingStation(id, 100, slots, new FastChargingStrategy()));
+        }
+        FleetAvailabilityIndex index = new FleetAvailabilityIndex(fleet);
+
+        for (int i = 0; i < 500; i++) {
+            int begin = random.nextInt(230) - 10;
+            int end = begin + 1 + random.nextInt(15);
+            List<ChargingStation> expected = fleet.stream()
+                    .filter(s -> s.getAvailability().isFree(begin, end)).collect(Collectors.toList());
+            assertEquals(expected, index.findFreeStations(begin, end), "Index should match per-station checks.");
+        }
+    }
+
+    /**
+     * Tests that recurring windows block stations in free-station and earliest-fit queries.
+     */
+    @Test
+    void testRecurringWindows() {
+        ChargingStation nightly = station(1);
+        nightly.setRecurringSlots(RecurringSlotRule.daily(0, 12));
+        ChargingStation busy = station(2, new OccupiedTimeSlot(0, 20));
+        FleetAvailabilityIndex index = new FleetAvailabilityIndex(List.of(nightly, busy));
+
+        assertEquals(List.of(busy), index.findFreeStations(26, 28), "The rule repeats on the next day.");
+        assertEquals(List.of(nightly), index.findFreeStations(13, 15), "The rule leaves the afternoon free.");
+        StationWindow fit = index.findEarliestFit(0, 3);
+        assertEquals(nightly, fit.getStation(), "The ruled station frees up before the busy one.");
+        assertEquals(12, fit.getWindow().getBegin(), "The fit should start when the rule's window ends.");
+        assertEquals(20, index.findEarliestFit(0, 13).getWindow().getBegin(),
+                "A duration the rule never leaves free should go to the other station.");
+    }
+
+    /**
+     * Tests that a slot off the hour grid blocks every hour it touches.
+     */
+    @Test
+    void testMinuteSlotsAreWidened() {
+        ChargingStation station = station(1, OccupiedTimeSlot.ofMinutes(8 * 60 + 30, 9 * 60 + 15));
+        FleetAvailabilityIndex index = new FleetAvailabilityIndex(List.of(station));
+
+        assertEquals(List.of(), index.findFreeStations(8, 9), "The hour holding the start should be busy.");
+        assertEquals(List.of(), index.findFreeStations(9, 10), "The hour holding the end should be busy.");
+        assertEquals(List.of(station), index.findFreeStations(10, 11), "Later hours should be free.");
+    }
+
+    /**
+     * Tests the index against per-station checks on a random fleet where some stations have recurring windows.
+     */
+    @Test
+    void testRecurringWindowsMatchPerStationChecks() {
+        Random random = new Random(11);
+        List<ChargingStation> fleet = new ArrayList<>();
+        for (int id = 0; id < 100; id++) {
+            int start = random.nextInt(200);
+            ChargingStation station = station(id, new OccupiedTimeSlot(start, start + 1 + random.nextInt(30)));
+            if (id % 3 == 0) {
+                int hour = random.nextInt(24);
+                station.setRecurringSlots(RecurringSlotRule.daily(hour, (hour + 1 + random.nextInt(12)) % 24));
+            }
+            fleet.add(station);
+        }
+        FleetAvailabilityIndex index = new FleetAvailabilityIndex(fleet);
+
+        for (int i = 0; i < 300; i++) {
+            int begin = random.nextInt(230);
+            int end = begin + 1 + random.nextInt(10);
+            List<ChargingStation> expected = fleet.stream()
+                    .filter(s -> !s.hasConflict(begin, end)).collect(Collectors.toList());
+            assertEquals(expected, index.findFreeStations(begin, end), "Index should match per-station checks.");
+            int earliest = fleet.stream().mapToInt(s -> s.findEarliestStart(begin, end - begin)).min().getAsInt();
+            assertEquals(earliest, index.findEarliestFit(begin, end - begin).getWindow().getBegin(),
+                    "Earliest fit should match the per-station minimum.");
+        }
+    }
+
+    /**
+     * Tests that a station marked stale is answered from its own slots without rebuilding the index.
+     */
+    @Test
+    void testMarkStale() {
+        ChargingStation first = station(1, new OccupiedTimeSlot(0, 10));
+        ChargingStation second = station(2, new OccupiedTimeSlot(0, 4));
+        FleetAvailabilityIndex index = new FleetAvailabilityIndex(List.of(first, second));
+
+        second.addReservation(new OccupiedTimeSlot(10, 20));
+        assertTrue(index.markStale(2), "An indexed station should be marked.");
+        assertFalse(index.markStale(3), "Unknown stations should not be marked.");
+        assertEquals(1, index.getStaleCount(), "One station should be stale.");
+
+        assertEquals(List.of(first), index.findFreeStations(12, 14), "The new reservation should be seen.");
+        StationWindow fit = index.findEarliestFit(0, 3);
+        assertEquals(second, fit.getStation(), "The stale station still fits first.");
+        assertEquals(4, fit.getWindow().getBegin(), "The stale station is free from 4 to 10.");
+        assertEquals(first, index.findEarliestFit(10, 3).getStation(), "After 10, only the first station fits.");
+
+        second.removeReservation(second.getForbiddenTimeSlots().get(1));
+        assertEquals(List.of(first, second), index.findFreeStations(12, 14), "Removals should be seen too.");
+    }
+}
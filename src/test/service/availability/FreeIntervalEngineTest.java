@@ -0,0 +1,169 @@
+// FreeIntervalEngineTest - Unit tests for the FreeIntervalEngine class and minute-resolution station queries.
+
+package service.availability;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingStation;
+import model.EpochMinutes;
+import model.FastChargingStation;
+import model.Interval;
+import model.OccupiedTimeSlot;
+import service.strategy.FastChargingStrategy;
+
+class FreeIntervalEngineTest {
+
+    /**
+     * Tests free intervals for a window that is split by several forbidden slots.
+     */
+    @Test
+    void testFreeIntervalsInsideWindow() {
+        FreeIntervalEngine engine = FreeIntervalEngine.of(
+                List.of(new OccupiedTimeSlot(1, 2), new OccupiedTimeSlot(3, 5)));
+
+        assertArrayEquals(new int[] {2, 3}, engine.freeIntervals(1, 5),
+                "Only [2, 3) should be free inside [1, 5).");
+    }
+
+    /**
+     * Tests that unsorted, overlapping and adjacent slots are merged once.
+     */
+    @Test
+    void testOverlappingAndAdjacentSlotsAreMerged() {
+        FreeIntervalEngine engine = FreeIntervalEngine.of(List.of(
+                new OccupiedTimeSlot(20, 25), new OccupiedTimeSlot(10, 15),
+                new OccupiedTimeSlot(12, 18), new OccupiedTimeSlot(18, 19)));
+
+        assertEquals(2, engine.getBlockCount(), "Slots should be merged into two blocks.");
+        assertEquals(List.of(new Interval(5, 10), new Interval(19, 20), new Interval(25, 55)),
+                engine.getFreeIntervals(5, 55), "Free intervals should be the gaps between merged blocks.");
+    }
+
+    /**
+     * Tests windows that are entirely free or entirely occupied.
+     */
+    @Test
+    void testFullyFreeAndFullyOccupiedWindows() {
+        FreeIntervalEngine engine = FreeIntervalEngine.of(List.of(new OccupiedTimeSlot(5, 10)));
+
+        assertArrayEquals(new int[] {1, 5}, engine.freeIntervals(1, 5), "Window before the slot should be free.");
+        assertEquals(0, engine.freeIntervals(6, 9).length, "Window inside the slot should have no free time.");
+        assertTrue(engine.isFree(10, 12), "Window starting at the slot end should be free.");
+        assertFalse(engine.isFree(9, 12), "Window overlapping the slot should not be free.");
+    }
+
+    /**
+     * Tests that a station without forbidden slots is free for any window.
+     */
+    @Test
+    void testEmptySlotList() {
+        FreeIntervalEngine engine = FreeIntervalEngine.of(List.of());
+
+        assertArrayEquals(new int[] {0, 24}, engine.freeIntervals(0, 24), "The whole window should be free.");
+    }
+
+    /**
+     * Tests the station-level accessor that delegates to the engine.
+     */
+    @Test
+    void testStationFreeIntervals() {
+        ChargingStation station = new FastChargingStation(10, 250,
+                List.of(new OccupiedTimeSlot(1, 10)), new FastChargingStrategy());
+
+        assertEquals(List.of(new Interval(10, 55)), station.getFreeIntervals(5, 55),
+                "Station should be free from the end of its forbidden slot.");
+        assertSame(station.getAvailability(), station.getAvailability(), "Engine should be built only once.");
+    }
+
+    /**
+     * Tests that an empty window is rejected.
+     */
+    @Test
+    void testInvalidWindow() {
+        FreeIntervalEngine engine = FreeIntervalEngine.of(List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> engine.freeIntervals(5, 5));
+    }
+
+    /**
+     * Tests that minute slots are merged without rounding, and how the hour view rounds them.
+     */
+    @Test
+    void testMinuteSlotsAreMerged() {
+        FreeIntervalEngine engine = FreeIntervalEngine.of(List.of(
+                OccupiedTimeSlot.ofMinutes(600, 630), OccupiedTimeSlot.ofMinutes(500, 545),
+                OccupiedTimeSlot.ofMinutes(530, 560), OccupiedTimeSlot.ofMinutes(560, 575),
+                new OccupiedTimeSlot(10, 11)));
+
+        assertEquals(2, engine.getBlockCount(), "Slots should be merged into two blocks.");
+        assertEquals(500, engine.getBlockStartMinute(0), "The first block should start at minute 500.");
+        assertEquals(575, engine.getBlockEndMinute(0), "Adjacent slots should extend the first block.");
+        assertEquals(660, engine.getBlockEndMinute(1), "The hour slot should merge with the overlapping minute slot.");
+        assertArrayEquals(new long[] {480, 500, 575, 600, 660, 720}, engine.freeMinutes(480, 720),
+                "Free minutes should be the gaps between merged blocks.");
+        assertTrue(engine.isFreeMinutes(575, 600), "The gap between blocks should be free.");
+        assertFalse(engine.isFreeMinutes(574, 600), "The last minute of a block should be occupied.");
+        assertEquals(8, engine.getBlockStart(0), "The hour view should cover the hour a block starts in.");
+        assertEquals(10, engine.getBlockEnd(0), "The hour view should cover the hour a block ends in.");
+        assertArrayEquals(new int[] {11, 12}, engine.freeIntervals(8, 12),
+                "The hour view should only report whole free hours.");
+        assertFalse(engine.isFree(9, 10), "A partly occupied hour should not be free.");
+    }
+
+    /**
+     * Tests earliest-fit search with minute durations.
+     */
+    @Test
+    void testFindEarliestStartMinute() {
+        FreeIntervalEngine engine = FreeIntervalEngine.of(List.of(
+                OccupiedTimeSlot.ofMinutes(500, 545), OccupiedTimeSlot.ofMinutes(560, 600)));
+
+        assertEquals(545, engine.findEarliestStartMinute(500, 15), "A 15-minute session should fit the gap.");
+        assertEquals(600, engine.findEarliestStartMinute(500, 16), "A 16-minute session should wait for the end.");
+        assertEquals(450, engine.findEarliestStartMinute(450, 50), "A session ending at a block start should fit.");
+        assertThrows(IllegalArgumentException.class, () -> engine.findEarliestStartMinute(0, 0),
+                "A zero duration should be rejected.");
+    }
+
+    /**
+     * Tests minute queries on a station over an epoch-minute horizon spanning weeks.
+     */
+    @Test
+    void testStationMinuteQueries() {
+        long monday = EpochMinutes.of(Instant.parse("2026-03-02T00:00:00Z"));
+        ChargingStation station = new FastChargingStation(1, 100,
+                List.of(OccupiedTimeSlot.ofMinutes(monday + 8 * 60 + 30, monday + 9 * 60 + 15)),
+                new FastChargingStrategy());
+        station.setRecurringSlots(RecurringSlotRule.daily(2, 4));
+
+        assertEquals(monday + 9 * 60 + 15, station.findEarliestStartMinute(monday + 8 * 60, 45),
+                "A 45-minute session should start right after the explicit slot.");
+        assertEquals(monday + 8 * 60, station.findEarliestStartMinute(monday + 8 * 60, 30),
+                "A 30-minute session should fit before the explicit slot.");
+        long[] free = station.freeMinutes(monday + 21 * 24 * 60, monday + 21 * 24 * 60 + 5 * 60);
+        assertArrayEquals(new long[] {monday + 21 * 24 * 60, monday + 21 * 24 * 60 + 120,
+                monday + 21 * 24 * 60 + 240, monday + 21 * 24 * 60 + 300}, free,
+                "Three weeks out, the daily maintenance should still be honored.");
+
+        assertTrue(station.hasConflictMinutes(monday + 9 * 60, monday + 9 * 60 + 1), "Minute 9:00 should be occupied.");
+        assertNull(station.reserveMinutes(monday + 3 * 60 + 50, monday + 4 * 60 + 10),
+                "Reserving into maintenance should fail.");
+        OccupiedTimeSlot slot = station.reserveMinutes(monday + 9 * 60 + 15, monday + 9 * 60 + 40);
+        assertNotNull(slot, "Reserving right after the explicit slot should succeed.");
+        assertEquals(monday + 9 * 60 + 40, station.findEarliestStartMinute(monday + 8 * 60, 45),
+                "The reservation should be visible to later minute queries.");
+        assertTrue(station.hasConflict(EpochMinutes.floorHour(monday) + 9, EpochMinutes.floorHour(monday) + 10),
+                "The hour view should treat partially occupied hours as occupied.");
+    }
+}
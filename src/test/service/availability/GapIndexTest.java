@@ -0,0 +1,73 @@
+// GapIndexTest - Unit tests for the GapIndex class.
+
+package service.availability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import service.strategy.FastChargingStrategy;
+
+class GapIndexTest {
+
+    /**
+     * Tests earliest-fit queries around a few forbidden slots.
+     */
+    @Test
+    void testFindEarliestStart() {
+        GapIndex index = new GapIndex(FreeIntervalEngine.of(List.of(
+                new OccupiedTimeSlot(2, 4), new OccupiedTimeSlot(5, 8), new OccupiedTimeSlot(11, 20))));
+
+        assertEquals(0, index.findEarliestStart(0, 2), "The gap before the first slot fits two hours.");
+        assertEquals(4, index.findEarliestStart(2, 1), "The one-hour gap at 4 should be found.");
+        assertEquals(8, index.findEarliestStart(1, 3), "The three-hour gap at 8 should be found.");
+        assertEquals(20, index.findEarliestStart(9, 3), "Only the open end fits three hours after 9.");
+        assertEquals(9, index.findEarliestStart(9, 2), "The window starting at the requested time fits.");
+        assertEquals(25, index.findEarliestStart(25, 100), "Requests after all slots start immediately.");
+    }
+
+    /**
+     * Tests the index against a brute-force search on random schedules.
+     */
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(11);
+        for (int round = 0; round < 50; round++) {
+            List<OccupiedTimeSlot> slots = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                int start = random.nextInt(300);
+                slots.add(new OccupiedTimeSlot(start, start + 1 + random.nextInt(15)));
+            }
+            FreeIntervalEngine engine = FreeIntervalEngine.of(slots);
+            GapIndex index = new GapIndex(engine);
+            for (int i = 0; i < 50; i++) {
+                int after = random.nextInt(320);
+                int duration = 1 + random.nextInt(12);
+                int expected = after;
+                while (!engine.isFree(expected, expected + duration)) {
+                    expected++;
+                }
+                assertEquals(expected, index.findEarliestStart(after, duration), "Index should match brute force.");
+            }
+        }
+    }
+
+    /**
+     * Tests the station-level accessor and input validation.
+     */
+    @Test
+    void testStationEarliestStart() {
+        ChargingStation station = new FastChargingStation(101, 250,
+                List.of(new OccupiedTimeSlot(9, 17)), new FastChargingStrategy());
+
+        assertEquals(17, station.findEarliestStart(8, 2), "A two-hour session after 8 must wait until 17.");
+        assertThrows(IllegalArgumentException.class, () -> station.findEarliestStart(8, 0));
+    }
+}
@@ -0,0 +1,104 @@
+// OccupancyGridTest - Unit tests for the OccupancyGrid class.
+
+package service.availability;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import service.strategy.FastChargingStrategy;
+
+class OccupancyGridTest {
+
+    /**
+     * Tests that slots are rasterized into buckets and converted back to merged slots.
+     */
+    @Test
+    void testRoundTripThroughSlots() {
+        OccupancyGrid grid = OccupancyGrid.fromSlots(List.of(
+                new OccupiedTimeSlot(9, 17), new OccupiedTimeSlot(17, 18), new OccupiedTimeSlot(100, 130)),
+                0, 60, 200);
+
+        assertEquals(39, grid.busyCount(), "Busy buckets should cover all slot hours.");
+        assertEquals("[(9 - 18), (100 - 130)]", grid.toSlots().toString(),
+                "Adjacent slots should come back as one merged slot.");
+    }
+
+    /**
+     * Tests that partially covered buckets are marked busy at coarse granularity.
+     */
+    @Test
+    void testCoarseGranularityRoundsOutward() {
+        OccupancyGrid grid = OccupancyGrid.fromSlots(List.of(new OccupiedTimeSlot(7, 12)), 0, 300, 10);
+
+        assertTrue(grid.isBusy(1) && grid.isBusy(2), "Buckets [5, 10) and [10, 15) overlap the slot.");
+        assertFalse(grid.isBusy(0) || grid.isBusy(3), "Buckets outside the slot should stay free.");
+        assertEquals("[(5 - 15)]", grid.toSlots().toString(), "Slots should be aligned to bucket bounds.");
+    }
+
+    /**
+     * Tests that 5-minute buckets keep minute slots at minute resolution instead of widening them to hours.
+     */
+    @Test
+    void testMinuteBuckets() {
+        OccupancyGrid grid = OccupancyGrid.fromSlots(List.of(OccupiedTimeSlot.ofMinutes(8 * 60 + 7, 8 * 60 + 20)),
+                8 * 60, 5, 24);
+
+        assertEquals(3, grid.busyCount(), "8:05 - 8:20 spans three 5-minute buckets.");
+        assertEquals(List.of(OccupiedTimeSlot.ofMinutes(8 * 60 + 5, 8 * 60 + 20)), grid.toSlots(),
+                "Busy buckets should convert back to minute slots.");
+    }
+
+    /**
+     * Tests the first-fit search for a run of free buckets across word boundaries.
+     */
+    @Test
+    void testFindFreeRun() {
+        OccupancyGrid grid = new OccupancyGrid(0, 1, 300);
+        grid.setRange(0, 60);
+        grid.setRange(62, 140);
+        grid.setRange(148, 290);
+
+        assertEquals(60, grid.findFreeRun(2, 0), "The two-bucket gap at 60 should be found first.");
+        assertEquals(140, grid.findFreeRun(5, 0), "A five-bucket run should skip the short gap.");
+        assertEquals(290, grid.findFreeRun(10, 0), "The tail of the horizon should fit ten buckets.");
+        assertEquals(-1, grid.findFreeRun(11, 0), "No run of eleven buckets exists.");
+        assertTrue(grid.isRangeFree(140, 148), "Range between busy blocks should be free.");
+        assertFalse(grid.isRangeFree(139, 141), "Range touching a busy block should not be free.");
+    }
+
+    /**
+     * Tests word-parallel intersection, union and difference.
+     */
+    @Test
+    void testSetOperations() {
+        OccupancyGrid first = new OccupancyGrid(0, 60, 100);
+        first.setRange(10, 70);
+        OccupancyGrid second = new OccupancyGrid(0, 60, 100);
+        second.setRange(50, 90);
+
+        assertEquals("[(50 - 70)]", first.and(second).toSlots().toString(), "Intersection should be [50, 70).");
+        assertEquals("[(10 - 90)]", first.or(second).toSlots().toString(), "Union should be [10, 90).");
+        assertEquals("[(10 - 50)]", first.andNot(second).toSlots().toString(), "Difference should be [10, 50).");
+        assertThrows(IllegalArgumentException.class, () -> first.or(new OccupancyGrid(0, 5, 100)));
+    }
+
+    /**
+     * Tests building a grid from a station.
+     */
+    @Test
+    void testStationGrid() {
+        ChargingStation station = new FastChargingStation(101, 250,
+                List.of(new OccupiedTimeSlot(9, 17)), new FastChargingStrategy());
+
+        OccupancyGrid grid = station.toOccupancyGrid(0, 60, 48);
+        assertEquals(17, grid.findFreeRun(10, 0), "A ten-hour run only fits after the forbidden slot.");
+    }
+}
@@ -0,0 +1,103 @@
+// RecurringSlotRuleTest - Unit tests for the RecurringSlotRule class.
+
+package service.availability;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.Interval;
+import model.OccupiedTimeSlot;
+import service.strategy.FastChargingStrategy;
+
+class RecurringSlotRuleTest {
+
+    /**
+     * Tests stepping through a daily maintenance window.
+     */
+    @Test
+    void testDailyRuleSteps() {
+        RecurringSlotRule maintenance = RecurringSlotRule.daily(2, 4);
+
+        assertEquals(2, maintenance.nextBusy(0), "The first window should start at 2.");
+        assertEquals(3, maintenance.nextBusy(3), "A time inside a window should be busy.");
+        assertEquals(26, maintenance.nextBusy(4), "The next window should start a day later.");
+        assertEquals(4, maintenance.nextFree(2), "The window should end at 4.");
+        assertEquals(5, maintenance.nextFree(5), "A time outside the window should be free.");
+        assertEquals(24 * 365 + 4, maintenance.nextFree(24 * 365 + 3), "Far-off windows should need no expansion.");
+        assertEquals(-22, maintenance.nextBusy(-23), "Negative times should map onto the previous day.");
+    }
+
+    /**
+     * Tests a window crossing midnight, which is merged across the period boundary.
+     */
+    @Test
+    void testOvernightRuleWraps() {
+        RecurringSlotRule overnight = RecurringSlotRule.daily(22, 2);
+
+        assertEquals(List.of(new OccupiedTimeSlot(0, 2), new OccupiedTimeSlot(22, 24)), overnight.getPattern().asList(),
+                "The window should be split at midnight.");
+        assertEquals(26, overnight.nextFree(23), "The window should continue into the next day.");
+        assertEquals(SlotSet.of(List.of(new OccupiedTimeSlot(20, 26), new OccupiedTimeSlot(44, 48))),
+                overnight.union(RecurringSlotRule.daily(20, 22)).occurrences(20, 48),
+                "Occurrences should be clipped to the window.");
+    }
+
+    /**
+     * Tests weekday peak hours against weekend days.
+     */
+    @Test
+    void testWeekdayRule() {
+        RecurringSlotRule peak = RecurringSlotRule.weekdays(17, 20);
+
+        assertEquals(RecurringSlotRule.WEEK, peak.getPeriod(), "Weekday rules should repeat weekly.");
+        assertTrue(peak.overlaps(4 * 24 + 18, 4 * 24 + 19), "Day 4 should be blocked.");
+        assertFalse(peak.overlaps(5 * 24, 7 * 24), "The weekend should be free.");
+        assertEquals(7 * 24 + 17, peak.nextBusy(4 * 24 + 20), "After day 4 the next window is next week's day 0.");
+    }
+
+    /**
+     * Tests combining rules with different periods and rejecting windows that cannot fit.
+     */
+    @Test
+    void testUnionAndValidation() {
+        RecurringSlotRule combined = RecurringSlotRule.daily(2, 4).union(RecurringSlotRule.weekly(6, 0, 24));
+
+        assertEquals(RecurringSlotRule.WEEK, combined.getPeriod(), "The combined period should be one week.");
+        assertEquals(7 * 24, combined.nextFree(6 * 24 + 1), "Day 6 should be blocked through its maintenance window.");
+        assertFalse(RecurringSlotRule.daily(0, 24).admits(1), "A full-day rule should never leave time free.");
+        assertEquals(Integer.MAX_VALUE, RecurringSlotRule.daily(0, 24).nextFree(5), "A full-day rule should stay busy.");
+        assertThrows(IllegalArgumentException.class, () -> RecurringSlotRule.daily(3, 3),
+                "An empty window should be rejected.");
+        assertThrows(IllegalArgumentException.class, () -> RecurringSlotRule.weekly(7, 1, 2),
+                "An invalid day should be rejected.");
+    }
+
+    /**
+     * Tests station queries combining explicit slots with a recurring rule.
+     */
+    @Test
+    void testStationHonorsRecurringSlots() {
+        ChargingStation station = new FastChargingStation(1, 100, List.of(new OccupiedTimeSlot(5, 10)),
+                new FastChargingStrategy());
+        station.setRecurringSlots(RecurringSlotRule.daily(2, 4));
+
+        assertArrayEquals(new int[] {0, 2, 4, 5, 10, 26, 28, 30}, station.freeIntervals(0, 30),
+                "Free intervals should skip both the explicit slot and every maintenance window.");
+        assertEquals(List.of(new Interval(10, 26)), station.getFreeIntervals(10, 26),
+                "Intervals should match the flat form.");
+        assertTrue(station.hasConflict(26, 27), "The second day's maintenance should conflict.");
+        assertEquals(10, station.findEarliestStart(4, 3), "The first 3-hour gap starts after the explicit slot.");
+        assertEquals(28, station.findEarliestStart(0, 20), "A 20-hour session fits only after a maintenance window.");
+        assertThrows(IllegalArgumentException.class, () -> station.findEarliestStart(0, 23),
+                "A session longer than any daily gap should be rejected.");
+        assertEquals(null, station.reserve(3, 4), "Reserving during maintenance should fail.");
+    }
+}
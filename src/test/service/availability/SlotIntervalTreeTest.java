@@ -0,0 +1,86 @@
+// SlotIntervalTreeTest - Unit tests for the SlotIntervalTree class.
+
+package service.availability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import service.strategy.FastChargingStrategy;
+
+class SlotIntervalTreeTest {
+
+    /**
+     * Tests conflict detection with half-open slot semantics.
+     */
+    @Test
+    void testConflicts() {
+        SlotIntervalTree tree = new SlotIntervalTree(List.of(
+                new OccupiedTimeSlot(9, 17), new OccupiedTimeSlot(1, 2), new OccupiedTimeSlot(20, 22)));
+
+        assertTrue(tree.conflicts(16, 18), "Window overlapping [9, 17) should conflict.");
+        assertFalse(tree.conflicts(17, 20), "Window between two slots should not conflict.");
+        assertFalse(tree.conflicts(2, 9), "Window touching slot bounds should not conflict.");
+        assertTrue(tree.conflicts(0, 30), "Window covering all slots should conflict.");
+    }
+
+    /**
+     * Tests that overlapping reservations are all reported, ordered by start time.
+     */
+    @Test
+    void testGetConflictsReturnsOriginalSlots() {
+        OccupiedTimeSlot longSlot = new OccupiedTimeSlot(0, 100);
+        OccupiedTimeSlot shortSlot = new OccupiedTimeSlot(40, 45);
+        OccupiedTimeSlot lateSlot = new OccupiedTimeSlot(90, 95);
+        SlotIntervalTree tree = new SlotIntervalTree(List.of(lateSlot, shortSlot, longSlot));
+
+        assertEquals(List.of(longSlot, shortSlot), tree.getConflicts(42, 50),
+                "Both the long slot and the nested short slot should be reported.");
+        assertEquals(List.of(longSlot, lateSlot), tree.getConflicts(94, 120),
+                "Slots overlapping the window tail should be reported.");
+    }
+
+    /**
+     * Tests the tree against a linear scan on random data.
+     */
+    @Test
+    void testMatchesLinearScan() {
+        Random random = new Random(42);
+        List<OccupiedTimeSlot> slots = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(1000);
+            slots.add(new OccupiedTimeSlot(start, start + 1 + random.nextInt(30)));
+        }
+        SlotIntervalTree tree = new SlotIntervalTree(slots);
+
+        for (int i = 0; i < 1000; i++) {
+            int begin = random.nextInt(1050);
+            int end = begin + 1 + random.nextInt(10);
+            long expected = slots.stream()
+                    .filter(slot -> slot.getStartTime() < end && slot.getEndTime() > begin).count();
+            assertEquals(expected, tree.getConflicts(begin, end).size(), "Conflict count should match a scan.");
+            assertEquals(expected > 0, tree.conflicts(begin, end), "Conflict flag should match a scan.");
+        }
+    }
+
+    /**
+     * Tests the station-level conflict accessors.
+     */
+    @Test
+    void testStationConflictAccessors() {
+        ChargingStation station = new FastChargingStation(101, 250,
+                List.of(new OccupiedTimeSlot(9, 17)), new FastChargingStrategy());
+
+        assertTrue(station.hasConflict(8, 10), "Booking overlapping the slot should conflict.");
+        assertEquals(1, station.getConflictingSlots(8, 10).size(), "One conflicting slot should be reported.");
+        assertFalse(station.hasConflict(17, 20), "Booking after the slot should not conflict.");
+    }
+}
@@ -0,0 +1,140 @@
+// SlotSetTest - Unit tests for the SlotSet class.
+
+package service.availability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.Interval;
+import model.OccupiedTimeSlot;
+import service.strategy.FastChargingStrategy;
+
+class SlotSetTest {
+
+    /**
+     * Builds a set from flat start/end pairs.
+     */
+    private static SlotSet set(int... bounds) {
+        List<OccupiedTimeSlot> slots = new ArrayList<>();
+        for (int i = 0; i < bounds.length; i += 2) {
+            slots.add(new OccupiedTimeSlot(bounds[i], bounds[i + 1]));
+        }
+        return SlotSet.of(slots);
+    }
+
+    /**
+     * Tests that unsorted, overlapping and adjacent slots are normalized on construction.
+     */
+    @Test
+    void testSlotsAreSortedAndMerged() {
+        SlotSet slots = set(20, 25, 10, 15, 12, 18, 18, 19, 1, 2);
+
+        assertEquals(set(1, 2, 10, 19, 20, 25), slots, "Overlapping and adjacent slots should be merged.");
+        assertEquals(3, slots.size(), "Three disjoint slots should remain.");
+        assertEquals(10, slots.getStart(1), "The second slot should start at 10.");
+        assertEquals(19, slots.getEnd(1), "The second slot should end at 19.");
+        assertEquals(15, slots.getTotalLength(), "Total length should count merged time once.");
+        assertEquals("[(1 - 2), (10 - 19), (20 - 25)]", slots.toString(), "String form should list the merged slots.");
+    }
+
+    /**
+     * Tests union, intersection and subtraction against hand-computed results.
+     */
+    @Test
+    void testSetOperations() {
+        SlotSet a = set(0, 10, 20, 30, 40, 50);
+        SlotSet b = set(5, 25, 30, 35, 45, 60);
+
+        assertEquals(set(0, 35, 40, 60), a.union(b), "Union should merge overlapping and touching slots.");
+        assertEquals(set(5, 10, 20, 25, 45, 50), a.intersect(b), "Intersection should keep shared time only.");
+        assertEquals(set(0, 5, 25, 30, 40, 45), a.subtract(b), "Subtraction should cut out the other set.");
+        assertEquals(set(10, 20, 30, 35, 50, 60), b.subtract(a), "Subtraction should not be symmetric.");
+        assertTrue(a.intersect(set(10, 20)).isEmpty(), "Gaps should not intersect.");
+        assertSame(a, a.union(SlotSet.EMPTY), "Union with the empty set should return the same set.");
+    }
+
+    /**
+     * Tests that one slot of the other set can cut several slots when subtracting.
+     */
+    @Test
+    void testSubtractWithSpanningSlot() {
+        SlotSet slots = set(0, 4, 6, 10, 12, 16);
+
+        assertEquals(set(0, 2, 14, 16), slots.subtract(set(2, 14)), "A spanning slot should cut three slots.");
+        assertEquals(set(0, 1, 2, 4, 6, 10, 12, 16), slots.subtract(set(1, 2)), "A slot inside should split it.");
+    }
+
+    /**
+     * Tests the complement within a window against the availability engine.
+     */
+    @Test
+    void testComplementMatchesFreeIntervals() {
+        List<OccupiedTimeSlot> forbidden = List.of(new OccupiedTimeSlot(1, 10), new OccupiedTimeSlot(15, 20),
+                new OccupiedTimeSlot(12, 16));
+        SlotSet free = SlotSet.of(forbidden).complement(5, 55);
+
+        List<Interval> expected = FreeIntervalEngine.of(forbidden).getFreeIntervals(5, 55);
+        assertEquals(expected.size(), free.size(), "Complement should have one slot per free interval.");
+        for (int i = 0; i < free.size(); i++) {
+            assertEquals(expected.get(i), new Interval(free.getStart(i), free.getEnd(i)),
+                    "Complement slot " + i + " should match the free interval.");
+        }
+        assertEquals(set(5, 55), SlotSet.EMPTY.complement(5, 55), "An empty set should leave the window free.");
+        assertThrows(IllegalArgumentException.class, () -> free.complement(5, 5),
+                "An empty window should be rejected.");
+    }
+
+    /**
+     * Tests point and window queries.
+     */
+    @Test
+    void testContainsAndOverlaps() {
+        SlotSet slots = set(10, 20, 30, 40);
+
+        assertTrue(slots.contains(10), "Slot start should be occupied.");
+        assertFalse(slots.contains(20), "Slot end should be free.");
+        assertTrue(slots.overlaps(15, 35), "A window over both slots should overlap.");
+        assertFalse(slots.overlaps(20, 30), "A window matching the gap should not overlap.");
+        assertFalse(slots.overlaps(40, 100), "A window after the last slot should not overlap.");
+    }
+
+    /**
+     * Tests that a station constructed from a set view reuses the set instead of normalizing again.
+     */
+    @Test
+    void testStationUsesSetView() {
+        SlotSet slots = set(1, 2, 3, 5, 5, 8);
+        ChargingStation station = new FastChargingStation(1, 100, slots.asList(), new FastChargingStrategy());
+
+        assertSame(slots, station.getSlotSet(), "The station should reuse the set behind its slot list.");
+        assertEquals(List.of(new OccupiedTimeSlot(1, 2), new OccupiedTimeSlot(3, 8)), station.getForbiddenTimeSlots(),
+                "The list view should show the merged slots.");
+        assertEquals(List.of(new Interval(2, 3), new Interval(8, 10)), station.getFreeIntervals(1, 10),
+                "Free intervals should be the gaps of the set.");
+
+        station.addReservation(new OccupiedTimeSlot(8, 9));
+        assertEquals(set(1, 2, 3, 9), station.getSlotSet(), "A reservation should yield a new normalized set.");
+    }
+
+    /**
+     * Tests that minute slots are rejected by of and widened to the hours they touch only by covering.
+     */
+    @Test
+    void testMinuteSlotsNeedTheHourView() {
+        List<OccupiedTimeSlot> slots = List.of(OccupiedTimeSlot.ofMinutes(8 * 60 + 30, 9 * 60 + 15));
+
+        assertThrows(IllegalArgumentException.class, () -> SlotSet.of(slots), "Minute bounds must not be rounded silently.");
+        assertEquals(SlotSet.of(8, 10), SlotSet.covering(slots), "The hour view should cover 8 - 10.");
+        assertThrows(IllegalArgumentException.class, () -> RecurringSlotRule.of(RecurringSlotRule.DAY, slots),
+                "Recurring windows must be whole hours.");
+    }
+}
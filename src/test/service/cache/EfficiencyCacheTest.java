@@ -0,0 +1,110 @@
+// EfficiencyCacheTest - Unit tests for the EfficiencyCache class.
+
+package service.cache;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.SlowChargingStation;
+import service.decorator.RenewableEnergyDecorator;
+import service.strategy.CostEffectiveChargingStrategy;
+import service.strategy.FastChargingStrategy;
+
+class EfficiencyCacheTest {
+
+    private EfficiencyCache cache;
+    private ChargingStation station;
+
+    /**
+     * Installs a small cache for the stations created by each test.
+     */
+    @BeforeEach
+    void setUp() {
+        cache = new EfficiencyCache(2);
+        ChargingStation.setEfficiencyCache(cache);
+        station = new FastChargingStation(1, 200, List.of(), new FastChargingStrategy());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ChargingStation.setEfficiencyCache(null);
+    }
+
+    /**
+     * Tests that repeated lookups are served from the cache, including through decorators.
+     */
+    @Test
+    void testHitsAndMisses() {
+        assertEquals(2, station.getChargingEfficiency(5.0), "Cached value should match the strategy.");
+        assertEquals(2, station.getChargingEfficiency(5.0), "Second lookup should return the same value.");
+        assertEquals(52, new RenewableEnergyDecorator(station).getChargingEfficiency(5.0),
+                "Decorated lookups should reuse the inner station's cached value.");
+        assertEquals(1, cache.getMisses(), "Only the first lookup should call the strategy.");
+        assertEquals(2, cache.getHits(), "Later lookups should be hits.");
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-9, "Hit rate should be hits over lookups.");
+    }
+
+    /**
+     * Tests that the least recently used entry is evicted.
+     */
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        station.getChargingEfficiency(1.0);
+        station.getChargingEfficiency(2.0);
+        station.getChargingEfficiency(1.0);
+        station.getChargingEfficiency(3.0);
+        assertEquals(2, cache.size(), "Cache should stay within its bound.");
+        assertEquals(1, cache.getEvictions(), "One entry should have been evicted.");
+
+        station.getChargingEfficiency(1.0);
+        assertEquals(1, cache.getHits() - 1, "Recently used hours should still be cached.");
+        station.getChargingEfficiency(2.0);
+        assertEquals(4, cache.getMisses(), "Evicted hours should be recalculated.");
+    }
+
+    /**
+     * Tests that results of a replaced strategy are no longer served, even when the same instance is set again.
+     */
+    @Test
+    void testSetStrategyStartsNewGeneration() {
+        ChargingStation slow = new SlowChargingStation(2, 150, List.of(), new FastChargingStrategy());
+        assertEquals(2, slow.getChargingEfficiency(4.0), "Fast strategy efficiency should be cached.");
+
+        slow.setStrategy(new CostEffectiveChargingStrategy());
+        assertEquals(1, slow.getChargingEfficiency(4.0), "New strategy should be used after the swap.");
+        slow.setStrategy(slow.getStrategy());
+        slow.getChargingEfficiency(4.0);
+        assertEquals(3, cache.getMisses(), "Setting the same strategy again should not reuse old results.");
+        assertEquals(0, cache.getHits(), "No lookup should have been a hit.");
+    }
+
+    /**
+     * Tests that a large cache is split into stripes that together stay within the bound.
+     */
+    @Test
+    void testStripedCacheStaysBounded() {
+        cache = new EfficiencyCache(1000);
+        ChargingStation.setEfficiencyCache(cache);
+        for (int i = 0; i < 5000; i++) {
+            station.getChargingEfficiency(i);
+        }
+        assertTrue(cache.size() <= 1000, "Stripes should share the bound: " + cache.size());
+        assertEquals(5000 - cache.size(), cache.getEvictions(), "Every entry beyond the bound should be evicted.");
+    }
+
+    /**
+     * Tests that the size must be positive.
+     */
+    @Test
+    void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new EfficiencyCache(0));
+    }
+}
@@ -6,12 +6,15 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import model.ChargingStation;
 import model.FastChargingStation;
 import model.OccupiedTimeSlot;
+import service.strategy.CostEffectiveChargingStrategy;
 import service.strategy.FastChargingStrategy;
 
 class RenewableEnergyDecoratorTest {
@@ -62,4 +65,38 @@ class RenewableEnergyDecoratorTest {
         assertEquals(expectedString, renewableStation.toString(),
                 "The string representation should indicate renewable energy addition.");
     }
+
+    /**
+     * Tests that strategy changes and reservations on a decorator reach the wrapped station.
+     */
+    @Test
+    void testStateIsShared() {
+        renewableStation.setStrategy(new CostEffectiveChargingStrategy());
+        assertSame(fastStation.getStrategy(), renewableStation.getStrategy(), "Strategy should be set on the inner station.");
+
+        renewableStation.reserve(18, 20);
+        assertTrue(fastStation.hasConflict(18, 20), "Reservation should be held by the inner station.");
+        assertEquals(fastStation.getForbiddenTimeSlots(), renewableStation.getForbiddenTimeSlots(),
+                "Both layers should see the same slots.");
+    }
+
+    /**
+     * Tests that a flattened stack computes the same efficiency and text as the stack itself.
+     */
+    @Test
+    void testFlattenedChainMatchesStack() {
+        ChargingStation stack = new RenewableEnergyDecorator(new RenewableEnergyDecorator(renewableStation));
+        FlatDecoratorChain flat = FlatDecoratorChain.compile(stack);
+
+        assertEquals(3, flat.getLayers(), "All three layers should be folded.");
+        assertSame(fastStation, flat.getDecoratedStation(), "The chain should wrap the innermost station.");
+        assertEquals(stack.getChargingEfficiency(4.0), flat.getChargingEfficiency(4.0), "Efficiency should match.");
+        assertEquals(stack.toString(), flat.toString(), "Text should match.");
+
+        flat.setStrategy(new CostEffectiveChargingStrategy());
+        assertEquals(stack.getChargingEfficiency(4.0), flat.getChargingEfficiency(4.0),
+                "Both should follow a strategy change on the shared station.");
+        assertEquals(5, FlatDecoratorChain.compile(new RenewableEnergyDecorator(
+                new RenewableEnergyDecorator(flat))).getLayers(), "Flattened chains should fold again.");
+    }
 }
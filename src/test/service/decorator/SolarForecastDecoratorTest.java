@@ -0,0 +1,86 @@
+// SolarForecastDecoratorTest - Unit tests for the SolarForecastDecorator and GenerationForecast classes.
+
+package service.decorator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import service.strategy.FastChargingStrategy;
+
+class SolarForecastDecoratorTest {
+
+    @TempDir
+    Path directory;
+
+    private ChargingStation station;
+    private GenerationForecast forecast;
+
+    /**
+     * Sets up a 100 kW station and a forecast of 0, 50, 100, 100, 50 kW from hour 10.
+     */
+    @BeforeEach
+    void setUp() {
+        station = new FastChargingStation(1, 100, List.of(), new FastChargingStrategy());
+        forecast = new GenerationForecast(10, new double[] {0, 50, 100, 100, 50});
+    }
+
+    /**
+     * Tests window energy and renewable share, including windows outside the forecast.
+     */
+    @Test
+    void testForecastWindows() {
+        assertEquals(250, forecast.energy(11, 14), 1e-9, "Hours 11-13 generate 50 + 100 + 100 kWh.");
+        assertEquals(75, forecast.energy(11.5, 12.5), 1e-9, "Partial hours should be prorated.");
+        assertEquals(50, forecast.energy(14, 20), 1e-9, "Hours after the forecast generate nothing.");
+        assertEquals(1.0, forecast.renewableShare(12, 14, 100), 1e-9, "Sunny hours cover the whole draw.");
+        assertEquals(0.25, forecast.renewableShare(10, 12, 100), 1e-9, "Partly covered window.");
+        assertEquals(12, forecast.findSunniestStart(0, 24, 2), "Hours 12-13 are the sunniest pair.");
+    }
+
+    /**
+     * Tests that the bonus follows the renewable share of the charging window.
+     */
+    @Test
+    void testWindowWeightedBonus() {
+        SolarForecastDecorator solar = new SolarForecastDecorator(station, forecast);
+        int base = station.getChargingEfficiency(2);
+        assertEquals(base + 50, solar.getChargingEfficiency(12, 14), "Fully covered window earns the full bonus.");
+        assertEquals(base + 13, solar.getChargingEfficiency(10, 12), "Quarter coverage earns a quarter bonus.");
+        assertEquals(base, solar.getChargingEfficiency(2), "Sessions rated without a window earn no bonus.");
+        assertEquals(station.getSessionEfficiency(12, 14) + 50, solar.getSessionEfficiency(12, 14), 1e-9,
+                "Schedulers rate sessions with their window.");
+        assertEquals(station.getSessionEfficiency(12, 14) + 100,
+                new RenewableEnergyDecorator(solar).getSessionEfficiency(12, 14), 1e-9,
+                "Outer layers should pass the window down.");
+        SolarForecastDecorator midnight = new SolarForecastDecorator(station, forecast,
+                RenewableEnergyDecorator.EFFICIENCY_BONUS, 0);
+        assertEquals(base, midnight.getChargingEfficiency(2), "Sessions from hour 0 see no generation.");
+        assertEquals(station.toString() + " + Solar Forecast", solar.toString());
+    }
+
+    /**
+     * Tests loading a forecast file.
+     */
+    @Test
+    void testLoad() throws IOException {
+        Path file = directory.resolve("forecast.csv");
+        Files.write(file, List.of("# hour,kW", "10, 0", "11,50", "", "12,100"));
+        GenerationForecast loaded = GenerationForecast.load(file);
+        assertEquals(10, loaded.getOrigin(), "Origin should be the first hour.");
+        assertEquals(3, loaded.getLength(), "Three hours should be loaded.");
+        assertEquals(150, loaded.energy(0, 24), 1e-9, "All generation should be summed.");
+
+        Files.write(file, List.of("10,0", "12,50"));
+        assertThrows(IllegalArgumentException.class, () -> GenerationForecast.load(file));
+    }
+}
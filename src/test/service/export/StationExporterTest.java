@@ -0,0 +1,165 @@
+// StationExporterTest - Unit tests for the streaming CSV and JSON Lines exporters.
+
+package service.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import model.SlowChargingStation;
+import service.availability.RecurringSlotRule;
+import service.decorator.RenewableEnergyDecorator;
+import service.factory.StationBulkLoader;
+import service.strategy.CostEffectiveChargingStrategy;
+import service.strategy.FastChargingStrategy;
+
+class StationExporterTest {
+
+    private List<ChargingStation> stations;
+
+    /**
+     * Builds one station with slots and one without.
+     */
+    @BeforeEach
+    void setUp() {
+        stations = List.of(
+                new FastChargingStation(1, 300, List.of(new OccupiedTimeSlot(8, 16), new OccupiedTimeSlot(20, 22)),
+                        new FastChargingStrategy()),
+                new SlowChargingStation(-2, 150, List.of(), new CostEffectiveChargingStrategy()));
+    }
+
+    private String export(StationExporter exporter) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(stations.size(), exporter.export(stations, out), "Every station should be exported.");
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Tests the CSV layout.
+     */
+    @Test
+    void testCsv() throws IOException {
+        assertEquals("type,stationId,capacity,forbiddenSlots,recurringSlots\n"
+                + "Fast,1,300,8-16;20-22\n"
+                + "Slow,-2,150,\n", export(new CsvStationExporter()));
+    }
+
+    /**
+     * Tests that the bulk loader reads a CSV export back into equivalent stations.
+     */
+    @Test
+    void testCsvRoundTrip(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("stations.csv");
+        List<ChargingStation> exported = List.of(stations.get(0), new RenewableEnergyDecorator(stations.get(1)));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            new CsvStationExporter().export(exported, out);
+        }
+        List<ChargingStation> loaded = new StationBulkLoader().parse(file);
+
+        assertEquals(2, loaded.size(), "Every exported row should be loaded.");
+        assertTrue(loaded.get(0) instanceof FastChargingStation, "The fast type should survive the round trip.");
+        assertTrue(loaded.get(1) instanceof SlowChargingStation, "A decorator should be written as the type it wraps.");
+        for (int i = 0; i < exported.size(); i++) {
+            assertEquals(exported.get(i).getStationId(), loaded.get(i).getStationId(), "IDs should survive.");
+            assertEquals(exported.get(i).getCapacity(), loaded.get(i).getCapacity(), "Capacities should survive.");
+            assertEquals(exported.get(i).getForbiddenTimeSlots(), loaded.get(i).getForbiddenTimeSlots(),
+                    "Forbidden slots should survive.");
+        }
+    }
+
+    /**
+     * Tests that minute slots are written exactly and read back by the bulk loader.
+     */
+    @Test
+    void testMinuteSlots(@TempDir Path directory) throws IOException {
+        stations = List.of(new FastChargingStation(3, 300, List.of(new OccupiedTimeSlot(6, 7),
+                OccupiedTimeSlot.ofMinutes(8 * 60 + 30, 9 * 60 + 5)), new FastChargingStrategy()));
+
+        String csv = export(new CsvStationExporter());
+        assertEquals("type,stationId,capacity,forbiddenSlots,recurringSlots\nFast,3,300,6-7;8:30-9:05\n", csv);
+        assertEquals("{\"stationId\":3,\"capacity\":300,\"strategy\":\"FastChargingStrategy\","
+                + "\"forbiddenSlotMinutes\":[[360,420],[510,545]]}\n", export(new JsonLinesStationExporter()),
+                "A station with minute slots should list them in minutes.");
+
+        Path file = directory.resolve("stations.csv");
+        Files.writeString(file, csv);
+        assertEquals(stations.get(0).getForbiddenTimeSlots(),
+                new StationBulkLoader().parse(file).get(0).getForbiddenTimeSlots(),
+                "Minute slots should survive the CSV round trip.");
+    }
+
+    /**
+     * Tests that recurring windows are written as period and pattern and read back by the bulk loader.
+     */
+    @Test
+    void testRecurringSlots(@TempDir Path directory) throws IOException {
+        ChargingStation station = new FastChargingStation(5, 300, List.of(new OccupiedTimeSlot(8, 9)),
+                new FastChargingStrategy());
+        station.setRecurringSlots(RecurringSlotRule.daily(22, 2));
+        stations = List.of(station);
+
+        String csv = export(new CsvStationExporter());
+        assertEquals("type,stationId,capacity,forbiddenSlots,recurringSlots\nFast,5,300,8-9,24@0-2;22-24\n", csv);
+        assertEquals("{\"stationId\":5,\"capacity\":300,\"strategy\":\"FastChargingStrategy\","
+                + "\"forbiddenSlots\":[[8,9]],\"recurringSlots\":{\"period\":24,\"windows\":[[0,2],[22,24]]}}\n",
+                export(new JsonLinesStationExporter()));
+
+        Path file = directory.resolve("stations.csv");
+        Files.writeString(file, csv + "Slow,6,100,,168@0-4\n");
+        List<ChargingStation> loaded = new StationBulkLoader().parse(file);
+        assertEquals(List.of(new OccupiedTimeSlot(8, 9)), loaded.get(0).getForbiddenTimeSlots(),
+                "Slots before the recurring column should be kept.");
+        assertEquals(station.getRecurringSlots(), loaded.get(0).getRecurringSlots(),
+                "Recurring windows should survive the CSV round trip.");
+        assertEquals(RecurringSlotRule.weekly(0, 0, 4), loaded.get(1).getRecurringSlots(),
+                "A station without slots may still have recurring windows.");
+    }
+
+    /**
+     * Tests the JSON Lines layout.
+     */
+    @Test
+    void testJsonLines() throws IOException {
+        assertEquals("{\"stationId\":1,\"capacity\":300,\"strategy\":\"FastChargingStrategy\","
+                + "\"forbiddenSlots\":[[8,16],[20,22]]}\n"
+                + "{\"stationId\":-2,\"capacity\":150,\"strategy\":\"CostEffectiveChargingStrategy\","
+                + "\"forbiddenSlots\":[]}\n", export(new JsonLinesStationExporter()));
+    }
+
+    /**
+     * Tests that a buffer smaller than one row produces the same bytes through a channel.
+     */
+    @Test
+    void testSmallBuffer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonLinesStationExporter(16).export(stations, Channels.newChannel(out));
+        assertEquals(export(new JsonLinesStationExporter()), out.toString(StandardCharsets.UTF_8),
+                "Output should not depend on the buffer size.");
+    }
+
+    /**
+     * Tests that toString keeps its format and matches appendTo, including decorators.
+     */
+    @Test
+    void testToStringFormat() {
+        assertEquals("Station ID: 1, Capacity: 300 kW, Forbidden Slots: [(8 - 16), (20 - 22)], "
+                + "Strategy: FastChargingStrategy", stations.get(0).toString());
+        ChargingStation decorated = new RenewableEnergyDecorator(stations.get(1));
+        assertEquals(decorated.toString(), decorated.appendTo(new StringBuilder()).toString(),
+                "appendTo should match toString.");
+    }
+}
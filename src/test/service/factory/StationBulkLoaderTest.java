@@ -0,0 +1,104 @@
+// StationBulkLoaderTest - Unit tests for the parallel CSV station loader.
+
+package service.factory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.SlowChargingStation;
+import service.singleton.ChargingStationManager;
+
+class StationBulkLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests parsing of the header, slots, blank lines and Windows line endings.
+     */
+    @Test
+    void testParse() throws IOException {
+        Path file = directory.resolve("stations.csv");
+        Files.writeString(file, "type,stationId,capacity,forbiddenSlots\n"
+                + "Fast,1,300,8-16;20-22\r\n"
+                + "\n"
+                + "slow, 2 , 150 ,\n"
+                + "Slow,3,100");
+        List<ChargingStation> stations = new StationBulkLoader().parse(file);
+
+        assertEquals(3, stations.size(), "Three records should be parsed.");
+        assertTrue(stations.get(0) instanceof FastChargingStation, "First station should be fast.");
+        assertEquals("[(8 - 16), (20 - 22)]", stations.get(0).getForbiddenTimeSlots().toString(),
+                "Slots should be parsed in order.");
+        assertTrue(stations.get(1) instanceof SlowChargingStation, "Type should be case-insensitive.");
+        assertEquals(150, stations.get(1).getCapacity(), "Spaces around numbers should be ignored.");
+        assertEquals(3, stations.get(2).getStationId(), "The last line needs no newline.");
+    }
+
+    /**
+     * Tests that a file split into many chunks parses to the same stations in file order.
+     */
+    @Test
+    void testLargeFileKeepsOrder() throws IOException {
+        Path file = directory.resolve("stations.csv");
+        StringBuilder content = new StringBuilder();
+        int rows = 120_000;
+        for (int i = 0; i < rows; i++) {
+            content.append(i % 2 == 0 ? "Fast," : "Slow,").append(i).append(',').append(i % 500)
+                    .append(',').append(i % 24).append('-').append(i % 24 + 1).append('\n');
+        }
+        Files.writeString(file, content);
+
+        List<ChargingStation> stations = new StationBulkLoader(new ForkJoinPool(4)).parse(file);
+        assertEquals(rows, stations.size(), "Every row should be parsed exactly once.");
+        List<Integer> ids = new ArrayList<>();
+        for (ChargingStation station : stations) {
+            ids.add(station.getStationId());
+        }
+        for (int i = 0; i < rows; i++) {
+            assertEquals(i, ids.get(i), "Stations should keep file order.");
+        }
+    }
+
+    /**
+     * Tests that malformed records are reported with their byte offset.
+     */
+    @Test
+    void testMalformedRecord() throws IOException {
+        Path file = directory.resolve("stations.csv");
+        Files.writeString(file, "Fast,1,300,\nTurbo,2,100,\n");
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new StationBulkLoader().parse(file));
+        assertEquals("Malformed station record at byte 12: unknown station type", exception.getMessage());
+    }
+
+    /**
+     * Tests that loaded stations are registered with the manager.
+     */
+    @Test
+    void testLoadIntoManager() throws IOException {
+        Path file = directory.resolve("stations.csv");
+        Files.writeString(file, "Fast,32001,300,\nSlow,32002,150,1-2\n");
+        ChargingStationManager manager = ChargingStationManager.getInstance();
+        int count = manager.getStationCount();
+        try {
+            assertEquals(2, new StationBulkLoader().load(file, manager), "Two stations should be loaded.");
+            assertEquals(count + 2, manager.getStationCount(), "Both stations should be registered.");
+            assertEquals(150, manager.getStation(32002).getCapacity(), "Stations should be found by ID.");
+        } finally {
+            manager.removeStation(32001);
+            manager.removeStation(32002);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+// StationFlyweightsTest - Unit tests for the shared strategy and slot flyweights.
+
+package service.factory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingStation;
+import model.OccupiedTimeSlot;
+import service.availability.SlotSet;
+import service.strategy.CostEffectiveChargingStrategy;
+import service.strategy.FastChargingStrategy;
+
+class StationFlyweightsTest {
+
+    /**
+     * Tests that equal strategies and slot lists are shared and counted.
+     */
+    @Test
+    void testDeduplication() {
+        StationFlyweights flyweights = new StationFlyweights();
+        assertSame(flyweights.canonical(new FastChargingStrategy()), flyweights.strategyFor("fast"),
+                "Equal strategies should share one instance.");
+        flyweights.canonical(new CostEffectiveChargingStrategy());
+
+        List<OccupiedTimeSlot> first = flyweights.internSlots(List.of(new OccupiedTimeSlot(9, 17)));
+        List<OccupiedTimeSlot> second = flyweights.internSlots(new ArrayList<>(List.of(new OccupiedTimeSlot(9, 17))));
+        List<OccupiedTimeSlot> longer = flyweights.internSlots(
+                List.of(new OccupiedTimeSlot(9, 17), new OccupiedTimeSlot(20, 22)));
+
+        assertSame(first, second, "Equal slot lists should share one instance.");
+        assertSame(first.get(0), longer.get(0), "Equal slots should be shared across lists.");
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new OccupiedTimeSlot(1, 2)));
+        assertEquals(2, flyweights.getDistinctStrategies(), "Two distinct strategies.");
+        assertEquals(1, flyweights.getDeduplicatedStrategies(), "One strategy request was shared.");
+        assertEquals(2, flyweights.getDistinctSlotLists(), "Two distinct slot lists.");
+        assertEquals(1, flyweights.getDeduplicatedSlotLists(), "One slot list request was shared.");
+        assertEquals(2, flyweights.getDistinctSlots(), "Two distinct slots.");
+        assertEquals(1, flyweights.getDeduplicatedSlots(), "One slot was shared.");
+    }
+
+    /**
+     * Tests that full pools stop admitting new values while pooled values stay shared.
+     */
+    @Test
+    void testPoolsAreBounded() {
+        StationFlyweights flyweights = new StationFlyweights(2);
+        List<OccupiedTimeSlot> first = flyweights.internSlots(List.of(new OccupiedTimeSlot(1, 2)));
+        for (int i = 10; i < 20; i++) {
+            flyweights.internSlots(List.of(new OccupiedTimeSlot(i, i + 1)));
+        }
+        assertEquals(2, flyweights.getDistinctSlotLists(), "The list pool should stop at its bound.");
+        assertEquals(2, flyweights.getDistinctSlots(), "The slot pool should stop at its bound.");
+        assertSame(first, flyweights.internSlots(List.of(new OccupiedTimeSlot(1, 2))), "Pooled lists stay shared.");
+        assertThrows(IllegalArgumentException.class, () -> new StationFlyweights(0));
+    }
+
+    /**
+     * Tests that SlotSet views are passed through, so stations keep the set without copying.
+     */
+    @Test
+    void testSlotSetViewsAreKept() {
+        StationFlyweights flyweights = new StationFlyweights();
+        List<OccupiedTimeSlot> view = SlotSet.of(List.of(new OccupiedTimeSlot(9, 17))).asList();
+        assertSame(view, flyweights.internSlots(view), "A SlotSet view should be returned as it is.");
+        assertEquals(0, flyweights.getDistinctSlotLists(), "Views should not be pooled.");
+    }
+
+    /**
+     * Tests that the factory hands out shared strategies and slot lists.
+     */
+    @Test
+    void testFactoryUsesFlyweights() {
+        ChargingStation a = ChargingStationFactory.createStation("Slow", 1, 100, List.of(new OccupiedTimeSlot(9, 17)));
+        ChargingStation b = ChargingStationFactory.createStation("Slow", 2, 150, List.of(new OccupiedTimeSlot(9, 17)));
+        assertSame(a.getStrategy(), b.getStrategy(), "Stations should share the strategy.");
+        assertSame(a.getForbiddenTimeSlots(), b.getForbiddenTimeSlots(), "Stations should share the slot list.");
+
+        b.reserve(18, 20);
+        assertEquals(1, a.getForbiddenTimeSlots().size(), "Reserving on one station must not affect the other.");
+    }
+}
@@ -0,0 +1,219 @@
+// FleetSnapshotTest - Unit tests for writing and memory-mapping fleet snapshots.
+
+package service.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import model.SlowChargingStation;
+import service.availability.RecurringSlotRule;
+import service.singleton.ChargingStationManager;
+import service.store.ColumnarStationStore;
+import service.strategy.CostEffectiveChargingStrategy;
+import service.strategy.FastChargingStrategy;
+
+class FleetSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private ColumnarStationStore store;
+
+    /**
+     * Builds a store of three stations with IDs far above those used by other tests.
+     */
+    @BeforeEach
+    void setUp() {
+        ChargingStation fast = new FastChargingStation(30003, 300,
+                List.of(new OccupiedTimeSlot(8, 16), new OccupiedTimeSlot(20, 22)), new FastChargingStrategy());
+        fast.setRecurringSlots(RecurringSlotRule.daily(2, 4));
+        store = ColumnarStationStore.of(List.of(fast,
+                new SlowChargingStation(30001, 150,
+                        List.of(new OccupiedTimeSlot(10, 20)), new CostEffectiveChargingStrategy()),
+                new SlowChargingStation(30002, 150, List.of(OccupiedTimeSlot.ofMinutes(8 * 60 + 30, 9 * 60 + 5)),
+                        new CostEffectiveChargingStrategy())));
+    }
+
+    /**
+     * Tests that a reopened snapshot serves the same columns and views.
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        Path file = directory.resolve("fleet.snapshot");
+        FleetSnapshot.write(store, file);
+        MappedFleetSnapshot snapshot = FleetSnapshot.open(file);
+
+        assertEquals(3, snapshot.size(), "Snapshot should contain three rows.");
+        assertEquals(600, snapshot.totalCapacity(), "Total capacity should come from the header.");
+        for (int row = 0; row < store.size(); row++) {
+            assertEquals(store.view(row).toString(), snapshot.view(row).toString(), "Row " + row + " should match.");
+        }
+        assertEquals(List.of(OccupiedTimeSlot.ofMinutes(8 * 60 + 30, 9 * 60 + 5)),
+                snapshot.view(1).getForbiddenTimeSlots(), "Minute slots should be stored without rounding.");
+        assertEquals(RecurringSlotRule.daily(2, 4), snapshot.view(2).getRecurringSlots(),
+                "Recurring windows should be stored with their row.");
+        assertEquals(RecurringSlotRule.daily(2, 4), snapshot.materialize(2).getRecurringSlots(),
+                "Materialized rows should keep their recurring windows.");
+        assertNull(snapshot.recurringSlots(0), "Rows without recurring windows should have none.");
+        assertEquals(2, snapshot.find(30003), "Lookup by ID should use the sorted ID column.");
+        assertEquals(-1, snapshot.find(30004), "Unknown IDs should not be found.");
+        assertEquals(store.view(2).getChargingEfficiency(2), snapshot.view(2).getChargingEfficiency(2), 1e-9,
+                "Strategies should be recreated from the snapshot.");
+    }
+
+    /**
+     * Tests that capacity ranks locate a capacity range in descending order.
+     */
+    @Test
+    void testCapacityRankRange() throws IOException {
+        Path file = directory.resolve("fleet.snapshot");
+        FleetSnapshot.write(store, file);
+        MappedFleetSnapshot snapshot = FleetSnapshot.open(file);
+
+        assertArrayEquals(new int[] {1, 3}, snapshot.capacityRankRange(100, 300), "Ranks 1-2 hold 150 kW.");
+        assertEquals(0, snapshot.rowAtCapacityRank(1), "Equal capacities should be ordered by ID.");
+        assertArrayEquals(store.capacityRankRange(0, 1000), snapshot.capacityRankRange(0, 1000),
+                "Mapped and heap rankings should agree.");
+    }
+
+    /**
+     * Tests that strategy changes stay on the heap and do not touch the file.
+     */
+    @Test
+    void testStrategyOverride() throws IOException {
+        Path file = directory.resolve("fleet.snapshot");
+        FleetSnapshot.write(store, file);
+        byte[] before = Files.readAllBytes(file);
+        MappedFleetSnapshot snapshot = FleetSnapshot.open(file);
+
+        snapshot.view(0).setStrategy(new FastChargingStrategy());
+        assertTrue(snapshot.strategy(0) instanceof FastChargingStrategy, "Override should be visible.");
+        assertArrayEquals(before, Files.readAllBytes(file), "Snapshot file should be unchanged.");
+    }
+
+    /**
+     * Tests that files without the snapshot header are rejected.
+     */
+    @Test
+    void testRejectsInvalidFile() throws IOException {
+        Path file = directory.resolve("garbage.snapshot");
+        Files.write(file, new byte[64]);
+        assertThrows(IllegalStateException.class, () -> FleetSnapshot.open(file));
+    }
+
+    /**
+     * Tests that a truncated snapshot or a header with inflated counts is rejected on open.
+     */
+    @Test
+    void testRejectsCorruptHeader() throws IOException {
+        Path file = directory.resolve("fleet.snapshot");
+        FleetSnapshot.write(store, file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = directory.resolve("truncated.snapshot");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 40));
+        assertThrows(IllegalStateException.class, () -> FleetSnapshot.open(truncated),
+                "A file cut off inside the strategy table should be rejected.");
+
+        Path inflated = directory.resolve("inflated.snapshot");
+        ByteBuffer.wrap(bytes).putInt(12, Integer.MAX_VALUE);
+        Files.write(inflated, bytes);
+        assertThrows(IllegalStateException.class, () -> FleetSnapshot.open(inflated),
+                "A slot count larger than the file should be rejected.");
+    }
+
+    /**
+     * Tests that rows pointing outside their tables and non-strategy class names are rejected on open.
+     */
+    @Test
+    void testRejectsCorruptRows() throws IOException {
+        Path file = directory.resolve("fleet.snapshot");
+        FleetSnapshot.write(store, file);
+        byte[] bytes = Files.readAllBytes(file);
+        int tableOffset = (int) ByteBuffer.wrap(bytes).getLong(24);
+
+        assertRejected(bytes, tableOffset - 1, (byte) 2, "A strategy index past the table should be rejected.");
+        assertRejected(bytes, tableOffset - 4, (byte) 7, "An unknown type code should be rejected.");
+        assertRejected(bytes, FleetSnapshot.HEADER_BYTES + 4 * 2 * 3 + 3, (byte) 3,
+                "A capacity rank past the last row should be rejected.");
+
+        byte[] name = String.class.getName().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer foreign = ByteBuffer.allocate(tableOffset + 10 + name.length);
+        foreign.put(bytes, 0, tableOffset).putInt(1).putShort((short) name.length).put(name).putInt(0);
+        Arrays.fill(foreign.array(), tableOffset - 3, tableOffset, (byte) 0);
+        Path renamed = directory.resolve("renamed.snapshot");
+        Files.write(renamed, foreign.array());
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> FleetSnapshot.open(renamed),
+                "A class that is no strategy should be rejected.");
+        assertEquals("Not a charging strategy: java.lang.String", error.getMessage(),
+                "The class should be checked before it is instantiated.");
+    }
+
+    private void assertRejected(byte[] original, int offset, byte value, String message) throws IOException {
+        byte[] bytes = original.clone();
+        bytes[offset] = value;
+        Path file = directory.resolve("corrupt.snapshot");
+        Files.write(file, bytes);
+        assertThrows(IllegalStateException.class, () -> FleetSnapshot.open(file), message);
+    }
+
+    /**
+     * Tests that the manager serves an attached snapshot and lets live changes shadow its rows.
+     */
+    @Test
+    void testManagerServesAttachedSnapshot() throws IOException {
+        Path file = directory.resolve("fleet.snapshot");
+        FleetSnapshot.write(store, file);
+        ChargingStationManager manager = ChargingStationManager.getInstance();
+        int capacity = manager.getTotalCapacity();
+        int count = manager.getStationCount();
+
+        manager.attachSnapshot(FleetSnapshot.open(file));
+        try {
+            assertEquals(capacity + 600, manager.getTotalCapacity(), "Snapshot capacity should be counted.");
+            assertEquals(count + 3, manager.getStationCount(), "Snapshot stations should be counted.");
+            assertEquals(30001, manager.getStation(30001).getStationId(), "Baseline stations should be found.");
+            ChargingStation promoted = manager.getStation(30003);
+            promoted.addReservation(new OccupiedTimeSlot(40, 42));
+            assertSame(promoted, manager.getStation(30003), "Looked-up baseline stations should stay live.");
+            assertEquals(RecurringSlotRule.daily(2, 4), promoted.getRecurringSlots(),
+                    "Promoted baseline stations should keep their recurring windows.");
+            assertEquals(count + 3, manager.getStationCount(), "Promotion should not change the count.");
+            assertEquals(3, manager.filterStationsByCapacity(100, 400).stream()
+                    .filter(s -> s.getStationId() >= 30000).count(), "Baseline stations should be filtered.");
+
+            ChargingStation replacement = new FastChargingStation(30001, 50, List.of(), new FastChargingStrategy());
+            assertTrue(manager.updateStation(replacement), "Baseline stations should be updatable.");
+            assertEquals(replacement, manager.getStation(30001), "Live station should shadow the baseline.");
+            assertEquals(capacity + 500, manager.getTotalCapacity(), "Totals should follow the replacement.");
+
+            assertEquals(30002, manager.removeStation(30002).getStationId(), "Baseline stations should be removable.");
+            assertNull(manager.getStation(30002), "Removed baseline station should be hidden.");
+            assertEquals(count + 2, manager.getStationCount(), "Removed station should not be counted.");
+        } finally {
+            manager.removeStation(30001);
+            manager.removeStation(30003);
+            manager.attachSnapshot(null);
+        }
+        assertEquals(capacity, manager.getTotalCapacity(), "Detaching should restore the totals.");
+        assertEquals(count, manager.getStationCount(), "Detaching should restore the count.");
+    }
+}
@@ -0,0 +1,236 @@
+// ReservationLogTest - Unit tests for the reservation write-ahead log and its replay.
+
+package service.persistence;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import service.singleton.ChargingStationManager;
+import service.store.ColumnarStationStore;
+import service.strategy.FastChargingStrategy;
+
+class ReservationLogTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that appended records are replayed in order.
+     */
+    @Test
+    void testAppendAndReplay() throws IOException {
+        Path file = directory.resolve("reservations.log");
+        try (ReservationLog log = ReservationLog.open(file)) {
+            log.append(1, new OccupiedTimeSlot(2, 4));
+            log.append(2, new OccupiedTimeSlot(5, 9));
+            assertEquals(2, log.getDurableCount(), "Both records should be durable.");
+        }
+
+        List<String> replayed = new ArrayList<>();
+        long count = ReservationLog.replay(file, (id, slot) -> replayed.add(id + ":" + slot));
+        assertEquals(2, count, "Two records should be replayed.");
+        assertEquals(List.of("1:(2 - 4)", "2:(5 - 9)"), replayed, "Records should be replayed in order.");
+    }
+
+    /**
+     * Tests that minute slots are logged and replayed exactly, not widened to hours.
+     */
+    @Test
+    void testMinuteSlotsReplayExactly() throws IOException {
+        Path file = directory.resolve("reservations.log");
+        OccupiedTimeSlot slot = OccupiedTimeSlot.ofMinutes(29_000_000_015L, 29_000_000_100L);
+        try (ReservationLog log = ReservationLog.open(file)) {
+            log.append(7, slot);
+        }
+        List<OccupiedTimeSlot> replayed = new ArrayList<>();
+        ReservationLog.replay(file, (id, record) -> replayed.add(record));
+        assertEquals(List.of(slot), replayed, "The minute slot should be replayed exactly.");
+    }
+
+    /**
+     * Tests that a headerless log of int hours is replayed and upgraded before new records are appended.
+     */
+    @Test
+    void testLegacyLogIsUpgraded() throws IOException {
+        Path file = directory.resolve("reservations.log");
+        ByteBuffer legacy = ByteBuffer.allocate(ReservationLog.LEGACY_RECORD_BYTES);
+        legacy.putInt(4).putInt(2).putInt(5);
+        CRC32 crc = new CRC32();
+        crc.update(legacy.array(), 0, ReservationLog.LEGACY_RECORD_BYTES - 4);
+        legacy.putInt((int) crc.getValue());
+        Files.write(file, legacy.array());
+        assertEquals(1, ReservationLog.replay(file, (id, slot) -> { }), "The legacy record should be replayed.");
+
+        try (ReservationLog log = ReservationLog.open(file)) {
+            log.append(4, OccupiedTimeSlot.ofMinutes(330, 345));
+        }
+        List<String> replayed = new ArrayList<>();
+        ReservationLog.replay(file, (id, slot) -> replayed.add(id + ":" + slot));
+        assertEquals(List.of("4:(2 - 5)", "4:(5:30 - 5:45)"), replayed, "Both records should survive the upgrade.");
+        assertEquals(ReservationLog.HEADER_BYTES + 2 * ReservationLog.RECORD_BYTES, Files.size(file),
+                "The log should be rewritten in the current layout.");
+    }
+
+    /**
+     * Tests that an interrupted appender still waits for its record and keeps its interrupt status.
+     */
+    @Test
+    void testInterruptedAppendIsDurable() throws IOException {
+        Path file = directory.resolve("reservations.log");
+        try (ReservationLog log = ReservationLog.open(file)) {
+            Thread.currentThread().interrupt();
+            log.append(1, new OccupiedTimeSlot(2, 4));
+            assertTrue(Thread.interrupted(), "The interrupt status should be restored.");
+            assertEquals(1, log.getDurableCount(), "The record should be durable despite the interrupt.");
+            log.append(2, new OccupiedTimeSlot(5, 6));
+        }
+        assertEquals(2, ReservationLog.replay(file, (id, slot) -> { }), "The channel should have stayed open.");
+    }
+
+    /**
+     * Tests that concurrent appenders all become durable.
+     */
+    @Test
+    void testConcurrentAppends() throws Exception {
+        Path file = directory.resolve("reservations.log");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (ReservationLog log = ReservationLog.open(file)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                int id = i;
+                futures.add(executor.submit(() -> {
+                    log.append(id, new OccupiedTimeSlot(id, id + 1));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertEquals(400, log.getDurableCount(), "Every append should be durable.");
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(400, ReservationLog.replay(file, (id, slot) -> assertEquals(id, slot.getStartTime())),
+                "Every record should be replayed intact.");
+    }
+
+    /**
+     * Tests that replay stops at a corrupt record and reopening drops the torn tail.
+     */
+    @Test
+    void testCorruptTailIsDropped() throws IOException {
+        Path file = directory.resolve("reservations.log");
+        try (ReservationLog log = ReservationLog.open(file)) {
+            log.append(1, new OccupiedTimeSlot(2, 4));
+            log.append(2, new OccupiedTimeSlot(5, 9));
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(ReservationLog.HEADER_BYTES + ReservationLog.RECORD_BYTES + 5);
+            raw.write(0x7F);
+            raw.seek(raw.length());
+            raw.write(new byte[] {1, 2, 3});
+        }
+        assertEquals(1, ReservationLog.replay(file, (id, slot) -> { }), "Replay should stop at the corrupt record.");
+
+        try (ReservationLog log = ReservationLog.open(file)) {
+            log.append(3, new OccupiedTimeSlot(10, 12));
+        }
+        assertEquals(ReservationLog.HEADER_BYTES + 2 * ReservationLog.RECORD_BYTES, Files.size(file), "The torn tail should be truncated.");
+        assertEquals(2, ReservationLog.replay(file, (id, slot) -> { }), "New records should follow the valid ones.");
+    }
+
+    /**
+     * Tests that manager reservations are logged and restored by replay.
+     */
+    @Test
+    void testManagerReserveAndReplay() throws IOException {
+        Path file = directory.resolve("reservations.log");
+        ChargingStationManager manager = ChargingStationManager.getInstance();
+        manager.addStation(new FastChargingStation(31001, 100, List.of(new OccupiedTimeSlot(0, 2)),
+                new FastChargingStrategy()));
+        try (ReservationLog log = ReservationLog.open(file)) {
+            manager.setReservationLog(log);
+            assertNotNull(manager.reserve(31001, 4, 6), "Free window should be reserved.");
+            assertNull(manager.reserve(31001, 5, 7), "Overlapping window should be rejected.");
+            assertNull(manager.reserve(31002, 4, 6), "Unknown station should be rejected.");
+            assertNotNull(manager.reserveMinutes(31001, 400, 430), "Free minutes should be reserved.");
+            assertNull(manager.reserveMinutes(31001, 420, 450), "Overlapping minutes should be rejected.");
+        } finally {
+            manager.setReservationLog(null);
+            manager.removeStation(31001);
+        }
+
+        manager.addStation(new FastChargingStation(31001, 100, List.of(new OccupiedTimeSlot(0, 2)),
+                new FastChargingStrategy()));
+        try {
+            assertEquals(2, manager.replayReservations(file), "Both reservations should be replayed.");
+            assertTrue(manager.getStation(31001).hasConflict(4, 6), "Replayed reservation should be occupied.");
+            assertTrue(manager.getStation(31001).getForbiddenTimeSlots().contains(OccupiedTimeSlot.ofMinutes(400, 430)),
+                    "The minute reservation should be replayed exactly.");
+            assertEquals(3, manager.getStation(31001).getForbiddenTimeSlots().size(), "Station should hold three slots.");
+        } finally {
+            manager.removeStation(31001);
+        }
+    }
+
+    /**
+     * Tests that replay after attaching a snapshot skips the records the snapshot already contains.
+     */
+    @Test
+    void testReplayAfterSnapshot() throws IOException {
+        Path file = directory.resolve("reservations.log");
+        Path snapshot = directory.resolve("fleet.snapshot");
+        ChargingStationManager manager = ChargingStationManager.getInstance();
+        manager.addStation(new FastChargingStation(31003, 100, List.of(new OccupiedTimeSlot(0, 2)),
+                new FastChargingStrategy()));
+        long position;
+        try (ReservationLog log = ReservationLog.open(file)) {
+            manager.setReservationLog(log);
+            assertNotNull(manager.reserve(31003, 4, 6), "Free window should be reserved.");
+            position = log.getDurablePosition();
+            FleetSnapshot.write(ColumnarStationStore.of(List.of(manager.getStation(31003))), snapshot, position);
+            assertNotNull(manager.reserveMinutes(31003, 400, 430), "Free minutes should be reserved.");
+        } finally {
+            manager.setReservationLog(null);
+            manager.removeStation(31003);
+        }
+
+        List<OccupiedTimeSlot> tail = new ArrayList<>();
+        assertEquals(1, ReservationLog.replay(file, position, (stationId, slot) -> tail.add(slot)),
+                "Only the record after the position should be read.");
+        assertEquals(List.of(OccupiedTimeSlot.ofMinutes(400, 430)), tail, "The later record should be read.");
+        assertThrows(IOException.class, () -> ReservationLog.replay(file, position + 1, (stationId, slot) -> { }),
+                "A position inside a record should be rejected.");
+
+        manager.attachSnapshot(FleetSnapshot.open(snapshot));
+        try {
+            assertEquals(1, manager.replayReservations(file), "Only the reservation after the snapshot is applied.");
+            assertEquals(List.of(new OccupiedTimeSlot(0, 2), new OccupiedTimeSlot(4, 6),
+                    OccupiedTimeSlot.ofMinutes(400, 430)), manager.getStation(31003).getForbiddenTimeSlots(), "No slot should be duplicated.");
+            assertEquals(0, manager.replayReservations(file), "Replaying again should not add any slot.");
+            assertEquals(3, manager.getStation(31003).getForbiddenTimeSlots().size(), "Station should hold three slots.");
+        } finally {
+            manager.removeStation(31003);
+            manager.attachSnapshot(null);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+// BatchSchedulerTest - Unit tests for the BatchScheduler class.
+
+package service.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingRequest;
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import model.SlowChargingStation;
+import service.decorator.GenerationForecast;
+import service.decorator.SolarForecastDecorator;
+import service.strategy.CostEffectiveChargingStrategy;
+import service.strategy.FastChargingStrategy;
+
+class BatchSchedulerTest {
+
+    private ChargingStation fastStation;
+    private ChargingStation slowStation;
+    private BatchScheduler scheduler;
+
+    /**
+     * Creates one fast and one slow station; the slow one is blocked from 9 to 17.
+     */
+    @BeforeEach
+    void setUp() {
+        fastStation = new FastChargingStation(101, 50, List.of(), new FastChargingStrategy());
+        slowStation = new SlowChargingStation(102, 50, List.of(new OccupiedTimeSlot(9, 17)),
+                new CostEffectiveChargingStrategy());
+        scheduler = new BatchScheduler(List.of(fastStation, slowStation));
+    }
+
+    /**
+     * Tests that the greedy pass prefers the more efficient station and falls back when it is full.
+     */
+    @Test
+    void testGreedyPrefersEfficientStation() {
+        ChargingRequest first = new ChargingRequest(1, 0, 2, 100);
+        ChargingRequest second = new ChargingRequest(2, 0, 2, 100);
+        ChargingRequest third = new ChargingRequest(3, 0, 2, 100);
+
+        SchedulePlan plan = scheduler.schedule(List.of(first, second, third));
+
+        assertEquals(2, plan.getAssignments().size(), "Only two stations can serve [0, 2).");
+        assertSame(slowStation, plan.getAssignments().get(0).getStation(),
+                "The cost-effective station has the higher efficiency for two hours.");
+        assertSame(fastStation, plan.getAssignments().get(1).getStation(), "The second request should fall back.");
+        assertEquals(List.of(third), plan.getUnassigned(), "The third request cannot be placed.");
+    }
+
+    /**
+     * Tests that forbidden slots and earlier assignments are respected.
+     */
+    @Test
+    void testGreedyRespectsForbiddenSlots() {
+        List<ChargingRequest> requests = new ArrayList<>();
+        for (int vehicle = 0; vehicle < 6; vehicle++) {
+            requests.add(new ChargingRequest(vehicle, 8, 20, 100));
+        }
+
+        SchedulePlan plan = scheduler.schedule(requests);
+
+        assertEquals(6, plan.getAssignments().size(), "All six two-hour sessions fit into [8, 20).");
+        for (Assignment assignment : plan.getAssignments()) {
+            OccupiedTimeSlot slot = assignment.getSlot();
+            assertFalse(assignment.getStation().hasConflict(slot.getStartTime(), slot.getEndTime()),
+                    "Assignments must not overlap forbidden slots.");
+            for (Assignment other : plan.getAssignments()) {
+                if (other != assignment && other.getStation() == assignment.getStation()) {
+                    assertFalse(other.getSlot().getStartTime() < slot.getEndTime()
+                            && slot.getStartTime() < other.getSlot().getEndTime(),
+                            "Assignments on one station must not overlap.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests the exact matching mode on a small batch.
+     */
+    @Test
+    void testExactModeMaximizesEfficiency() {
+        ChargingRequest shortSession = new ChargingRequest(1, 0, 24, 50);
+        ChargingRequest longSession = new ChargingRequest(2, 0, 24, 400);
+        ChargingRequest extra = new ChargingRequest(3, 0, 24, 50);
+
+        SchedulePlan plan = scheduler.scheduleExact(List.of(longSession, shortSession, extra));
+
+        assertEquals(2, plan.getAssignments().size(), "Each station serves at most one request in exact mode.");
+        assertEquals(7.0, plan.getTotalEfficiency(), 1e-9,
+                "The short session should take the cost-effective station (5) and the long one the fast station (2).");
+        assertEquals(1, plan.getUnassigned().size(), "One request is left over.");
+    }
+
+    /**
+     * Tests exact mode with far more stations than requests, and the batch size limit.
+     */
+    @Test
+    void testExactModeRectangular() {
+        List<ChargingStation> many = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            many.add(new SlowChargingStation(i, 50, List.of(), new CostEffectiveChargingStrategy()));
+        }
+        many.add(fastStation);
+        BatchScheduler wide = new BatchScheduler(many);
+        ChargingRequest longSession = new ChargingRequest(1, 0, 24, 400);
+        ChargingRequest shortSession = new ChargingRequest(2, 0, 24, 50);
+
+        SchedulePlan plan = wide.scheduleExact(List.of(longSession, shortSession));
+
+        assertEquals(2, plan.getAssignments().size(), "Both requests should be matched.");
+        assertSame(fastStation, plan.getAssignments().get(0).getStation(),
+                "The long session should take the fast station.");
+        assertEquals(2, new BatchScheduler(List.of(fastStation)).scheduleExact(List.of(longSession, shortSession,
+                new ChargingRequest(3, 0, 24, 50))).getUnassigned().size(),
+                "With more requests than stations, only one request can be matched.");
+        List<ChargingRequest> huge = new ArrayList<>();
+        for (int i = 0; i <= BatchScheduler.MAX_EXACT_CELLS / many.size(); i++) {
+            huge.add(shortSession);
+        }
+        assertThrows(IllegalArgumentException.class, () -> wide.scheduleExact(huge),
+                "Batches over the documented limit should be rejected.");
+    }
+
+    /**
+     * Tests that sessions are placed with minute resolution, so a window inside one hour is still served
+     * and short sessions are not padded to whole hours.
+     */
+    @Test
+    void testMinuteWindowsArePlaced() {
+        ChargingRequest withinHour = ChargingRequest.ofMinutes(7, 615, 705, 10);
+        ChargingRequest regular = new ChargingRequest(8, 0, 6, 50);
+        assertFalse(withinHour.hasHourWindow(), "10:15 - 11:45 has no whole hour inside it.");
+
+        for (SchedulePlan plan : List.of(scheduler.schedule(List.of(withinHour, regular)),
+                scheduler.scheduleExact(List.of(withinHour, regular)),
+                new ParallelPlanner(List.of(fastStation, slowStation)).plan(List.of(withinHour, regular)))) {
+            assertTrue(plan.getUnassigned().isEmpty(), "Both requests should be placed.");
+        }
+        Assignment placed = scheduler.schedule(List.of(withinHour)).getAssignments().get(0);
+        assertEquals(OccupiedTimeSlot.ofMinutes(615, 627), placed.getSlot(), "10 kWh at 50 kW takes 12 minutes.");
+
+        List<ChargingRequest> quarterHours = new ArrayList<>();
+        for (int vehicle = 0; vehicle < 4; vehicle++) {
+            quarterHours.add(ChargingRequest.ofMinutes(vehicle, 0, 60, 12.5));
+        }
+        SchedulePlan packed = new BatchScheduler(List.of(fastStation)).schedule(quarterHours);
+        assertEquals(4, packed.getAssignments().size(), "Four 15-minute sessions fit one charger in one hour.");
+    }
+
+    /**
+     * Tests carving of the free-slot index.
+     */
+    @Test
+    void testReserveSplitsGap() {
+        TreeMap<Long, Long> freeSlots = new TreeMap<>();
+        freeSlots.put(0L, 10L);
+
+        BatchScheduler.reserve(freeSlots, 3, 5);
+
+        assertEquals("{0=3, 5=10}", freeSlots.toString(), "Reserving [3, 5) should split the gap in two.");
+    }
+
+    /**
+     * Tests that a site power cap delays bookings that would overload the grid connection.
+     */
+    @Test
+    void testSitePowerCap() {
+        SiteLoadProfile profile = new SiteLoadProfile(0, 24 * 60, 60);
+        BatchScheduler capped = new BatchScheduler(List.of(fastStation, slowStation), null, profile);
+        ChargingRequest first = new ChargingRequest(1, 0, 6, 100);
+        ChargingRequest second = new ChargingRequest(2, 0, 6, 100);
+
+        SchedulePlan plan = capped.schedule(List.of(first, second));
+
+        assertEquals(2, plan.getAssignments().size(), "Both requests fit one after the other.");
+        assertEquals(0, plan.getAssignments().get(0).getSlot().getStartTime(), "First booking starts at once.");
+        assertEquals(2, plan.getAssignments().get(1).getSlot().getStartTime(),
+                "Second booking waits until the first one releases its load.");
+        assertEquals(0, profile.getPeakLoad(), "Planning must not touch the shared profile.");
+        assertTrue(capped.commit(plan), "The plan fits the empty profile.");
+        assertEquals(50, profile.getPeakLoad(), "Only one 50 kW station may draw at a time.");
+        assertFalse(capped.commit(plan), "Committing the same load twice would exceed the cap.");
+        assertEquals(50, profile.getPeakLoad(), "A rejected commit leaves the profile unchanged.");
+    }
+
+    /**
+     * Tests that an exact match the cap rejects moves to a later admissible start instead of being dropped.
+     */
+    @Test
+    void testExactMatchIsReplacedUnderCap() {
+        SiteLoadProfile profile = new SiteLoadProfile(0, 24 * 60, 60);
+        BatchScheduler capped = new BatchScheduler(List.of(fastStation, slowStation), null, profile);
+        ChargingRequest first = new ChargingRequest(1, 0, 6, 100);
+        ChargingRequest second = new ChargingRequest(2, 0, 8, 100);
+
+        SchedulePlan plan = capped.scheduleExact(List.of(first, second));
+
+        assertEquals(2, plan.getAssignments().size(), "Both matched requests should be placed.");
+        assertEquals(0, plan.getAssignments().get(0).getSlot().getStartTime(), "First booking starts at once.");
+        assertEquals(2, plan.getAssignments().get(1).getSlot().getStartTime(),
+                "Second booking waits until the first one releases its load.");
+        assertEquals(0, profile.getPeakLoad(), "Planning must not touch the shared profile.");
+        assertTrue(capped.commit(plan), "The re-placed plan fits the cap.");
+    }
+
+    /**
+     * Tests that candidates are rated at their real window, so a solar forecast wins only its sunny hours.
+     */
+    @Test
+    void testSolarForecastSteersSessions() {
+        ChargingStation plain = new FastChargingStation(201, 50, List.of(), new FastChargingStrategy());
+        ChargingStation solar = new SolarForecastDecorator(
+                new FastChargingStation(202, 50, List.of(), new FastChargingStrategy()),
+                new GenerationForecast(12, new double[] {50, 50}));
+        BatchScheduler solarScheduler = new BatchScheduler(List.of(plain, solar));
+
+        assertSame(solar, solarScheduler.schedule(List.of(new ChargingRequest(1, 12, 14, 100)))
+                .getAssignments().get(0).getStation(), "The forecast covers 12 - 14.");
+        assertSame(plain, solarScheduler.schedule(List.of(new ChargingRequest(2, 0, 2, 100)))
+                .getAssignments().get(0).getStation(), "No bonus at night, so the tie goes to the first station.");
+        assertSame(solar, solarScheduler.scheduleExact(List.of(new ChargingRequest(3, 12, 14, 100)))
+                .getAssignments().get(0).getStation(), "Exact mode should rate the window too.");
+    }
+}
@@ -0,0 +1,65 @@
+// ParallelPlannerTest - Unit tests for the ParallelPlanner class.
+
+package service.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingRequest;
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import model.SlowChargingStation;
+import service.strategy.CostEffectiveChargingStrategy;
+import service.strategy.FastChargingStrategy;
+
+class ParallelPlannerTest {
+
+    /**
+     * Tests that overlapping request windows are grouped and disjoint ones are separated.
+     */
+    @Test
+    void testPartitionByTime() {
+        List<List<ChargingRequest>> partitions = ParallelPlanner.partitionByTime(List.of(
+                new ChargingRequest(1, 0, 5, 10), new ChargingRequest(2, 20, 30, 10),
+                new ChargingRequest(3, 4, 8, 10), new ChargingRequest(4, 8, 12, 10)));
+
+        assertEquals(3, partitions.size(), "Windows [0, 8), [8, 12) and [20, 30) are independent.");
+        assertEquals(2, partitions.get(0).size(), "Requests 1 and 3 overlap.");
+    }
+
+    /**
+     * Tests that the parallel plan equals the sequential greedy plan on a large random fleet.
+     */
+    @Test
+    void testMatchesSequentialScheduler() {
+        Random random = new Random(3);
+        List<ChargingStation> stations = new ArrayList<>();
+        for (int id = 0; id < 3000; id++) {
+            int start = random.nextInt(200);
+            List<OccupiedTimeSlot> slots = List.of(new OccupiedTimeSlot(start, start + 1 + random.nextInt(24)));
+            int capacity = 50 + random.nextInt(300);
+            stations.add(id % 2 == 0
+                    ? new FastChargingStation(id, capacity, slots, new FastChargingStrategy())
+                    : new SlowChargingStation(id, capacity, slots, new CostEffectiveChargingStrategy()));
+        }
+        List<ChargingRequest> requests = new ArrayList<>();
+        for (int vehicle = 0; vehicle < 400; vehicle++) {
+            int arrival = 24 * random.nextInt(8) + random.nextInt(6);
+            requests.add(new ChargingRequest(vehicle, arrival, arrival + 2 + random.nextInt(12),
+                    20 + random.nextInt(600)));
+        }
+
+        SchedulePlan sequential = new BatchScheduler(stations).schedule(requests);
+        SchedulePlan parallel = new ParallelPlanner(stations, new ForkJoinPool(4)).plan(requests);
+
+        assertEquals(sequential.toString(), parallel.toString(), "Parallel and sequential plans should match.");
+        assertEquals(sequential.getTotalEfficiency(), parallel.getTotalEfficiency(), 1e-9,
+                "Total efficiency should match.");
+    }
+}
@@ -0,0 +1,105 @@
+// SiteLoadProfileTest - Unit tests for the SiteLoadProfile class.
+
+package service.scheduler;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class SiteLoadProfileTest {
+
+    /**
+     * Tests admission against the cap and release of admitted load.
+     */
+    @Test
+    void testTryAdmit() {
+        SiteLoadProfile profile = new SiteLoadProfile(10, 20, 100);
+        assertTrue(profile.tryAdmit(10, 15, 60), "First booking fits under the cap.");
+        assertFalse(profile.tryAdmit(14, 18, 50), "Overlap at 14 would reach 110 kW.");
+        assertTrue(profile.tryAdmit(15, 18, 50), "Adjacent booking does not overlap.");
+        assertEquals(60, profile.maxLoad(10, 30), "Peak load should be 60 kW.");
+
+        profile.release(10, 15, 60);
+        assertTrue(profile.tryAdmit(14, 18, 50), "Released load frees the window.");
+        assertEquals(100, profile.getPeakLoad(), "Peak load should now be at the cap.");
+        assertThrows(IndexOutOfBoundsException.class, () -> profile.addLoad(25, 31, 1));
+    }
+
+    /**
+     * Tests that the earliest admissible start skips overloaded time units.
+     */
+    @Test
+    void testFindEarliestAdmissible() {
+        SiteLoadProfile profile = new SiteLoadProfile(0, 20, 100);
+        profile.addLoad(3, 5, 80);
+        profile.addLoad(8, 9, 80);
+        assertEquals(0, profile.findEarliestAdmissible(0, 19, 3, 20), "Load exactly at the cap fits.");
+        assertEquals(5, profile.findEarliestAdmissible(2, 19, 3, 30), "Window must avoid 3-4 and 8.");
+        assertEquals(9, profile.findEarliestAdmissible(0, 19, 4, 30), "Four units only fit after 8.");
+        assertEquals(Integer.MIN_VALUE, profile.findEarliestAdmissible(0, 6, 4, 30), "No start up to 6 fits.");
+        assertEquals(Integer.MIN_VALUE, profile.findEarliestAdmissible(18, 19, 3, 0),
+                "Windows beyond the horizon are not admissible.");
+    }
+
+    /**
+     * Tests random range additions and maxima against a plain array.
+     */
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(7);
+        SiteLoadProfile profile = new SiteLoadProfile(-50, 100, Long.MAX_VALUE);
+        long[] loads = new long[100];
+        for (int i = 0; i < 500; i++) {
+            int begin = random.nextInt(99);
+            int end = begin + 1 + random.nextInt(100 - begin);
+            if (random.nextBoolean()) {
+                long kw = random.nextInt(200) - 100;
+                profile.addLoad(begin - 50, end - 50, kw);
+                for (int t = begin; t < end; t++) {
+                    loads[t] += kw;
+                }
+            } else {
+                long expected = Long.MIN_VALUE;
+                for (int t = begin; t < end; t++) {
+                    expected = Math.max(expected, loads[t]);
+                }
+                assertEquals(expected, profile.maxLoad(begin - 50, end - 50), "Max over [" + begin + ", " + end + ")");
+            }
+        }
+    }
+
+    /**
+     * Tests random admission searches and copies against a plain array.
+     */
+    @Test
+    void testAdmissibleMatchesBruteForce() {
+        Random random = new Random(11);
+        SiteLoadProfile profile = new SiteLoadProfile(0, 100, 150);
+        long[] loads = new long[100];
+        for (int i = 0; i < 300; i++) {
+            int begin = random.nextInt(99);
+            int end = begin + 1 + random.nextInt(100 - begin);
+            long kw = random.nextInt(60) - 20;
+            profile.addLoad(begin, end, kw);
+            for (int t = begin; t < end; t++) {
+                loads[t] += kw;
+            }
+            int duration = 1 + random.nextInt(20);
+            long request = random.nextInt(100);
+            int expected = Integer.MIN_VALUE;
+            for (int start = 0; start + duration <= 100 && expected == Integer.MIN_VALUE; start++) {
+                boolean fits = true;
+                for (int t = start; t < start + duration; t++) {
+                    fits &= loads[t] + request <= 150;
+                }
+                expected = fits ? start : Integer.MIN_VALUE;
+            }
+            assertEquals(expected, profile.copy().findEarliestAdmissible(0, 99, duration, request),
+                    "Earliest start for " + duration + " units of " + request + " kW");
+        }
+    }
+}
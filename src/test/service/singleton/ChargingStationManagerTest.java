@@ -2,16 +2,24 @@
 
 package service.singleton;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import model.ChargingStation;
 import model.FastChargingStation;
 import model.OccupiedTimeSlot;
+import service.availability.RecurringSlotRule;
 import service.strategy.FastChargingStrategy;
 
 class ChargingStationManagerTest {
@@ -91,4 +99,146 @@ class ChargingStationManagerTest {
         assertEquals(0, manager.filterStationsByCapacity(0).size(), 
                 "There should be no stations if none are added.");
     }
+
+    /**
+     * Tests concurrent registration from several threads, followed by lookup, update and removal by ID.
+     */
+    @Test
+    void testConcurrentAddLookupAndRemove() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int firstId = 10_000 + thread * 1_000;
+            futures.add(executor.submit(() -> {
+                for (int id = firstId; id < firstId + 1_000; id++) {
+                    manager.addStation(new FastChargingStation(id, 50, List.of(), new FastChargingStrategy()));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (int id = 10_000; id < 18_000; id++) {
+            assertEquals(id, manager.getStation(id).getStationId(), "Every concurrently added station should be found.");
+        }
+        ChargingStation upgraded = new FastChargingStation(10_000, 350, List.of(), new FastChargingStrategy());
+        assertTrue(manager.updateStation(upgraded), "An existing station should be replaced.");
+        assertSame(upgraded, manager.getStation(10_000), "Lookup should return the updated station.");
+
+        int countBefore = manager.getStationCount();
+        for (int id = 10_000; id < 18_000; id++) {
+            manager.removeStation(id);
+        }
+        assertEquals(countBefore - 8_000, manager.getStationCount(), "Removals should update the running count.");
+        assertNull(manager.getStation(10_000), "Removed stations should no longer be found.");
+    }
+
+    /**
+     * Tests range filtering on the capacity index and the running total when stations are replaced.
+     */
+    @Test
+    void testCapacityRangeAndRunningTotal() {
+        int totalBefore = manager.getTotalCapacity();
+        ChargingStation small = new FastChargingStation(20_001, 50, List.of(), new FastChargingStrategy());
+        ChargingStation medium = new FastChargingStation(20_002, 120, List.of(), new FastChargingStrategy());
+        ChargingStation large = new FastChargingStation(20_003, 9_000, List.of(), new FastChargingStrategy());
+        manager.addStation(small);
+        manager.addStation(medium);
+        manager.addStation(large);
+
+        assertEquals(List.of(large), manager.filterStationsByCapacity(5_000, 10_000),
+                "Only the 9000 kW station lies in [5000, 10000).");
+        assertEquals(List.of(large), manager.filterStationsByCapacity(9_000),
+                "The lower bound should be inclusive.");
+        assertTrue(manager.filterStationsByCapacity(50, 120).contains(small), "The lower bound should be inclusive.");
+        assertFalse(manager.filterStationsByCapacity(50, 120).contains(medium), "The upper bound should be exclusive.");
+        assertEquals(totalBefore + 9_170, manager.getTotalCapacity(), "Totals should include new stations.");
+
+        manager.addStation(new FastChargingStation(20_003, 1_000, List.of(), new FastChargingStrategy()));
+        assertEquals(totalBefore + 1_170, manager.getTotalCapacity(), "Replacing a station should adjust the total.");
+        assertTrue(manager.filterStationsByCapacity(5_000, 10_000).isEmpty(), "The old capacity should be unindexed.");
+
+        manager.removeStation(20_001);
+        manager.removeStation(20_002);
+        manager.removeStation(20_003);
+        assertEquals(totalBefore, manager.getTotalCapacity(), "Removals should restore the total.");
+    }
+
+    /**
+     * Tests that capacity filters return stations ordered by station ID, like getStations().
+     */
+    @Test
+    void testFilterOrderIsByStationId() {
+        ChargingStation first = new FastChargingStation(21_001, 60, List.of(), new FastChargingStrategy());
+        ChargingStation second = new FastChargingStation(21_002, 80_000, List.of(), new FastChargingStrategy());
+        ChargingStation third = new FastChargingStation(21_003, 70_000, List.of(), new FastChargingStrategy());
+        try {
+            manager.addStation(third);
+            manager.addStation(first);
+            manager.addStation(second);
+
+            assertEquals(List.of(second, third), manager.filterStationsByCapacity(70_000),
+                    "Higher capacity should not move a station ahead of a lower ID.");
+            List<ChargingStation> range = manager.filterStationsByCapacity(60, 80_001);
+            assertEquals(List.of(first, second, third), range.subList(range.indexOf(first), range.indexOf(first) + 3),
+                    "Range results should be ordered by station ID.");
+            assertEquals(manager.getTotalCapacityLong(), manager.getTotalCapacity(),
+                    "Both total accessors should agree while the total fits an int.");
+        } finally {
+            manager.removeStation(21_001);
+            manager.removeStation(21_002);
+            manager.removeStation(21_003);
+        }
+    }
+
+    /**
+     * Tests that replacing a station keeps its recurring windows unless the replacement has its own.
+     */
+    @Test
+    void testReplacementKeepsRecurringSlots() {
+        ChargingStation original = new FastChargingStation(21_101, 100, List.of(), new FastChargingStrategy());
+        original.setRecurringSlots(RecurringSlotRule.daily(2, 4));
+        try {
+            manager.addStation(original);
+            ChargingStation updated = new FastChargingStation(21_101, 120, List.of(), new FastChargingStrategy());
+            assertTrue(manager.updateStation(updated), "The station should be replaced.");
+            assertEquals(RecurringSlotRule.daily(2, 4), manager.getStation(21_101).getRecurringSlots(),
+                    "An update without recurring windows should keep the old ones.");
+
+            ChargingStation readded = new FastChargingStation(21_101, 120, List.of(), new FastChargingStrategy());
+            readded.setRecurringSlots(RecurringSlotRule.daily(5, 6));
+            manager.addStation(readded);
+            assertEquals(RecurringSlotRule.daily(5, 6), manager.getStation(21_101).getRecurringSlots(),
+                    "A replacement's own recurring windows should win.");
+        } finally {
+            manager.removeStation(21_101);
+        }
+    }
+
+    /**
+     * Tests that fleet queries follow changes made directly on a registered station.
+     */
+    @Test
+    void testFleetQueriesFollowStationChanges() {
+        ChargingStation station = new FastChargingStation(21_201, 100, List.of(), new FastChargingStrategy());
+        try {
+            manager.addStation(station);
+            assertTrue(manager.findStationsFreeDuring(1000, 1002).contains(station), "The new station is free.");
+
+            station.addReservation(new OccupiedTimeSlot(1000, 1001));
+            assertFalse(manager.findStationsFreeDuring(1000, 1002).contains(station),
+                    "A reservation made on the station should be seen.");
+
+            assertTrue(station.removeReservation(station.getForbiddenTimeSlots().get(0)), "The slot is removed.");
+            station.setRecurringSlots(RecurringSlotRule.daily(16, 18));
+            assertFalse(manager.findStationsFreeDuring(1000, 1002).contains(station),
+                    "Recurring windows should block the station.");
+            assertTrue(manager.findStationsFreeDuring(1003, 1005).contains(station),
+                    "Hours outside the recurring windows should stay free.");
+        } finally {
+            manager.removeStation(21_201);
+        }
+    }
 }
@@ -0,0 +1,103 @@
+// ColumnarStationStoreTest - Unit tests for the ColumnarStationStore class and its station views.
+
+package service.store;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingStation;
+import model.FastChargingStation;
+import model.OccupiedTimeSlot;
+import model.SlowChargingStation;
+import service.decorator.RenewableEnergyDecorator;
+import service.strategy.CostEffectiveChargingStrategy;
+import service.strategy.FastChargingStrategy;
+
+class ColumnarStationStoreTest {
+
+    private ChargingStation fastStation;
+    private ChargingStation slowStation;
+    private ColumnarStationStore store;
+
+    /**
+     * Builds a store from one fast and one slow station, added out of ID order.
+     */
+    @BeforeEach
+    void setUp() {
+        fastStation = new FastChargingStation(201, 300,
+                List.of(new OccupiedTimeSlot(8, 16), new OccupiedTimeSlot(20, 22)), new FastChargingStrategy());
+        slowStation = new SlowChargingStation(102, 150,
+                List.of(new OccupiedTimeSlot(10, 20)), new CostEffectiveChargingStrategy());
+        store = ColumnarStationStore.of(List.of(fastStation, slowStation));
+    }
+
+    /**
+     * Tests that rows are sorted by ID and columns hold the station data.
+     */
+    @Test
+    void testColumns() {
+        assertEquals(2, store.size(), "Store should contain two rows.");
+        assertEquals(102, store.stationId(0), "Rows should be ordered by station ID.");
+        assertEquals(StationColumns.TYPE_FAST, store.type(1), "Row 1 should be the fast station.");
+        assertEquals(2, store.slotCount(1), "Row 1 should own two packed slots.");
+        assertEquals(3, store.getSlotCount(), "All slots should be packed together.");
+        assertEquals(450, store.totalCapacity(), "Total capacity should be summed from the column.");
+        assertArrayEquals(new int[] {1}, store.rowsWithCapacity(200, 400), "Only row 1 has 200-399 kW.");
+    }
+
+    /**
+     * Tests that views behave like the original stations.
+     */
+    @Test
+    void testViewsMatchOriginalStations() {
+        ChargingStation view = store.getStation(201);
+
+        assertEquals(fastStation.toString(), view.toString(), "View should print like the original station.");
+        assertEquals(fastStation.getChargingEfficiency(5.0), view.getChargingEfficiency(5.0),
+                "View should compute the same efficiency.");
+        assertTrue(view.hasConflict(21, 23), "View should serve availability queries from packed slots.");
+        assertNull(store.getStation(999), "Unknown IDs should not be found.");
+    }
+
+    /**
+     * Tests that a strategy change through one view is visible through every view of the row.
+     */
+    @Test
+    void testStrategyChangeIsShared() {
+        store.getStation(102).setStrategy(new FastChargingStrategy());
+
+        assertEquals(2, store.getStation(102).getChargingEfficiency(5.0),
+                "A new view should see the strategy set through another view.");
+        assertEquals(2, store.getStrategyCount(), "Equal strategies should share one table entry.");
+    }
+
+    /**
+     * Tests that equal stateless strategies are stored once for a large fleet.
+     */
+    @Test
+    void testStrategyTableIsShared() {
+        List<ChargingStation> fleet = new ArrayList<>();
+        for (int id = 0; id < 1_000; id++) {
+            fleet.add(new FastChargingStation(id, 100, List.of(), new FastChargingStrategy()));
+        }
+
+        assertEquals(1, ColumnarStationStore.of(fleet).getStrategyCount(), "One strategy entry should be shared.");
+    }
+
+    /**
+     * Tests that unsupported station types are rejected.
+     */
+    @Test
+    void testDecoratedStationsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ColumnarStationStore.of(List.of(new RenewableEnergyDecorator(fastStation))));
+    }
+}
@@ -87,4 +87,26 @@ class ChargingStrategyTest {
         });
         assertEquals("Charging hours must be positive.", exception.getMessage());
     }
+
+    /**
+     * Tests that the batch API matches the single-station calculation for every strategy,
+     * including the default per-element fallback.
+     */
+    @Test
+    void testBatchEfficienciesMatchSingleCalls() {
+        int[] capacities = {200, 200, 150, 0, 350};
+        double[] hours = {5.0, 1.0, 2.5, 3.0, 0.0};
+        ChargingStrategy custom = (station, chargingHours) -> station.getCapacity() - chargingHours;
+        for (ChargingStrategy strategy : List.of(fastChargingStrategy, costEffectiveChargingStrategy, custom)) {
+            double[] out = new double[capacities.length];
+            strategy.calculateEfficiencies(capacities, hours, out);
+            for (int i = 0; i < capacities.length; i++) {
+                ChargingStation station = new SlowChargingStation(i, capacities[i], List.of(), strategy);
+                assertEquals(strategy.calculateEfficiency(station, hours[i]), out[i],
+                        "Batch element " + i + " should match the single calculation.");
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> fastChargingStrategy.calculateEfficiencies(capacities, new double[1], new double[5]));
+    }
 }
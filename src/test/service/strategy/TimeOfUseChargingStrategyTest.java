@@ -0,0 +1,78 @@
+// TimeOfUseChargingStrategyTest - Unit tests for the time-of-use tariff strategy.
+
+package service.strategy;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.ChargingStation;
+import model.Interval;
+import model.SlowChargingStation;
+
+class TimeOfUseChargingStrategyTest {
+
+    private TimeOfUseChargingStrategy strategy;
+
+    /**
+     * Sets up a four-unit tariff curve: cheap, expensive, expensive, cheap.
+     */
+    @BeforeEach
+    void setUp() {
+        strategy = new TimeOfUseChargingStrategy(new double[] {0.1, 0.5, 0.4, 0.2}, 3);
+    }
+
+    /**
+     * Tests window costs within a period, across periods and for fractional windows.
+     */
+    @Test
+    void testWindowCost() {
+        assertEquals(0.9, strategy.windowCost(1, 3), 1e-9, "Window inside one period.");
+        assertEquals(0.3, strategy.windowCost(3, 5), 1e-9, "Window wrapping into the next period.");
+        assertEquals(2.4 + 0.1, strategy.windowCost(0, 9), 1e-9, "Two full periods plus one unit.");
+        assertEquals(0.3, strategy.windowCost(-1, 1), 1e-9, "Negative times wrap backwards.");
+        assertEquals(0.05 + 0.25, strategy.cost(0.5, 1.5), 1e-9, "Partial units are prorated.");
+        assertThrows(IllegalArgumentException.class, () -> strategy.windowCost(2, 1));
+    }
+
+    /**
+     * Tests that the cheapest window matches a brute-force scan.
+     */
+    @Test
+    void testCheapestWindow() {
+        assertEquals(new Interval(3, 5), strategy.cheapestWindow(0, 12, 2), "Cheap units 3 and 4 wrap around.");
+        assertEquals(new Interval(0, 1), strategy.cheapestWindow(0, 12, 1), "Earliest cheapest unit wins.");
+        assertNull(strategy.cheapestWindow(0, 3, 4), "Horizon shorter than the duration has no window.");
+        for (int duration = 1; duration <= 6; duration++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (int start = 0; start + duration <= 10; start++) {
+                double cost = 0;
+                for (int t = start; t < start + duration; t++) {
+                    cost += strategy.price(t);
+                }
+                best = Math.min(best, cost);
+            }
+            Interval window = strategy.cheapestWindow(0, 10, duration);
+            assertEquals(best, strategy.windowCost(window.getBegin(), window.getEnd()), 1e-9,
+                    "Duration " + duration + " should find the minimum cost.");
+        }
+    }
+
+    /**
+     * Tests that efficiency is power per tariff cost of the configured session.
+     */
+    @Test
+    void testCalculateEfficiency() {
+        ChargingStation station = new SlowChargingStation(1, 100, List.of(), strategy);
+        assertEquals(100 / (100 * 0.3), strategy.calculateEfficiency(station, 2), 1e-9,
+                "Session from 3 to 5 costs 0.2 + 0.1 per kW.");
+        assertEquals(100 / (100 * 0.9), strategy.calculateEfficiency(station, 1, 2), 1e-9,
+                "Session from 1 to 3 costs 0.5 + 0.4 per kW.");
+        assertEquals(new TimeOfUseChargingStrategy(), new TimeOfUseChargingStrategy(),
+                "Default tariffs should be equal.");
+    }
+}